@@ -0,0 +1,108 @@
+#!/usr/bin/env bash
+# 블로킹 조회 API와 /v2 리액티브 조회 API를 같은 부하로 비교합니다.
+# 필요: hey (https://github.com/rakyll/hey), curl, 실행 중인 서비스
+#
+# 로컬 스택(local/docker-compose.yml의 Redis·ElasticMQ)에서 빈 Redis로 실행하려면 SEED_ORDERS로
+# 조회할 주문·위치·채팅을 API를 통해 먼저 넣습니다. 이때 ORDER_ID는 bench-1이 됩니다.
+#
+#   docker compose -f local/docker-compose.yml up -d
+#   (local/docker-compose.yml의 환경 변수와 ADMISSION_ENABLED=false로 서비스 실행)
+#   SEED_ORDERS=200 RESULTS_FILE=bench-results.md ./scripts/bench-read-api.sh
+#
+#   BASE_URL=http://localhost:7770 DURATION=30s CONCURRENCY=200 \
+#   STATUS=배달중 USER_ID=user1 RIDER_ID=rider1 ORDER_ID=order1 DELIVERY_PERSON_ID=rider1 \
+#   ./scripts/bench-read-api.sh
+#
+# 결과는 엔드포인트별 처리량(req/s)과 p50/p95/p99 지연(ms)을 표로 출력하고,
+# RESULTS_FILE을 주면 같은 표를 그 파일에도 기록합니다.
+# 같은 키로 반복 호출하므로 서비스는 요청 허용량 제한을 끄고 실행하세요 (ADMISSION_ENABLED=false).
+# 동시 요청 수가 Tomcat 작업 스레드 수(server.tomcat.threads.max, 기본 200)를 넘을 때 차이가 가장 크게 드러납니다.
+set -euo pipefail
+
+BASE_URL=${BASE_URL:-http://localhost:7770}
+DURATION=${DURATION:-30s}
+WARMUP=${WARMUP:-5s}
+CONCURRENCY=${CONCURRENCY:-200}
+STATUS=${STATUS:-배달중}
+USER_ID=${USER_ID:-user1}
+RIDER_ID=${RIDER_ID:-rider1}
+ORDER_ID=${ORDER_ID:-order1}
+DELIVERY_PERSON_ID=${DELIVERY_PERSON_ID:-rider1}
+SEED_ORDERS=${SEED_ORDERS:-0}
+RESULTS_FILE=${RESULTS_FILE:-/dev/null}
+if [ "$SEED_ORDERS" -gt 0 ]; then
+  ORDER_ID=bench-1
+fi
+
+if ! command -v hey >/dev/null 2>&1; then
+  echo "hey is required: go install github.com/rakyll/hey@latest" >&2
+  exit 1
+fi
+
+urlencode() {
+  python3 -c 'import sys, urllib.parse; print(urllib.parse.quote(sys.argv[1]))' "$1"
+}
+STATUS_Q=$(urlencode "$STATUS")
+
+# 주문은 SQS 리스너를 거쳐 저장되므로 보낸 뒤 조회에 보일 때까지 기다림
+seed() {
+  echo "seeding ${SEED_ORDERS} orders for ${USER_ID}/${RIDER_ID}..." >&2
+  for i in $(seq 1 "$SEED_ORDERS"); do
+    curl -fsS -o /dev/null -H 'Content-Type: application/json' "${BASE_URL}/order/send" \
+      -d "{\"userId\":\"${USER_ID}\",\"riderId\":\"${RIDER_ID}\",\"orderId\":\"bench-${i}\",\"status\":\"${STATUS}\",\"message\":\"bench order ${i}\"}"
+  done
+  curl -fsS -o /dev/null -H 'Content-Type: application/json' "${BASE_URL}/location/update-location" \
+    -d "{\"deliveryPersonId\":\"${DELIVERY_PERSON_ID}\",\"latitude\":37.5665,\"longitude\":126.9780}"
+  for i in $(seq 1 20); do
+    curl -fsS -o /dev/null -H 'Content-Type: application/json' "${BASE_URL}/chat/send" \
+      -d "{\"orderId\":\"${ORDER_ID}\",\"userId\":\"${USER_ID}\",\"role\":\"USER\",\"message\":\"bench message ${i}\"}"
+  done
+  for _ in $(seq 1 60); do
+    if curl -fsS "${BASE_URL}/order/receive?status=${STATUS_Q}" | grep -q "bench-${SEED_ORDERS}\""; then
+      return
+    fi
+    sleep 1
+  done
+  echo "seeded orders did not appear within 60s" >&2
+  exit 1
+}
+if [ "$SEED_ORDERS" -gt 0 ]; then
+  seed
+fi
+
+# 이름|블로킹 경로|v2 경로
+CASES=(
+  "status list|/order/receive?status=${STATUS_Q}|/v2/order/receive?status=${STATUS_Q}"
+  "user orders (2 statuses)|/order/userIdLIst?userId=${USER_ID}|/v2/order/userIdLIst?userId=${USER_ID}"
+  "rider orders (2 statuses)|/order/getRiderOrdersList?riderId=${RIDER_ID}|/v2/order/getRiderOrdersList?riderId=${RIDER_ID}"
+  "order by status|/order/orderIdStatus?orderId=${ORDER_ID}&status=${STATUS_Q}|/v2/order/orderIdStatus?orderId=${ORDER_ID}&status=${STATUS_Q}"
+  "rider location|/location/get-delivery-location?deliveryPersonId=${DELIVERY_PERSON_ID}|/v2/location/get-delivery-location?deliveryPersonId=${DELIVERY_PERSON_ID}"
+  "chat messages|/chat/messages?orderId=${ORDER_ID}|/v2/chat/messages?orderId=${ORDER_ID}"
+)
+
+# hey 출력에서 처리량과 지연 분위수(초 → ms)를 뽑음
+run() {
+  local url=$1
+  hey -z "$WARMUP" -c "$CONCURRENCY" "$url" >/dev/null
+  hey -z "$DURATION" -c "$CONCURRENCY" "$url" | awk '
+    /Requests\/sec/ { rps = $2 }
+    /50% in/ { p50 = $3 * 1000 }
+    /95% in/ { p95 = $3 * 1000 }
+    /99% in/ { p99 = $3 * 1000 }
+    /\[[0-9]+\]/ { gsub(/[\[\]]/, "", $1); if ($1 != "200") errors += $2 }
+    END { printf "%.0f|%.1f|%.1f|%.1f|%d", rps, p50, p95, p99, errors }'
+}
+
+{
+echo "concurrency=${CONCURRENCY}, duration=${DURATION}, base=${BASE_URL}"
+echo
+echo "| case | api | req/s | p50 ms | p95 ms | p99 ms | non-200 |"
+echo "|---|---|---:|---:|---:|---:|---:|"
+for entry in "${CASES[@]}"; do
+  IFS='|' read -r name blocking reactive <<<"$entry"
+  IFS='|' read -r rps p50 p95 p99 errors <<<"$(run "${BASE_URL}${blocking}")"
+  echo "| ${name} | blocking | ${rps} | ${p50} | ${p95} | ${p99} | ${errors} |"
+  IFS='|' read -r rps p50 p95 p99 errors <<<"$(run "${BASE_URL}${reactive}")"
+  echo "| ${name} | v2 | ${rps} | ${p50} | ${p95} | ${p99} | ${errors} |"
+done
+} | tee "$RESULTS_FILE"
@@ -0,0 +1,21 @@
+package com.example.delivery.config;
+
+import com.example.delivery.service.AdmissionControl;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class AdmissionControlConfig {
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionControl admissionControl) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(admissionControl));
+        // StatelessApiSessionFilter 다음, SessionRepositoryFilter(Integer.MIN_VALUE + 50)보다 먼저 실행
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        registration.addUrlPatterns("/location/*", "/chat/*", "/v2/location/*", "/v2/chat/*");
+        return registration;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.delivery.config;
+
+import com.example.delivery.service.AdmissionControl;
+import com.example.delivery.service.AdmissionControl.EndpointClass;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 위치·채팅 API 요청을 본문을 읽기 전에 배달원·사용자·주문별 허용량으로 거르는 필터입니다.
+ * 키는 헤더(X-Delivery-Person-Id, X-User-Id, X-Order-Id)나 GET 쿼리 파라미터에서만 읽으므로
+ * 거절은 JSON 파싱이나 Redis·SQS 호출 없이 끝납니다.
+ * 헤더 없이 본문에만 키가 있는 요청은 컨트롤러가 본문을 읽은 뒤 같은 AdmissionControl로 판정합니다.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    static final String DELIVERY_PERSON_ID_HEADER = "X-Delivery-Person-Id";
+    static final String USER_ID_HEADER = "X-User-Id";
+    static final String ORDER_ID_HEADER = "X-Order-Id";
+    private static final String V2_PREFIX = "/v2";
+
+    private final AdmissionControl admissionControl;
+
+    public AdmissionControlFilter(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdmissionControl.Decision decision = decide(request);
+        if (decision != null) {
+            decision.toHeaders().forEach((name, values) -> values.forEach(value -> response.setHeader(name, value)));
+            if (!decision.isAdmitted()) {
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private AdmissionControl.Decision decide(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        // /v2 조회 API는 기존 경로와 같은 허용량을 공유
+        if (path.startsWith(V2_PREFIX + "/")) {
+            path = path.substring(V2_PREFIX.length());
+        }
+        boolean get = HttpMethod.GET.matches(request.getMethod());
+        boolean post = HttpMethod.POST.matches(request.getMethod());
+
+        if (post && path.equals("/location/update-location")) {
+            return admissionControl.admit(request, EndpointClass.LOCATION_WRITE,
+                    request.getHeader(DELIVERY_PERSON_ID_HEADER));
+        }
+        // 배치는 보낸 쪽(배달원 헤더, 없으면 접속 주소)을 먼저 차감 (배치 안의 배달원은 컨트롤러가 따로 판정)
+        if (post && path.equals("/location/update-locations")) {
+            return admissionControl.admit(request, EndpointClass.LOCATION_BATCH, callerKey(request));
+        }
+        if (get && path.equals("/location/get-delivery-location")) {
+            return admissionControl.admit(request, EndpointClass.LOCATION_READ,
+                    request.getParameter("deliveryPersonId"));
+        }
+        if (post && path.equals("/chat/send")) {
+            return admissionControl.admit(request, EndpointClass.CHAT_SEND,
+                    request.getHeader(USER_ID_HEADER), request.getHeader(ORDER_ID_HEADER));
+        }
+        if (post && path.equals("/chat/read")) {
+            return admissionControl.admit(request, EndpointClass.CHAT_READ,
+                    request.getHeader(USER_ID_HEADER), request.getHeader(ORDER_ID_HEADER));
+        }
+        // GET 쿼리 파라미터는 본문을 읽지 않고 가져올 수 있음
+        if (get && (path.equals("/chat/messages") || path.equals("/chat/unread"))) {
+            return admissionControl.admit(request, EndpointClass.CHAT_READ,
+                    request.getParameter("userId"), request.getParameter("orderId"));
+        }
+        return null;
+    }
+
+    private static String callerKey(HttpServletRequest request) {
+        String deliveryPersonId = request.getHeader(DELIVERY_PERSON_ID_HEADER);
+        if (deliveryPersonId != null && !deliveryPersonId.isBlank()) {
+            return "rider:" + deliveryPersonId;
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+}
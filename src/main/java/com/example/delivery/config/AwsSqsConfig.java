@@ -1,12 +1,27 @@
 package com.example.delivery.config;
 
+import com.example.delivery.service.AdaptiveListenerConcurrency;
+import io.awspring.cloud.sqs.config.Endpoint;
+import io.awspring.cloud.sqs.config.SqsMessageListenerContainerFactory;
+import io.awspring.cloud.sqs.listener.BackPressureHandler;
+import io.awspring.cloud.sqs.listener.SqsContainerOptions;
+import io.awspring.cloud.sqs.listener.SqsMessageListenerContainer;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClientBuilder;
 import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.SqsClientBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.net.URI;
+import java.time.Duration;
+
 @Configuration
 public class AwsSqsConfig {
 
@@ -19,13 +34,102 @@ public class AwsSqsConfig {
     @Value("${spring.cloud.aws.region.static}")
     private String region;
 
+    // 로컬 SQS 호환 서버(ElasticMQ 등)를 쓸 때만 지정 (비어 있으면 AWS 기본 엔드포인트)
+    @Value("${spring.cloud.aws.sqs.endpoint:}")
+    private String endpoint;
+
+    // 관리·모니터링용 동기 클라이언트 (큐 속성 조회 등 저빈도 호출)
     @Bean
     public SqsClient sqsClient() {
-        return SqsClient.builder()
+        SqsClientBuilder builder = SqsClient.builder()
+                .region(software.amazon.awssdk.regions.Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKey, secretKey)
+                ));
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
+    }
+
+    /**
+     * 메시지 전송·삭제와 리스너 폴링이 함께 쓰는 논블로킹 HTTP 전송 계층입니다.
+     * 연결을 재사용(keep-alive)하고, 연결 수와 대기 요청 수, 각 단계의 시간 제한을 설정으로 조정합니다.
+     * 읽기 시간 제한은 리스너의 long polling(최대 20초)보다 길어야 합니다.
+     */
+    @Bean
+    public SdkAsyncHttpClient sqsAsyncHttpClient(
+            @Value("${sqs.client.max-concurrency:200}") int maxConcurrency,
+            @Value("${sqs.client.max-pending-acquires:10000}") int maxPendingAcquires,
+            @Value("${sqs.client.connection-acquire-timeout-ms:10000}") long connectionAcquireTimeoutMs,
+            @Value("${sqs.client.connection-timeout-ms:2000}") long connectionTimeoutMs,
+            @Value("${sqs.client.read-timeout-ms:30000}") long readTimeoutMs,
+            @Value("${sqs.client.write-timeout-ms:30000}") long writeTimeoutMs,
+            @Value("${sqs.client.connection-max-idle-ms:60000}") long connectionMaxIdleMs,
+            @Value("${sqs.client.connection-ttl-ms:0}") long connectionTtlMs,
+            @Value("${sqs.client.tcp-keep-alive:true}") boolean tcpKeepAlive) {
+        NettyNioAsyncHttpClient.Builder builder = NettyNioAsyncHttpClient.builder()
+                .maxConcurrency(maxConcurrency)
+                .maxPendingConnectionAcquires(maxPendingAcquires)
+                .connectionAcquisitionTimeout(Duration.ofMillis(connectionAcquireTimeoutMs))
+                .connectionTimeout(Duration.ofMillis(connectionTimeoutMs))
+                .readTimeout(Duration.ofMillis(readTimeoutMs))
+                .writeTimeout(Duration.ofMillis(writeTimeoutMs))
+                .connectionMaxIdleTime(Duration.ofMillis(connectionMaxIdleMs))
+                .useIdleConnectionReaper(true)
+                .tcpKeepAlive(tcpKeepAlive);
+        // 0이면 연결 수명 제한 없음 (유휴 시간으로만 정리)
+        if (connectionTtlMs > 0) {
+            builder.connectionTimeToLive(Duration.ofMillis(connectionTtlMs));
+        }
+        return builder.build();
+    }
+
+    // Spring Cloud AWS 리스너 컨테이너도 이 빈을 사용 (자동 설정의 기본 클라이언트 대신)
+    @Bean
+    public SqsAsyncClient sqsAsyncClient(SdkAsyncHttpClient sqsAsyncHttpClient,
+                                         @Value("${sqs.client.api-call-attempt-timeout-ms:0}") long apiCallAttemptTimeoutMs) {
+        ClientOverrideConfiguration.Builder overrides = ClientOverrideConfiguration.builder();
+        if (apiCallAttemptTimeoutMs > 0) {
+            overrides.apiCallAttemptTimeout(Duration.ofMillis(apiCallAttemptTimeoutMs));
+        }
+        SqsAsyncClientBuilder builder = SqsAsyncClient.builder()
                 .region(software.amazon.awssdk.regions.Region.of(region))
                 .credentialsProvider(StaticCredentialsProvider.create(
                         AwsBasicCredentials.create(accessKey, secretKey)
                 ))
-                .build();
+                .httpClient(sqsAsyncHttpClient)
+                .overrideConfiguration(overrides.build());
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
+    }
+
+    /**
+     * 자동 설정의 기본 리스너 컨테이너 팩토리를 대체합니다.
+     * 적응형 동시 처리 대상 리스너(id로 구분)는 컨테이너 back-pressure를 AdaptiveListenerConcurrency의 permit으로 바꿔,
+     * permit이 없으면 폴링하지 않고 남은 permit 수만큼만 받아 옵니다. 나머지 리스너는 기본 세마포어를 씁니다.
+     */
+    @Bean
+    public SqsMessageListenerContainerFactory<Object> defaultSqsListenerContainerFactory(
+            SqsAsyncClient sqsAsyncClient, AdaptiveListenerConcurrency adaptiveListenerConcurrency) {
+        SqsMessageListenerContainerFactory<Object> factory = new SqsMessageListenerContainerFactory<>() {
+            @Override
+            protected SqsMessageListenerContainer<Object> createContainerInstance(Endpoint endpoint, SqsContainerOptions containerOptions) {
+                BackPressureHandler backPressureHandler = adaptiveListenerConcurrency.backPressureHandler(endpoint.getId());
+                if (backPressureHandler == null) {
+                    return super.createContainerInstance(endpoint, containerOptions);
+                }
+                return new SqsMessageListenerContainer<>(sqsAsyncClient, containerOptions) {
+                    @Override
+                    protected BackPressureHandler createBackPressureHandler() {
+                        return backPressureHandler;
+                    }
+                };
+            }
+        };
+        factory.setSqsAsyncClient(sqsAsyncClient);
+        return factory;
     }
 }
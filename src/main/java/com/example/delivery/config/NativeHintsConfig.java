@@ -0,0 +1,77 @@
+package com.example.delivery.config;
+
+import io.awspring.cloud.sqs.annotation.SqsListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.util.ClassUtils;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GraalVM native-image 빌드(-Pnative)에 필요한 리플렉션·직렬화 힌트를 등록하는 설정입니다.
+ * AOT 처리 시점(JVM)에 클래스패스를 스캔하므로 dto나 리스너가 추가되어도 힌트를 따로 관리할 필요가 없습니다.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.DeliveryRuntimeHints.class)
+public class NativeHintsConfig {
+
+    private static final String BASE_PACKAGE = "com.example.delivery";
+    private static final String DTO_PACKAGE = BASE_PACKAGE + ".dto";
+
+    @Slf4j
+    static class DeliveryRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // ✅ dto: Jackson(요청/응답, SQS 본문 파싱)이 생성자·필드·접근자를 리플렉션으로 사용
+            for (Class<?> dto : scan(DTO_PACKAGE, classLoader)) {
+                hints.reflection().registerType(dto,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS,
+                        MemberCategory.DECLARED_FIELDS);
+            }
+
+            // ✅ @SqsListener 메서드: Spring Cloud AWS가 리플렉션으로 찾아 호출 (자체 AOT 지원 없음)
+            hints.reflection().registerType(SqsListener.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+            hints.reflection().registerType(Message.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+            for (Class<?> type : scan(BASE_PACKAGE, classLoader)) {
+                for (Method method : type.getDeclaredMethods()) {
+                    if (method.isAnnotationPresent(SqsListener.class)) {
+                        hints.reflection().registerMethod(method, ExecutableMode.INVOKE);
+                    }
+                }
+            }
+
+            // ✅ Redis 세션과 RedisTemplate<String, Object> 해시 값은 JDK 직렬화 사용
+            hints.serialization()
+                    .registerType(String.class)
+                    .registerType(Number.class)
+                    .registerType(Long.class)
+                    .registerType(Integer.class);
+        }
+
+        private List<Class<?>> scan(String basePackage, ClassLoader classLoader) {
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+            scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+            List<Class<?>> types = new ArrayList<>();
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                try {
+                    types.add(ClassUtils.forName(candidate.getBeanClassName(), classLoader));
+                } catch (ClassNotFoundException | LinkageError e) {
+                    log.warn("Skipping native hints for {}: {}", candidate.getBeanClassName(), e.getMessage());
+                }
+            }
+            return types;
+        }
+    }
+}
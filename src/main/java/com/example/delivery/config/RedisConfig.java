@@ -2,10 +2,15 @@ package com.example.delivery.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 @Configuration
 public class RedisConfig {
@@ -20,4 +25,25 @@ public class RedisConfig {
         return template;
     }
 
+    // /v2 조회 API용 리액티브 템플릿 (redisTemplate과 같은 직렬화: 키·값은 문자열, 해시 필드·값은 JDK 직렬화)
+    @Bean
+    public ReactiveRedisTemplate<String, String> reactiveOrderRedisTemplate(ReactiveRedisConnectionFactory reactiveRedisConnectionFactory) {
+        JdkSerializationRedisSerializer jdkSerializer = new JdkSerializationRedisSerializer();
+        RedisSerializationContext<String, String> context = RedisSerializationContext
+                .<String, String>newSerializationContext(new StringRedisSerializer())
+                .hashKey(jdkSerializer)
+                .hashValue(jdkSerializer)
+                .build();
+        return new ReactiveRedisTemplate<>(reactiveRedisConnectionFactory, context);
+    }
+
+    // 레플리카 간 인메모리 상태(배차 인덱스, 지오펜스) 갱신을 전달받는 pub/sub 구독 컨테이너
+    // 구독은 첫 리스너가 등록될 때 연결하고, 연결이 끊기면 컨테이너가 다시 구독함
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        return container;
+    }
+
 }
@@ -1,10 +1,29 @@
 package com.example.delivery.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.session.data.redis.config.annotation.web.http.EnableRedisHttpSession;
 
+import java.util.List;
+
 @Configuration
 @EnableRedisHttpSession
 public class SessionConfig {
-    // 추가 설정이 필요할 경우 여기에 작성
+
+    // 세션을 사용하지 않는 REST API 경로 (UI 경로는 기존처럼 Redis 세션 사용)
+    @Value("${session.stateless-paths:/order/**,/chat/**,/location/**,/dispatch/**,/analytics/**,/admin/**,/v2/**,/actuator/**}")
+    private List<String> statelessPaths;
+
+    @Bean
+    public FilterRegistrationBean<StatelessApiSessionFilter> statelessApiSessionFilter() {
+        FilterRegistrationBean<StatelessApiSessionFilter> registration =
+                new FilterRegistrationBean<>(new StatelessApiSessionFilter(statelessPaths));
+        // SessionRepositoryFilter(DEFAULT_ORDER = Integer.MIN_VALUE + 50)보다 먼저 실행되어야 함
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
 }
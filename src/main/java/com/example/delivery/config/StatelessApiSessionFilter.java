@@ -0,0 +1,50 @@
+package com.example.delivery.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.session.web.http.SessionRepositoryFilter;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 세션이 필요 없는 API 경로에서 Redis 세션 처리를 건너뛰게 하는 필터입니다.
+ * SessionRepositoryFilter보다 먼저 실행되어 "이미 처리됨" 속성을 표시하므로,
+ * 해당 경로에서는 세션을 생성·조회·저장하지 않고 Redis 명령도 발생하지 않습니다.
+ */
+public class StatelessApiSessionFilter extends OncePerRequestFilter {
+
+    // SessionRepositoryFilter가 중복 실행 여부를 판단할 때 사용하는 요청 속성 이름
+    static final String SESSION_FILTERED_ATTR = SessionRepositoryFilter.class.getName() + ".FILTERED";
+
+    private final List<String> statelessPaths;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    public StatelessApiSessionFilter(List<String> statelessPaths) {
+        this.statelessPaths = List.copyOf(statelessPaths);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isStateless(request)) {
+            request.setAttribute(SESSION_FILTERED_ATTR, Boolean.TRUE);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean isStateless(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : statelessPaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.delivery.controller;
+
+import com.example.delivery.dto.DeadLetterDTO;
+import com.example.delivery.service.AdmissionControl;
+import com.example.delivery.service.DeadLetterService;
+import com.example.delivery.service.HotPathLogger;
+import com.example.delivery.service.OrderEventProcessor;
+import com.example.delivery.service.SingleFlight;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final DeadLetterService deadLetterService;
+    private final HotPathLogger hotPathLogger;
+    private final OrderEventProcessor orderEventProcessor;
+    private final SingleFlight singleFlight;
+    private final AdmissionControl admissionControl;
+
+    // 격리된 poison 메시지 조회 (최신순)
+    @GetMapping("/dead-letters")
+    public List<DeadLetterDTO> getDeadLetters(@RequestParam(defaultValue = "50") int count) {
+        return deadLetterService.getDeadLetters(Math.min(Math.max(count, 1), 1000));
+    }
+
+    // 격리된 메시지를 원래 큐로 재전송
+    @PostMapping("/dead-letters/{id}/replay")
+    public ResponseEntity<String> replayDeadLetter(@PathVariable String id) {
+        if (!deadLetterService.replay(id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Dead letter not found: " + id);
+        }
+        return ResponseEntity.ok("Dead letter replayed: " + id);
+    }
+
+    // 격리된 메시지 하나 삭제
+    @DeleteMapping("/dead-letters/{id}")
+    public ResponseEntity<String> purgeDeadLetter(@PathVariable String id) {
+        if (!deadLetterService.purge(id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Dead letter not found: " + id);
+        }
+        return ResponseEntity.ok("Dead letter purged: " + id);
+    }
+
+    // 격리된 메시지 전체 삭제
+    @DeleteMapping("/dead-letters")
+    public ResponseEntity<String> purgeAllDeadLetters() {
+        deadLetterService.purgeAll();
+        return ResponseEntity.ok("All dead letters purged");
+    }
+
+    // 샘플링 없이 모든 hot path 로그를 남기는 추적 대상 주문 조회
+    @GetMapping("/trace-orders")
+    public Set<String> getTracedOrders() {
+        return hotPathLogger.getTracedOrders();
+    }
+
+    // 주문 추적 시작 (모든 레플리카에 trace-refresh-ms 이내 반영)
+    @PostMapping("/trace-orders/{orderId}")
+    public ResponseEntity<String> traceOrder(@PathVariable String orderId) {
+        hotPathLogger.traceOrder(orderId);
+        return ResponseEntity.ok("Tracing order: " + orderId);
+    }
+
+    // 주문 추적 해제
+    @DeleteMapping("/trace-orders/{orderId}")
+    public ResponseEntity<String> untraceOrder(@PathVariable String orderId) {
+        hotPathLogger.untraceOrder(orderId);
+        return ResponseEntity.ok("Stopped tracing order: " + orderId);
+    }
+
+    // orderEvents projection 목록과 소비 그룹 진행 상황
+    @GetMapping("/projections")
+    public Map<String, Map<String, Object>> getProjections() {
+        return orderEventProcessor.getStatus();
+    }
+
+    // projection을 비우고 스트림에 남은 이벤트로 다시 구성
+    @PostMapping("/projections/{name}/rebuild")
+    public ResponseEntity<String> rebuildProjection(@PathVariable String name) {
+        try {
+            if (!orderEventProcessor.rebuild(name)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Projection not found: " + name);
+            }
+        } catch (IllegalStateException e) {
+            // 이미 rebuild 중이거나 다른 레플리카가 제때 소비를 멈추지 않음 (아무것도 지우지 않았으므로 다시 시도 가능)
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+        return ResponseEntity.ok("Projection rebuild started: " + name);
+    }
+
+    // single-flight로 합쳐진(Redis 조회를 절약한) 호출 수 (그룹별 + 상위 키)
+    @GetMapping("/single-flight")
+    public Map<String, Object> getSingleFlightStats(@RequestParam(defaultValue = "20") int top) {
+        return singleFlight.getStats(Math.min(Math.max(top, 0), 1000));
+    }
+
+    // single-flight 통계 초기화
+    @DeleteMapping("/single-flight")
+    public ResponseEntity<String> resetSingleFlightStats() {
+        singleFlight.resetStats();
+        return ResponseEntity.ok("Single-flight stats reset");
+    }
+
+    // 요청 허용량 제한 현황 (종류별 설정, 추적 중인 키 수, 허용·거절 건수)
+    @GetMapping("/admission")
+    public Map<String, Object> getAdmissionStats() {
+        return admissionControl.getStats();
+    }
+}
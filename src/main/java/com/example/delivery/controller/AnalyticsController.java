@@ -0,0 +1,28 @@
+package com.example.delivery.controller;
+
+import com.example.delivery.dto.OrderAnalyticsDTO;
+import com.example.delivery.service.OrderAnalyticsProjection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private static final int MAX_MINUTES = 1440;
+    private static final int MAX_HOURS = 168;
+
+    private final OrderAnalyticsProjection orderAnalyticsProjection;
+
+    // 분당 상태 전이 건수(최근 minutes분)와 상태별 체류 시간 분포(최근 hours시간)
+    @GetMapping
+    public ResponseEntity<OrderAnalyticsDTO> getAnalytics(@RequestParam(defaultValue = "60") int minutes,
+                                                          @RequestParam(defaultValue = "24") int hours) {
+        if (minutes < 1 || minutes > MAX_MINUTES || hours < 1 || hours > MAX_HOURS) {
+            return ResponseEntity.badRequest().body(null);
+        }
+        return ResponseEntity.ok(orderAnalyticsProjection.getAnalytics(minutes, hours));
+    }
+}
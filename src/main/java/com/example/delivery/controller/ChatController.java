@@ -1,7 +1,13 @@
 package com.example.delivery.controller;
 
+import com.example.delivery.dto.ChatReadRequestDTO;
 import com.example.delivery.dto.ChatRequestDTO;
+import com.example.delivery.dto.ChatUnreadResponseDTO;
+import com.example.delivery.service.AdmissionControl;
 import com.example.delivery.service.ChatProducer;
+import com.example.delivery.service.ChatUnreadService;
+import com.example.delivery.service.HotPathLogger;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -9,6 +15,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/chat")
@@ -17,21 +26,38 @@ import java.util.List;
 public class ChatController {
 
     private final ChatProducer chatProducer;
+    private final ChatUnreadService chatUnreadService;
+    private final HotPathLogger hotPathLogger;
+    private final AdmissionControl admissionControl;
 
     // ✅ 메시지 전송 API (고객 또는 라이더가 채팅 메시지 전송)
+    // 전달 경로(SQS 등)가 메시지를 받아들인 뒤 응답하므로, 응답을 기다린 클라이언트의 메시지는 보낸 순서대로 저장됨
     @PostMapping("/send")
-    public ResponseEntity<String> sendMessage(@RequestBody ChatRequestDTO chatRequestDTO) {
+    public CompletableFuture<ResponseEntity<String>> sendMessage(@RequestBody ChatRequestDTO chatRequestDTO, HttpServletRequest request) {
+        // 헤더 없이 본문에만 사용자·주문 ID가 있는 요청은 여기서 허용량 확인 (SQS 전송 전)
+        AdmissionControl.Decision decision = admissionControl.admit(request, AdmissionControl.EndpointClass.CHAT_SEND,
+                chatRequestDTO.getUserId(), chatRequestDTO.getOrderId());
+        if (!decision.isAdmitted()) {
+            return CompletableFuture.completedFuture(decision.rejected());
+        }
+        CompletableFuture<Void> sent;
         try {
             // 메시지 보내기
-            chatProducer.sendMessage(chatRequestDTO);
-            log.info("✅ Message sent successfully: {}", chatRequestDTO);
-            return ResponseEntity.ok("Message sent successfully");
+            sent = chatProducer.sendMessage(chatRequestDTO);
         } catch (Exception e) {
-            // 예외 발생 시 실패 응답 반환
-            log.error("❌ Failed to send message: {}", e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Failed to send message: " + e.getMessage());
+            sent = CompletableFuture.failedFuture(e);
         }
+        return sent.handle((ignored, error) -> {
+            if (error != null) {
+                // 예외 발생 시 실패 응답 반환
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                log.error("❌ Failed to send message: {}", cause.getMessage(), cause);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body("Failed to send message: " + cause.getMessage());
+            }
+            hotPathLogger.info(HotPathLogger.Event.CHAT_SEND, chatRequestDTO.getOrderId(), "✅ Message sent successfully: {}", chatRequestDTO);
+            return ResponseEntity.ok("Message sent successfully");
+        });
     }
 
     // ✅ 메시지 가져오기 API
@@ -41,8 +67,6 @@ public class ChatController {
             @RequestParam(required = false) Long fromTimestamp
     ) {
         try {
-            log.info("📩 Fetching messages for orderId={}, fromTimestamp={}", orderId, fromTimestamp);
-
             // ✅ fromTimestamp가 null이면 기본값을 0으로 설정
             if (fromTimestamp == null) {
                 fromTimestamp = 0L;
@@ -50,7 +74,8 @@ public class ChatController {
 
             // Redis에서 메시지 가져오기
             List<Object> messagesFromRedis = chatProducer.getMessagesFromRedis(orderId, fromTimestamp);
-            log.info("✅ Retrieved {} messages from Redis for orderId={}", messagesFromRedis.size(), orderId);
+            hotPathLogger.info(HotPathLogger.Event.CHAT_READ, orderId, "✅ Retrieved {} messages from Redis for orderId={}, fromTimestamp={}",
+                    messagesFromRedis.size(), orderId, fromTimestamp);
 
             return ResponseEntity.ok(messagesFromRedis);
         } catch (Exception e) {
@@ -58,4 +83,26 @@ public class ChatController {
             return ResponseEntity.status(500).body(List.of("Failed to fetch messages: " + e.getMessage()));
         }
     }
+
+    // ✅ 읽지 않은 메시지 수 조회 API (주문별 + 합계, 배지 표시용)
+    @GetMapping("/unread")
+    public ResponseEntity<ChatUnreadResponseDTO> getUnread(@RequestParam String userId) {
+        return ResponseEntity.ok(chatUnreadService.getUnread(userId));
+    }
+
+    // ✅ 읽음 처리 API (읽음 위치 저장 후 남은 읽지 않은 수 반환)
+    @PostMapping("/read")
+    public ResponseEntity<Map<String, Long>> markRead(@RequestBody ChatReadRequestDTO request, HttpServletRequest httpRequest) {
+        if (request.getOrderId() == null || request.getUserId() == null) {
+            return ResponseEntity.badRequest().body(null);
+        }
+        AdmissionControl.Decision decision = admissionControl.admit(httpRequest, AdmissionControl.EndpointClass.CHAT_READ,
+                request.getUserId(), request.getOrderId());
+        if (!decision.isAdmitted()) {
+            return decision.rejected();
+        }
+        // 시각이 없으면 저장된 가장 최신 메시지까지 읽음 처리 (서버 현재 시각은 쓰지 않음)
+        long unread = chatUnreadService.markRead(request.getUserId(), request.getOrderId(), request.getTimestamp());
+        return ResponseEntity.ok(Map.of("unread", unread));
+    }
 }
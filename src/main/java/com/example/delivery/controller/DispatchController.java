@@ -0,0 +1,36 @@
+package com.example.delivery.controller;
+
+import com.example.delivery.dto.NearbyRiderDTO;
+import com.example.delivery.service.DispatchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/dispatch")
+@RequiredArgsConstructor
+public class DispatchController {
+
+    private static final int MAX_K = 50;
+    private static final double MAX_RADIUS_METERS = 50_000;
+
+    private final DispatchService dispatchService;
+
+    // 주어진 지점(가게 위치 등)에서 가장 가까운 배차 가능 라이더 목록
+    @GetMapping("/nearest-riders")
+    public ResponseEntity<List<NearbyRiderDTO>> getNearestRiders(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "5") int k,
+            @RequestParam(defaultValue = "5000") double radiusMeters
+    ) {
+        // NaN도 걸러지도록 범위 안인지를 확인
+        if (k <= 0 || k > MAX_K || !(radiusMeters > 0 && radiusMeters <= MAX_RADIUS_METERS)
+                || !(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            return ResponseEntity.badRequest().body(null);
+        }
+        return ResponseEntity.ok(dispatchService.findNearestAvailableRiders(latitude, longitude, k, radiusMeters));
+    }
+}
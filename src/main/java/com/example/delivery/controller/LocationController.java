@@ -1,23 +1,41 @@
 package com.example.delivery.controller;
 
+import com.example.delivery.dto.BulkLocationRequestDTO;
+import com.example.delivery.dto.BulkLookupResponseDTO;
+import com.example.delivery.dto.LocationBatchResultDTO;
+import com.example.delivery.dto.LocationFixDTO;
 import com.example.delivery.dto.LocationRequestDTO;
+import com.example.delivery.service.AdmissionControl;
 import com.example.delivery.service.LocationService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/location")
 @RequiredArgsConstructor
 public class LocationController {
 
+    private static final int MAX_BULK_KEYS = 500;
+
     private final LocationService locationService;
+    private final AdmissionControl admissionControl;
 
     @PostMapping("/update-location")
-    public ResponseEntity<String> updateLocation(@RequestBody LocationRequestDTO locationRequestDTO) {
-        System.out.println(locationRequestDTO);
+    public ResponseEntity<String> updateLocation(@RequestBody LocationRequestDTO locationRequestDTO, HttpServletRequest request) {
+        // 헤더 없이 본문에만 배달원 ID가 있는 요청은 여기서 허용량 확인 (Redis 쓰기 전)
+        AdmissionControl.Decision decision = admissionControl.admit(request,
+                AdmissionControl.EndpointClass.LOCATION_WRITE, locationRequestDTO.getDeliveryPersonId());
+        if (!decision.isAdmitted()) {
+            return decision.rejected();
+        }
         try {
             // Service 호출
             return ResponseEntity.ok(locationService.updateLocation(locationRequestDTO));
@@ -27,14 +45,43 @@ public class LocationController {
             return ResponseEntity.status(500).body("An unexpected error occurred: " + e.getMessage());
         }
     }
+    // 여러 위치를 한 번에 수집 (바이너리 형식은 LocationBatchDecoder 참고, 배달원별 최신 위치만 반영)
+    @PostMapping(value = "/update-locations", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<LocationBatchResultDTO> updateLocations(@RequestBody byte[] body, HttpServletRequest request) {
+        List<LocationFixDTO> fixes;
+        try {
+            fixes = locationService.decodeLocations(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+        // 보낸 쪽은 필터가 배치 단위로 차감했고, 여기서는 배치에 든 배달원(max-riders 이하)마다 배치당 토큰 1개씩 확인
+        Set<String> deliveryPersonIds = new LinkedHashSet<>();
+        fixes.forEach(fix -> deliveryPersonIds.add(fix.getDeliveryPersonId()));
+        Map<String, AdmissionControl.Decision> rejected = admissionControl.admitEach(request,
+                AdmissionControl.EndpointClass.LOCATION_WRITE, deliveryPersonIds);
+        if (!rejected.isEmpty() && rejected.size() == deliveryPersonIds.size()) {
+            return rejected.values().iterator().next().rejected();
+        }
+        return ResponseEntity.ok(locationService.updateLocations(fixes, rejected.keySet()));
+    }
     @GetMapping("/get-delivery-location")
         public ResponseEntity<Map<String, Double>>  getDeliveryLocation(@RequestParam String deliveryPersonId){
-        System.out.println("delivery"+deliveryPersonId);
         if (deliveryPersonId == null || deliveryPersonId.isEmpty()) {
             return ResponseEntity.badRequest().body(null);
         }
         return locationService.getDeliveryLocation(deliveryPersonId);
     }
+    // 여러 배달원 위치 한 번에 조회 (대시보드용)
+    @PostMapping("/get-delivery-locations")
+    public ResponseEntity<BulkLookupResponseDTO<Map<String, Double>>> getDeliveryLocations(@RequestBody BulkLocationRequestDTO request) {
+        List<String> ids = request.getDeliveryPersonIds();
+        // null·빈 id는 MGET 전에 거절
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BULK_KEYS
+                || ids.stream().anyMatch(id -> id == null || id.isBlank())) {
+            return ResponseEntity.badRequest().body(null);
+        }
+        return ResponseEntity.ok(locationService.getDeliveryLocations(ids));
+    }
     @GetMapping("/get-all-delivery-location")
     public ResponseEntity<Map<String, Map<String, Double>>> getAllDeliveryLocation(){
         return locationService.getAllDeliveryLocations();
@@ -0,0 +1,100 @@
+package com.example.delivery.controller;
+
+import com.example.delivery.dto.BulkLocationRequestDTO;
+import com.example.delivery.dto.BulkLookupResponseDTO;
+import com.example.delivery.dto.ChatResponseDTO;
+import com.example.delivery.dto.OrderResponseDTO;
+import com.example.delivery.service.ReactiveReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 기존 조회 API(/order, /location, /chat)와 같은 결과를 논블로킹으로 돌려주는 /v2 조회 API입니다.
+ * 목록 API는 Accept: application/x-ndjson이면 한 건씩 스트리밍하고, 그 외에는 JSON 배열로 응답합니다.
+ */
+@RestController
+@RequestMapping("/v2")
+@RequiredArgsConstructor
+public class ReadApiV2Controller {
+
+    private static final int MAX_BULK_KEYS = 500;
+
+    private final ReactiveReadService reactiveReadService;
+
+    // 특정 주문 상태에 따른 내역 받기 (최신순)
+    @GetMapping(value = "/order/receive", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<OrderResponseDTO> receiveMessages(@RequestParam String status) {
+        return reactiveReadService.getOrdersByStatus(status);
+    }
+
+    // 특정 주문 id에 따른 내역 받기
+    @GetMapping(value = "/order/orderId", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<OrderResponseDTO> receiveOrderIdMessages(@RequestParam String orderId) {
+        return reactiveReadService.getOrdersByOrderId(orderId);
+    }
+
+    // 특정 주문번호와 상태에 따른 내역 받기
+    @GetMapping("/order/orderIdStatus")
+    public Mono<OrderResponseDTO> receiveOrderIdStatusMessages(@RequestParam String orderId, @RequestParam String status) {
+        return reactiveReadService.getOrderByStatusAndId(orderId, status);
+    }
+
+    // 유저아이디와 상태 따른 내역 받기
+    @GetMapping(value = "/order/userId", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<OrderResponseDTO> receiveUserIdMessages(@RequestParam String userId, @RequestParam String status) {
+        return reactiveReadService.getOrdersByUserId(userId, status);
+    }
+
+    // 라이더와 상태 따른 내역 받기
+    @GetMapping(value = "/order/getRiderOrders", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<OrderResponseDTO> receiveRiderOrderList(@RequestParam String riderId, @RequestParam String status) {
+        return reactiveReadService.getDeliveriesByRiderId(riderId, status);
+    }
+
+    // 유저아이디 따른 배달중·배달완료 내역 받기 (주문 ID 순)
+    @GetMapping(value = "/order/userIdLIst", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<OrderResponseDTO> receiveUserIdList(@RequestParam String userId) {
+        return reactiveReadService.getUserIdList(userId);
+    }
+
+    // 라이더 따른 배달중·배달완료 내역 받기 (주문 ID 순)
+    @GetMapping(value = "/order/getRiderOrdersList", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<OrderResponseDTO> receiveRiderIdList(@RequestParam String riderId) {
+        return reactiveReadService.getRiderIdList(riderId);
+    }
+
+    @GetMapping("/location/get-delivery-location")
+    public Mono<ResponseEntity<Map<String, Double>>> getDeliveryLocation(@RequestParam String deliveryPersonId) {
+        if (deliveryPersonId == null || deliveryPersonId.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().body(null));
+        }
+        return reactiveReadService.getDeliveryLocation(deliveryPersonId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // 여러 배달원 위치 한 번에 조회 (대시보드용)
+    @PostMapping("/location/get-delivery-locations")
+    public Mono<ResponseEntity<BulkLookupResponseDTO<Map<String, Double>>>> getDeliveryLocations(@RequestBody BulkLocationRequestDTO request) {
+        List<String> ids = request.getDeliveryPersonIds();
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BULK_KEYS
+                || ids.stream().anyMatch(id -> id == null || id.isBlank())) {
+            return Mono.just(ResponseEntity.badRequest().body(null));
+        }
+        return reactiveReadService.getDeliveryLocations(ids).map(ResponseEntity::ok);
+    }
+
+    // 채팅 메시지 가져오기 (fromTimestamp 이후, 시간순)
+    @GetMapping(value = "/chat/messages", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<ChatResponseDTO> getMessages(@RequestParam String orderId,
+                                             @RequestParam(required = false, defaultValue = "0") long fromTimestamp) {
+        return reactiveReadService.getMessages(orderId, fromTimestamp);
+    }
+}
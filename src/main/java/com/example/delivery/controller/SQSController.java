@@ -1,30 +1,56 @@
 package com.example.delivery.controller;
 
+import com.example.delivery.dto.BulkLookupResponseDTO;
+import com.example.delivery.dto.BulkOrderRequestDTO;
+import com.example.delivery.dto.GeofenceDTO;
+import com.example.delivery.dto.OrderEventDTO;
 import com.example.delivery.dto.OrderRequestDTO;
 import com.example.delivery.dto.OrderResponseDTO;
+import com.example.delivery.service.GeofenceEngine;
+import com.example.delivery.service.GeofenceStore;
+import com.example.delivery.service.OrderExpirySweeper;
+import com.example.delivery.service.OrderHistoryProjection;
+import com.example.delivery.service.OrderNotificationProjection;
+import com.example.delivery.service.OrderVersionService;
 import com.example.delivery.service.SQSService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/order")
 @RequiredArgsConstructor
+@Slf4j
 public class SQSController {
 
+    private static final int MAX_BULK_KEYS = 500;
+
     private final SQSService sqsService;
+    private final OrderExpirySweeper orderExpirySweeper;
+    private final OrderVersionService orderVersionService;
+    private final OrderHistoryProjection orderHistoryProjection;
+    private final OrderNotificationProjection orderNotificationProjection;
+    private final GeofenceStore geofenceStore;
+    private final GeofenceEngine geofenceEngine;
 
-    // 메시지 전송
+    // 메시지 전송 (SQS가 받아들인 뒤 응답, 실패하면 500)
     @PostMapping("/send")
-    public String sendMessage(@RequestBody OrderRequestDTO orderRequestDTO) {
+    public CompletableFuture<ResponseEntity<String>> sendMessage(@RequestBody OrderRequestDTO orderRequestDTO) {
         String riderId = orderRequestDTO.getRiderId();
         if (riderId == null || riderId.isEmpty()) {
             riderId = "defaultRiderId";  // 기본값 설정
         }
 
-        sqsService.sendMessage(orderRequestDTO.getUserId(), orderRequestDTO.getMessage(),orderRequestDTO.getStatus(),orderRequestDTO.getOrderId(),riderId);
-        return "Message sent successfully for userId: " + orderRequestDTO.getUserId();
+        return sqsService.sendMessage(orderRequestDTO.getUserId(), orderRequestDTO.getMessage(),orderRequestDTO.getStatus(),orderRequestDTO.getOrderId(),riderId)
+                .handle((response, error) -> error != null
+                        ? ResponseEntity.status(500).body("Failed to send message for userId: " + orderRequestDTO.getUserId())
+                        : ResponseEntity.ok("Message sent successfully for userId: " + orderRequestDTO.getUserId()));
     }
     // 유저아이디와 상태 따른 내역 받기
     @GetMapping("/userId")
@@ -37,10 +63,14 @@ public class SQSController {
     public List<OrderResponseDTO> receiveRiderOrderList(@RequestParam String riderId, @RequestParam String status) {
         return sqsService.getDeliveriesByRiderId(riderId, status);
     }
-    // 유저아이디  따른 내역 받기
+    // 유저아이디  따른 내역 받기 (If-None-Match가 현재 버전과 같으면 304)
     @GetMapping("/userIdLIst")
-    public List<OrderResponseDTO>  receiveUserIdMessages(@RequestParam String userId) {
-        return sqsService.getUserIdList(userId);
+    public ResponseEntity<List<OrderResponseDTO>> receiveUserIdMessages(@RequestParam String userId, WebRequest webRequest) {
+        String etag = orderVersionService.userEtag(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(sqsService.getUserIdList(userId));
     }
 // 유저아이디  따른 갯수 내역 받기
     @GetMapping("/userOrderCount")
@@ -52,10 +82,14 @@ public class SQSController {
     public int  getUserChatCount(@RequestParam String userId,@RequestParam String role) {
         return sqsService.getUserChatCount(userId,role);
     }
-    //라이더와 주문선택 따른 내역 받기
+    //라이더와 주문선택 따른 내역 받기 (If-None-Match가 현재 버전과 같으면 304)
     @GetMapping("/getRiderOrdersList")
-    public List<OrderResponseDTO>  receiveCountChatList(@RequestParam String riderId) {
-        return sqsService.getRiderIdList(riderId);
+    public ResponseEntity<List<OrderResponseDTO>> receiveCountChatList(@RequestParam String riderId, WebRequest webRequest) {
+        String etag = orderVersionService.riderEtag(riderId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(sqsService.getRiderIdList(riderId));
     }
 
     // 특정 주문 상태에 따른 내역 받기
@@ -71,10 +105,26 @@ public class SQSController {
     }
 
 
- // 특정 주문번호와 상태에 따른 내역 받기
+ // 특정 주문번호와 상태에 따른 내역 받기 (If-None-Match가 현재 버전과 같으면 304)
     @GetMapping("/orderIdStatus")
-    public OrderResponseDTO receiveOrderIdStatusMessages(@RequestParam String orderId, @RequestParam String status) {
-        return sqsService.getOrdersByStatusAndId(orderId,status);
+    public ResponseEntity<OrderResponseDTO> receiveOrderIdStatusMessages(@RequestParam String orderId, @RequestParam String status, WebRequest webRequest) {
+        String etag = orderVersionService.orderEtag(orderId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(sqsService.getOrdersByStatusAndId(orderId,status));
+    }
+
+    // 여러 주문 id의 현재 상태를 한 번에 조회 (대시보드용)
+    @PostMapping("/orderIdStatuses")
+    public ResponseEntity<BulkLookupResponseDTO<OrderResponseDTO>> receiveOrderIdStatuses(@RequestBody BulkOrderRequestDTO request) {
+        List<String> orderIds = request.getOrderIds();
+        // null·빈 id는 HMGET 필드 직렬화에 실패하므로 조회 전에 거절
+        if (orderIds == null || orderIds.isEmpty() || orderIds.size() > MAX_BULK_KEYS
+                || orderIds.stream().anyMatch(id -> id == null || id.isBlank())) {
+            return ResponseEntity.badRequest().body(null);
+        }
+        return ResponseEntity.ok(sqsService.getOrdersByIds(orderIds));
     }
 
     // 모든 레디스에 저장된 order 데이터 가져오기
@@ -82,9 +132,50 @@ public class SQSController {
     public List<OrderResponseDTO> receiveAllOrderList(){
         return sqsService.getAllOrders();
     }
+    // 주문 상태 전이 이력 (orderEvents 스트림 기반 projection)
+    @GetMapping("/history")
+    public List<OrderEventDTO> getOrderHistory(@RequestParam String orderId) {
+        return orderHistoryProjection.getHistory(orderId);
+    }
+    // 사용자·라이더가 받은 주문 상태 전이 알림 (최신순, orderEvents 스트림 기반 projection)
+    @GetMapping("/notifications")
+    public List<OrderEventDTO> getNotifications(@RequestParam String recipientId) {
+        return orderNotificationProjection.getNotifications(recipientId);
+    }
+    // 주문의 가게(pickup)·배달지(dropoff) 지오펜스 등록 (배달중 위치 갱신 시 도착·출발 자동 감지)
+    @PostMapping("/geofence")
+    public ResponseEntity<GeofenceDTO> registerGeofence(@RequestBody GeofenceDTO geofence) {
+        if (geofence.getOrderId() == null || geofence.getOrderId().isEmpty()) {
+            return ResponseEntity.badRequest().body(null);
+        }
+        try {
+            GeofenceDTO saved = geofenceStore.saveFence(geofence);
+            geofenceEngine.refreshOrder(geofence.getOrderId());
+            return ResponseEntity.ok(saved);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+    // 주문의 지오펜스 목록
+    @GetMapping("/geofence")
+    public List<GeofenceDTO> getGeofences(@RequestParam String orderId) {
+        return geofenceStore.getFences(orderId);
+    }
+    // 지오펜스 도착·출발 기록 (상태 → 시각)
+    @GetMapping("/arrivals")
+    public Map<String, String> getArrivals(@RequestParam String orderId) {
+        return geofenceStore.getEvents(orderId);
+    }
+    // 만료 주문 회수를 즉시 실행하고 회수 건수 반환
+    @PostMapping("/sweepExpired")
+    public Map<String, Long> sweepExpiredOrders() {
+        int reclaimed = orderExpirySweeper.sweep();
+        return Map.of("reclaimed", (long) reclaimed, "totalReclaimed", orderExpirySweeper.getTotalReclaimed());
+    }
+
     @GetMapping("/redisDelete")
     public void deleteRedis(){
         sqsService.deleteRedis();
-        System.out.println("Redis 데이터베이스의 모든 키가 삭제되었습니다.");
+        log.warn("Redis 데이터베이스의 모든 키가 삭제되었습니다.");
     }
 }
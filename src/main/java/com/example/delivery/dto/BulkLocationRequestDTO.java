@@ -0,0 +1,12 @@
+package com.example.delivery.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class BulkLocationRequestDTO {
+    private List<String> deliveryPersonIds;
+}
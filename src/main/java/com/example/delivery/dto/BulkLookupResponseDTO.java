@@ -0,0 +1,14 @@
+package com.example.delivery.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Builder
+public class BulkLookupResponseDTO<T> {
+    private Map<String, T> found;     // 조회된 키 → 값
+    private List<String> notFound;    // 데이터가 없는 키 목록
+}
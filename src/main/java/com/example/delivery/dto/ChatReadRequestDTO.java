@@ -0,0 +1,12 @@
+package com.example.delivery.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ChatReadRequestDTO {
+    private String orderId;
+    private String userId;
+    private Long timestamp; // 마지막으로 읽은 메시지의 timestamp (없으면 저장된 가장 최신 메시지, 그보다 늦어도 그 시각으로 자름)
+}
@@ -0,0 +1,14 @@
+package com.example.delivery.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@Builder
+public class ChatUnreadResponseDTO {
+    private String userId;
+    private long total;
+    private Map<String, Long> unreadByOrder; // orderId -> 읽지 않은 메시지 수
+}
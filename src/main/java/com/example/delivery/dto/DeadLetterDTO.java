@@ -0,0 +1,20 @@
+package com.example.delivery.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@Builder
+public class DeadLetterDTO {
+    private String id;              // Redis Stream 레코드 ID
+    private String queue;           // 원래 큐 이름
+    private String messageId;
+    private String body;
+    private Map<String, String> attributes;
+    private String failureClass;    // PERMANENT / TRANSIENT
+    private String reason;
+    private int receiveCount;
+    private long quarantinedAt;
+}
@@ -0,0 +1,20 @@
+package com.example.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class GeofenceDTO {
+    private String orderId;
+    private String type;          // pickup(가게) 또는 dropoff(배달지)
+    private double latitude;
+    private double longitude;
+    private double radiusMeters;  // 0 이하이면 기본 반경(geofence.default-radius-meters) 사용
+}
@@ -0,0 +1,24 @@
+package com.example.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class GeofenceEventDTO {
+    private String orderId;
+    private String riderId;
+    private String userId;
+    private String fenceType;      // pickup / dropoff
+    private String transition;     // arrived / departed
+    private double latitude;       // 판정에 사용한 라이더 위치
+    private double longitude;
+    private double distanceMeters; // 지오펜스 중심까지 거리
+    private long detectedAt;       // 판정 시각 (ms)
+}
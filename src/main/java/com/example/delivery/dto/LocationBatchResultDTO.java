@@ -0,0 +1,14 @@
+package com.example.delivery.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class LocationBatchResultDTO {
+    private int received;   // 배치에 담긴 위치 수
+    private int applied;    // 저장된 배달원 수 (배달원별 최신 위치 1건)
+    private int superseded; // 같은 배치의 더 최신 위치나 이미 저장된 더 최신 위치 때문에 버려진 수
+    private int invalid;    // 검증에 실패한 수
+    private int rateLimited; // 배달원별 허용량을 넘어 버려진 수
+}
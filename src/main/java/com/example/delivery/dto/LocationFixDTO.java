@@ -0,0 +1,13 @@
+package com.example.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class LocationFixDTO {
+    private String deliveryPersonId;
+    private long timestamp;     // 단말에서 측정한 시각 (epoch ms)
+    private double latitude;
+    private double longitude;
+}
@@ -0,0 +1,15 @@
+package com.example.delivery.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@Builder
+@ToString
+public class NearbyRiderDTO {
+    private String deliveryPersonId;
+    private double latitude;
+    private double longitude;
+    private double distanceMeters;
+}
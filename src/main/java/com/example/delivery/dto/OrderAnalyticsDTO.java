@@ -0,0 +1,16 @@
+package com.example.delivery.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@Builder
+public class OrderAnalyticsDTO {
+    private String from;                                        // 집계 구간 시작 (yyyy-MM-dd HH:mm)
+    private String to;
+    private Map<String, Map<String, Long>> transitionsPerMinute; // 분 -> (진입 상태 -> 건수)
+    private Map<String, Long> transitionTotals;                 // 진입 상태 -> 구간 합계
+    private Map<String, TimeInStatusDTO> timeInStatus;          // 이전 상태 -> 체류 시간 분포
+}
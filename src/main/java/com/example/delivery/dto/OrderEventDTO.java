@@ -0,0 +1,22 @@
+package com.example.delivery.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEventDTO {
+    private String id;          // Redis Stream 레코드 ID (append 전에는 null)
+    private String orderId;
+    private String userId;
+    private String riderId;
+    private String fromStatus;  // 이전 상태 (신규 주문이면 null)
+    private long fromEventTime; // 이전 상태에 들어온 시각 (orderTimestamps 점수, 모르면 0)
+    private String toStatus;
+    private long eventTime;     // 메시지 timestamp (orderTimestamps 점수와 같은 기준, 초)
+    private long recordedAt;    // 스트림에 기록한 시각 (ms)
+}
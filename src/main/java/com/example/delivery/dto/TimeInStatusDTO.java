@@ -0,0 +1,16 @@
+package com.example.delivery.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@Builder
+public class TimeInStatusDTO {
+    private long count;
+    private double meanSeconds;
+    private String p50;                 // 중앙값이 속한 구간 (예: le_300 = 300초 이하)
+    private String p90;
+    private Map<String, Long> buckets;  // 구간별 건수 (le_30, le_60, ..., le_inf)
+}
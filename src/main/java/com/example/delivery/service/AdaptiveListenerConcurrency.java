@@ -0,0 +1,313 @@
+package com.example.delivery.service;
+
+import io.awspring.cloud.sqs.listener.BackPressureHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQS 리스너(chat, deliveryStatus)의 동시 처리 수를 AIMD 방식으로 조정하는 컨트롤러입니다.
+ * 처리 지연(Redis 포함)이 목표를 넘거나 실패가 늘면 바로 절반으로 줄이고,
+ * 지연이 정상인데 큐에 메시지가 쌓여 있으면 쿨다운 간격으로 조금씩 늘립니다.
+ * 허용량(permit)은 리스너 컨테이너의 back-pressure로 쓰여, 남은 permit 수만큼만 SQS에서 받아 오므로
+ * 허용량 밖의 메시지가 가시성 타임아웃을 흘려보내며 기다리는 일이 없고,
+ * 조정할 때 컨테이너를 멈추거나 다시 시작하지 않습니다.
+ * 결정 값은 Micrometer 지표(sqs.listener.*)로 노출합니다.
+ */
+@Service
+@Slf4j
+public class AdaptiveListenerConcurrency {
+
+    public static final String CHAT_LISTENER_ID = "chatListener";
+    public static final String DELIVERY_STATUS_LISTENER_ID = "deliveryStatusListener";
+
+    // SQS ReceiveMessage 한 번에 받을 수 있는 최대 메시지 수
+    private static final int SQS_MAX_MESSAGES_PER_POLL = 10;
+
+    // permit이 없을 때 폴링 스레드가 한 번에 기다리는 시간 (0개를 돌려주면 컨테이너가 다시 요청)
+    private static final long PERMIT_WAIT_MS = 1_000;
+
+    private final SqsClient sqsClient;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ListenerState> states = new ConcurrentHashMap<>();
+
+    @Value("${spring.cloud.aws.sqs.queue-url-chat}")
+    private String chatQueueUrl;
+
+    @Value("${spring.cloud.aws.sqs.queue-url-deliveryStatus}")
+    private String deliveryStatusQueueUrl;
+
+    @Value("${sqs.adaptive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sqs.adaptive.initial-concurrency:10}")
+    private int initialConcurrency;
+
+    @Value("${sqs.adaptive.min-concurrency:2}")
+    private int minConcurrency;
+
+    @Value("${sqs.adaptive.max-concurrency:50}")
+    private int maxConcurrency;
+
+    @Value("${sqs.adaptive.additive-step:2}")
+    private int additiveStep;
+
+    @Value("${sqs.adaptive.decrease-factor:0.5}")
+    private double decreaseFactor;
+
+    @Value("${sqs.adaptive.target-latency-ms:250}")
+    private double targetLatencyMs;
+
+    @Value("${sqs.adaptive.max-failure-ratio:0.2}")
+    private double maxFailureRatio;
+
+    @Value("${sqs.adaptive.cooldown-ms:30000}")
+    private long cooldownMs;
+
+    public AdaptiveListenerConcurrency(SqsClient sqsClient, MeterRegistry meterRegistry) {
+        this.sqsClient = sqsClient;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void registerListeners() {
+        validate();
+        register(CHAT_LISTENER_ID, chatQueueUrl);
+        register(DELIVERY_STATUS_LISTENER_ID, deliveryStatusQueueUrl);
+    }
+
+    // 실제 동시 처리 수는 permit이 정하지만 컨테이너 옵션은 maxConcurrentMessages=max-concurrency,
+    // maxMessagesPerPoll=10(기본값)으로 검증되므로 max-concurrency가 폴링 크기보다 작으면 컨테이너가 시작되지 않음
+    void validate() {
+        if (minConcurrency < 1 || minConcurrency > initialConcurrency || initialConcurrency > maxConcurrency) {
+            throw new IllegalStateException("sqs.adaptive requires 1 <= min-concurrency <= initial-concurrency <= max-concurrency, got "
+                    + minConcurrency + "/" + initialConcurrency + "/" + maxConcurrency);
+        }
+        if (maxConcurrency < SQS_MAX_MESSAGES_PER_POLL) {
+            throw new IllegalStateException("sqs.adaptive.max-concurrency must be at least the poll size "
+                    + SQS_MAX_MESSAGES_PER_POLL + ", got " + maxConcurrency);
+        }
+    }
+
+    /**
+     * 리스너 컨테이너가 폴링 전에 permit을 얻고, 메시지 처리가 끝나면 반환하는 back-pressure 핸들러를 돌려주는 메서드입니다.
+     * 적응형 조정 대상이 아닌 리스너면 null을 돌려주어 컨테이너 기본 핸들러를 쓰게 합니다.
+     */
+    public BackPressureHandler backPressureHandler(String listenerId) {
+        ListenerState state = listenerId == null ? null : states.get(listenerId);
+        return state == null ? null : new PermitBackPressureHandler(state);
+    }
+
+    /**
+     * 리스너가 메시지 하나를 처리하는 데 걸린 시간과 성공 여부를 기록합니다.
+     * permit은 컨테이너가 메시지 처리(확인 응답 포함)를 마칠 때 back-pressure 핸들러로 반환합니다.
+     */
+    public void record(String listenerId, long elapsedNanos, boolean success) {
+        ListenerState state = states.get(listenerId);
+        if (state == null) {
+            return;
+        }
+        state.latencyNanos.add(elapsedNanos);
+        state.samples.increment();
+        if (!success) {
+            state.failures.increment();
+        }
+    }
+
+    /**
+     * 주기적으로 지연·실패율·백로그를 보고 동시 처리 수를 다시 결정합니다.
+     */
+    @Scheduled(fixedDelayString = "${sqs.adaptive.interval-ms:10000}", initialDelayString = "${sqs.adaptive.interval-ms:10000}")
+    public void adjust() {
+        if (!enabled) {
+            return;
+        }
+        for (ListenerState state : states.values()) {
+            try {
+                adjust(state);
+            } catch (Exception e) {
+                log.warn("Adaptive concurrency tick failed: listener={}, error={}", state.listenerId, e.getMessage());
+            }
+        }
+    }
+
+    private void adjust(ListenerState state) {
+        long samples = state.samples.sumThenReset();
+        long latencyNanos = state.latencyNanos.sumThenReset();
+        long failures = state.failures.sumThenReset();
+        state.meanLatencyMs = samples == 0 ? 0 : latencyNanos / 1_000_000.0 / samples;
+        state.backlog = fetchBacklog(state.queueUrl);
+
+        double failureRatio = samples == 0 ? 0 : (double) failures / samples;
+        int current = state.concurrency;
+        long now = System.currentTimeMillis();
+        int target = nextConcurrency(current, state.meanLatencyMs, failureRatio, state.backlog, now - state.lastAppliedAt);
+        if (target == current) {
+            return;
+        }
+        (target > current ? state.increases : state.decreases).increment();
+        log.info("⚙️ Adjusting listener concurrency: listener={}, {} -> {}, meanLatencyMs={}, failureRatio={}, backlog={}",
+                state.listenerId, current, target, String.format("%.1f", state.meanLatencyMs), failureRatio, state.backlog);
+        state.resize(target);
+        state.lastAppliedAt = now;
+    }
+
+    /**
+     * 한 주기의 측정값으로 다음 동시 처리 수를 정합니다.
+     * 과부하(지연·실패율 초과)면 쿨다운과 관계없이 곱셈 감소하고,
+     * 늘리는 것은 마지막 변경 후 cooldown-ms가 지났고 백로그가 현재 동시 처리 수보다 많을 때만 합니다.
+     */
+    int nextConcurrency(int current, double meanLatencyMs, double failureRatio, long backlog, long sinceLastChangeMs) {
+        if (meanLatencyMs > targetLatencyMs || failureRatio > maxFailureRatio) {
+            return Math.max(minConcurrency, (int) Math.floor(current * decreaseFactor));
+        }
+        if (backlog > current && sinceLastChangeMs >= cooldownMs) {
+            return Math.min(maxConcurrency, current + additiveStep);
+        }
+        return current;
+    }
+
+    private long fetchBacklog(String queueUrl) {
+        try {
+            Map<QueueAttributeName, String> attributes = sqsClient.getQueueAttributes(GetQueueAttributesRequest.builder()
+                    .queueUrl(queueUrl)
+                    .attributeNames(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES)
+                    .build()).attributes();
+            return Long.parseLong(attributes.getOrDefault(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES, "0"));
+        } catch (Exception e) {
+            log.warn("Failed to read queue backlog: queueUrl={}, error={}", queueUrl, e.getMessage());
+            return 0;
+        }
+    }
+
+    private void register(String listenerId, String queueUrl) {
+        ListenerState state = new ListenerState(listenerId, queueUrl, initialConcurrency);
+        states.put(listenerId, state);
+        Gauge.builder("sqs.listener.concurrency", state, s -> s.concurrency)
+                .tag("listener", listenerId).register(meterRegistry);
+        Gauge.builder("sqs.listener.available", state, s -> s.permits.availablePermits())
+                .tag("listener", listenerId).register(meterRegistry);
+        Gauge.builder("sqs.listener.latency.mean", state, s -> s.meanLatencyMs)
+                .tag("listener", listenerId).baseUnit("milliseconds").register(meterRegistry);
+        Gauge.builder("sqs.listener.backlog", state, s -> s.backlog)
+                .tag("listener", listenerId).register(meterRegistry);
+        state.increases = Counter.builder("sqs.listener.adjustments")
+                .tag("listener", listenerId).tag("direction", "increase").register(meterRegistry);
+        state.decreases = Counter.builder("sqs.listener.adjustments")
+                .tag("listener", listenerId).tag("direction", "decrease").register(meterRegistry);
+    }
+
+    ListenerStateView state(String listenerId) {
+        ListenerState state = states.get(listenerId);
+        return state == null ? null : new ListenerStateView(state.concurrency, state.permits.availablePermits());
+    }
+
+    // 테스트·진단용 현재 값 (허용된 동시 처리 수, 남은 permit 수)
+    record ListenerStateView(int concurrency, int available) {
+    }
+
+    /**
+     * 폴링 한 번에 남은 permit 수(최대 요청 수)만큼만 받아 오게 하는 핸들러입니다.
+     * 폴링 결과가 요청보다 적으면 컨테이너가 남은 permit을, 메시지 처리가 끝나면 1개씩 돌려줍니다.
+     */
+    private static final class PermitBackPressureHandler implements BackPressureHandler {
+        private final ListenerState state;
+
+        PermitBackPressureHandler(ListenerState state) {
+            this.state = state;
+        }
+
+        @Override
+        public int request(int amount) throws InterruptedException {
+            if (amount <= 0 || !state.permits.tryAcquire(PERMIT_WAIT_MS, TimeUnit.MILLISECONDS)) {
+                return 0;
+            }
+            int acquired = 1;
+            while (acquired < amount && state.permits.tryAcquire()) {
+                acquired++;
+            }
+            return acquired;
+        }
+
+        @Override
+        public void release(int amount) {
+            if (amount > 0) {
+                state.permits.release(amount);
+            }
+        }
+
+        // 종료 시 처리 중인 메시지가 모두 permit을 반환할 때까지 기다림 (다시 시작할 수 있도록 곧바로 돌려놓음)
+        @Override
+        public boolean drain(Duration timeout) {
+            int total = state.concurrency;
+            try {
+                if (state.permits.tryAcquire(total, timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    state.permits.release(total);
+                    return true;
+                }
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private static class ListenerState {
+        final String listenerId;
+        final String queueUrl;
+        final LongAdder latencyNanos = new LongAdder();
+        final LongAdder samples = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final ResizableSemaphore permits;
+        volatile int concurrency;
+        volatile double meanLatencyMs;
+        volatile long backlog;
+        volatile long lastAppliedAt;
+        Counter increases;
+        Counter decreases;
+
+        ListenerState(String listenerId, String queueUrl, int concurrency) {
+            this.listenerId = listenerId;
+            this.queueUrl = queueUrl;
+            this.concurrency = concurrency;
+            this.permits = new ResizableSemaphore(concurrency);
+        }
+
+        // 줄일 때는 남은 permit을 먼저 회수하고, 처리 중인 메시지는 끝날 때 반환된 permit이 상쇄됨
+        synchronized void resize(int target) {
+            int delta = target - concurrency;
+            if (delta > 0) {
+                permits.release(delta);
+            } else if (delta < 0) {
+                permits.reduce(-delta);
+            }
+            concurrency = target;
+        }
+    }
+
+    private static final class ResizableSemaphore extends Semaphore {
+        ResizableSemaphore(int permits) {
+            super(permits);
+        }
+
+        void reduce(int reduction) {
+            reducePermits(reduction);
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package com.example.delivery.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 배달원·사용자·주문별 요청 허용량을 제한하는 서비스입니다.
+ * 엔드포인트 종류(위치 갱신, 채팅 전송 등)마다 속도와 burst를 따로 두고, 키별 TokenBucket으로 판정합니다.
+ * 종류별로 추적하는 키 수에 상한을 두고, 넘으면 가장 오래 쓰이지 않은 키의 버킷부터 정리합니다.
+ * 판정은 메모리에서만 이루어지며, 거절된 요청은 본문 파싱이나 Redis·SQS 호출 전에 429로 끝납니다.
+ * 클러스터 한도를 켜면 허용한 건수를 모아 주기적으로 Redis에 한 번에 반영하고,
+ * 전체 인스턴스 합계가 한도를 넘은 키는 다음 집계 구간까지 모든 인스턴스에서 거절합니다.
+ */
+@Service
+@Slf4j
+public class AdmissionControl {
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    // 같은 요청에서 이미 판정한 "종류|키" 목록 (필터와 컨트롤러가 같은 키를 두 번 차감하지 않도록)
+    private static final String ADMITTED_KEYS_ATTR = AdmissionControl.class.getName() + ".ADMITTED_KEYS";
+    private static final String CLUSTER_KEY_PREFIX = "admission:";
+    private static final long CLUSTER_WINDOW_SECONDS = 60;
+
+    public enum EndpointClass {
+        LOCATION_WRITE("location-write"),
+        // 위치 배치 요청 자체 (배달원 헤더 또는 접속 주소 기준, 배치 안의 배달원은 LOCATION_WRITE로 따로 차감)
+        LOCATION_BATCH("location-batch"),
+        LOCATION_READ("location-read"),
+        CHAT_SEND("chat-send"),
+        CHAT_READ("chat-read");
+
+        private final String key;
+
+        EndpointClass(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
+    /**
+     * 판정 결과입니다. 응답 헤더(X-RateLimit-*, Retry-After)를 만드는 데 사용합니다.
+     */
+    public static final class Decision {
+        private static final Decision UNLIMITED = new Decision(true, -1, -1, 0);
+
+        private final boolean admitted;
+        private final int limit;
+        private final long remaining;
+        private final long retryAfterSeconds;
+
+        private Decision(boolean admitted, int limit, long remaining, long retryAfterSeconds) {
+            this.admitted = admitted;
+            this.limit = limit;
+            this.remaining = remaining;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public boolean isAdmitted() {
+            return admitted;
+        }
+
+        public HttpHeaders toHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            if (limit >= 0) {
+                headers.set(LIMIT_HEADER, String.valueOf(limit));
+                headers.set(REMAINING_HEADER, String.valueOf(remaining));
+            }
+            if (!admitted) {
+                headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            }
+            return headers;
+        }
+
+        // 컨트롤러에서 본문을 읽은 뒤 거절할 때 사용하는 429 응답
+        public <T> ResponseEntity<T> rejected() {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).headers(toHeaders()).build();
+        }
+    }
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final boolean enabled;
+    private final boolean clusterEnabled;
+    private final double[] ratePerSecond = new double[EndpointClass.values().length];
+    private final int[] burst = new int[EndpointClass.values().length];
+    private final long[] clusterLimitPerMinute = new long[EndpointClass.values().length];
+    // 종류별 키 → 버킷 (접근 순서로 유지해 상한을 넘으면 가장 오래 쓰이지 않은 키부터 제거)
+    private final List<Map<String, TokenBucket>> buckets = new ArrayList<>();
+    private final Counter[] evictionCounters = new Counter[EndpointClass.values().length];
+    private final Counter[] admittedCounters = new Counter[EndpointClass.values().length];
+    private final Counter[] rejectedCounters = new Counter[EndpointClass.values().length];
+
+    // 클러스터 한도: 아직 Redis에 반영하지 않은 허용 건수와, 한도를 넘어 막힌 키(→ 해제 시각 ms)
+    private final ConcurrentHashMap<String, LongAdder> pendingClusterCounts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> clusterBlockedUntil = new ConcurrentHashMap<>();
+
+    public AdmissionControl(StringRedisTemplate stringRedisTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${admission.enabled:true}") boolean enabled,
+                            @Value("${admission.limits:}") String limits,
+                            @Value("${admission.max-keys-per-class:100000}") int maxKeysPerClass,
+                            @Value("${admission.cluster.enabled:false}") boolean clusterEnabled,
+                            @Value("${admission.cluster.limits-per-minute:}") String clusterLimits) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.enabled = enabled;
+        this.clusterEnabled = clusterEnabled;
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            evictionCounters[endpointClass.ordinal()] = Counter.builder("admission.evictions")
+                    .tag("class", endpointClass.key).register(meterRegistry);
+            Map<String, TokenBucket> classBuckets = Collections.synchronizedMap(
+                    new LeastRecentlyUsedBuckets(maxKeysPerClass, evictionCounters[endpointClass.ordinal()]));
+            buckets.add(classBuckets);
+            admittedCounters[endpointClass.ordinal()] = Counter.builder("admission.requests")
+                    .tag("class", endpointClass.key).tag("outcome", "admitted").register(meterRegistry);
+            rejectedCounters[endpointClass.ordinal()] = Counter.builder("admission.requests")
+                    .tag("class", endpointClass.key).tag("outcome", "rejected").register(meterRegistry);
+            Gauge.builder("admission.buckets", classBuckets, Map::size)
+                    .tag("class", endpointClass.key).register(meterRegistry);
+        }
+        applyLimits(limits);
+        applyClusterLimits(clusterLimits);
+    }
+
+    /**
+     * 요청 하나를 주어진 키들(예: 사용자와 주문)로 판정합니다. 비어 있는 키는 건너뛰고,
+     * 같은 요청에서 이미 판정한 키는 다시 차감하지 않습니다. 키 하나라도 거절되면 요청 전체를 거절합니다.
+     */
+    public Decision admit(HttpServletRequest request, EndpointClass endpointClass, String... keys) {
+        if (!enabled) {
+            return Decision.UNLIMITED;
+        }
+        Set<String> admittedKeys = admittedKeys(request);
+        Decision result = Decision.UNLIMITED;
+        for (String key : keys) {
+            if (key == null || key.isEmpty()) {
+                continue;
+            }
+            String classKey = endpointClass.key + "|" + key;
+            if (!admittedKeys.add(classKey)) {
+                continue;
+            }
+            Decision decision = admit(endpointClass, classKey, key);
+            if (!decision.admitted) {
+                return decision;
+            }
+            if (decision.limit >= 0 && (result.limit < 0 || decision.remaining < result.remaining)) {
+                result = decision;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 배치 요청처럼 여러 키를 한 요청에서 따로 판정하는 메서드입니다.
+     * 키마다 토큰 하나를 차감하며, 거절된 키와 그 판정 결과만 반환합니다 (허용된 키는 포함하지 않음).
+     */
+    public Map<String, Decision> admitEach(HttpServletRequest request, EndpointClass endpointClass, Collection<String> keys) {
+        Map<String, Decision> rejected = new LinkedHashMap<>();
+        for (String key : keys) {
+            Decision decision = admit(request, endpointClass, key);
+            if (!decision.admitted) {
+                rejected.put(key, decision);
+            }
+        }
+        return rejected;
+    }
+
+    private Decision admit(EndpointClass endpointClass, String classKey, String key) {
+        int index = endpointClass.ordinal();
+        if (clusterEnabled && !clusterBlockedUntil.isEmpty()) {
+            Long blockedUntil = clusterBlockedUntil.get(classKey);
+            if (blockedUntil != null) {
+                long waitMs = blockedUntil - System.currentTimeMillis();
+                if (waitMs > 0) {
+                    rejectedCounters[index].increment();
+                    return new Decision(false, burst[index], 0, TimeUnit.MILLISECONDS.toSeconds(waitMs) + 1);
+                }
+                clusterBlockedUntil.remove(classKey, blockedUntil);
+            }
+        }
+
+        long now = System.nanoTime();
+        TokenBucket bucket = bucket(endpointClass, key, now);
+        long result = bucket.tryAcquire(now);
+        if (result < 0) {
+            rejectedCounters[index].increment();
+            long retryAfterSeconds = TimeUnit.NANOSECONDS.toSeconds(-result - 1) + 1;
+            log.debug("Request rejected: class={}, key={}, retryAfter={}s", endpointClass.key, key, retryAfterSeconds);
+            return new Decision(false, burst[index], 0, retryAfterSeconds);
+        }
+        admittedCounters[index].increment();
+        if (clusterEnabled && clusterLimitPerMinute[index] > 0) {
+            pendingClusterCounts.computeIfAbsent(classKey, k -> new LongAdder()).increment();
+        }
+        return new Decision(true, burst[index], result, 0);
+    }
+
+    // 조회와 생성이 한 번의 잠금으로 접근 순서를 갱신하고, 상한을 넘으면 가장 오래 쓰이지 않은 버킷을 제거
+    private TokenBucket bucket(EndpointClass endpointClass, String key, long now) {
+        int index = endpointClass.ordinal();
+        return buckets.get(index).computeIfAbsent(key, k -> new TokenBucket(ratePerSecond[index], burst[index], now));
+    }
+
+    /**
+     * 가득 찬(한동안 요청이 없던) 버킷을 정리해 키 수가 계속 늘어나지 않게 합니다.
+     */
+    @Scheduled(fixedDelayString = "${admission.sweep-interval-ms:30000}")
+    public void sweepIdleBuckets() {
+        long now = System.nanoTime();
+        for (Map<String, TokenBucket> classBuckets : buckets) {
+            synchronized (classBuckets) {
+                classBuckets.values().removeIf(bucket -> bucket.isIdle(now));
+            }
+        }
+        long nowMs = System.currentTimeMillis();
+        clusterBlockedUntil.values().removeIf(blockedUntil -> blockedUntil <= nowMs);
+    }
+
+    /**
+     * 모아 둔 허용 건수를 파이프라인 한 번으로 Redis에 더하고, 합계가 클러스터 한도를 넘은 키를 막습니다.
+     * 키는 admission:{종류}:{키}:{분} 이며 집계 구간이 끝나면 만료됩니다.
+     */
+    @Scheduled(fixedDelayString = "${admission.cluster.flush-interval-ms:1000}")
+    public void flushClusterCounts() {
+        if (!clusterEnabled || pendingClusterCounts.isEmpty()) {
+            return;
+        }
+        List<String> classKeys = new ArrayList<>();
+        List<Long> counts = new ArrayList<>();
+        for (String classKey : new ArrayList<>(pendingClusterCounts.keySet())) {
+            LongAdder adder = pendingClusterCounts.remove(classKey);
+            long count = adder == null ? 0 : adder.sum();
+            if (count > 0) {
+                classKeys.add(classKey);
+                counts.add(count);
+            }
+        }
+        if (classKeys.isEmpty()) {
+            return;
+        }
+
+        long nowMs = System.currentTimeMillis();
+        long window = TimeUnit.MILLISECONDS.toSeconds(nowMs) / CLUSTER_WINDOW_SECONDS;
+        long windowEndMs = (window + 1) * CLUSTER_WINDOW_SECONDS * 1000;
+        try {
+            List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (int i = 0; i < classKeys.size(); i++) {
+                    String redisKey = CLUSTER_KEY_PREFIX + classKeys.get(i).replace('|', ':') + ":" + window;
+                    redis.incrBy(redisKey, counts.get(i));
+                    redis.expire(redisKey, CLUSTER_WINDOW_SECONDS * 2);
+                }
+                return null;
+            });
+            for (int i = 0; i < classKeys.size(); i++) {
+                Object total = results.get(i * 2);
+                String classKey = classKeys.get(i);
+                long limit = clusterLimitPerMinute[findClass(classKey.substring(0, classKey.indexOf('|'))).ordinal()];
+                if (total instanceof Long value && value > limit) {
+                    clusterBlockedUntil.put(classKey, windowEndMs);
+                    log.info("🚦 Cluster admission limit reached: key={}, count={}/{}", classKey, value, limit);
+                }
+            }
+        } catch (Exception e) {
+            // 클러스터 집계 실패 시 인스턴스별 버킷만으로 계속 제한
+            log.warn("Failed to flush cluster admission counts: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 종류별 설정과 현재 추적 중인 키 수, 허용·거절 건수를 반환합니다.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            int index = endpointClass.ordinal();
+            Map<String, Object> classStats = new LinkedHashMap<>();
+            classStats.put("ratePerSecond", ratePerSecond[index]);
+            classStats.put("burst", burst[index]);
+            classStats.put("clusterLimitPerMinute", clusterEnabled ? clusterLimitPerMinute[index] : 0);
+            classStats.put("trackedKeys", buckets.get(index).size());
+            classStats.put("evicted", (long) evictionCounters[index].count());
+            classStats.put("admitted", (long) admittedCounters[index].count());
+            classStats.put("rejected", (long) rejectedCounters[index].count());
+            stats.put(endpointClass.key, classStats);
+        }
+        stats.put("enabled", enabled);
+        stats.put("clusterBlockedKeys", clusterBlockedUntil.size());
+        return stats;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> admittedKeys(HttpServletRequest request) {
+        Object existing = request.getAttribute(ADMITTED_KEYS_ATTR);
+        if (existing instanceof Set<?> set) {
+            return (Set<String>) set;
+        }
+        Set<String> admittedKeys = new HashSet<>();
+        request.setAttribute(ADMITTED_KEYS_ATTR, admittedKeys);
+        return admittedKeys;
+    }
+
+    // "location-write=5/20,chat-send=1/5" 형식 (초당 토큰 수/버킷 크기)
+    private void applyLimits(String limits) {
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            ratePerSecond[endpointClass.ordinal()] = 10;
+            burst[endpointClass.ordinal()] = 20;
+        }
+        Set<String> invalid = new HashSet<>();
+        for (Map.Entry<EndpointClass, String> entry : parse(limits, invalid).entrySet()) {
+            String[] rateAndBurst = entry.getValue().split("/");
+            try {
+                double rate = Double.parseDouble(rateAndBurst[0].trim());
+                int size = rateAndBurst.length > 1 ? Integer.parseInt(rateAndBurst[1].trim()) : (int) Math.ceil(rate);
+                if (rate <= 0 || size <= 0) {
+                    throw new NumberFormatException();
+                }
+                ratePerSecond[entry.getKey().ordinal()] = rate;
+                burst[entry.getKey().ordinal()] = size;
+            } catch (NumberFormatException e) {
+                invalid.add(entry.getKey().key + "=" + entry.getValue());
+            }
+        }
+        if (!invalid.isEmpty()) {
+            log.warn("Ignoring invalid admission limit entries: {}", invalid);
+        }
+    }
+
+    // "location-write=600,chat-send=60" 형식 (키별 분당 전체 인스턴스 합계)
+    private void applyClusterLimits(String limits) {
+        Set<String> invalid = new HashSet<>();
+        for (Map.Entry<EndpointClass, String> entry : parse(limits, invalid).entrySet()) {
+            try {
+                clusterLimitPerMinute[entry.getKey().ordinal()] = Long.parseLong(entry.getValue().trim());
+            } catch (NumberFormatException e) {
+                invalid.add(entry.getKey().key + "=" + entry.getValue());
+            }
+        }
+        if (!invalid.isEmpty()) {
+            log.warn("Ignoring invalid cluster admission limit entries: {}", invalid);
+        }
+    }
+
+    private Map<EndpointClass, String> parse(String spec, Set<String> invalid) {
+        Map<EndpointClass, String> values = new LinkedHashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return values;
+        }
+        for (String entry : spec.split(",")) {
+            String[] pair = entry.trim().split("=");
+            EndpointClass endpointClass = pair.length == 2 ? findClass(pair[0].trim()) : null;
+            if (endpointClass == null) {
+                invalid.add(entry);
+                continue;
+            }
+            values.put(endpointClass, pair[1]);
+        }
+        return values;
+    }
+
+    /**
+     * 접근 순서로 정렬된 키별 버킷입니다. 추적 키 수 상한을 넘으면 가장 오래 쓰이지 않은 버킷을 제거합니다.
+     * 제거된 키는 다음 요청 때 가득 찬 버킷으로 다시 시작합니다.
+     */
+    private static final class LeastRecentlyUsedBuckets extends LinkedHashMap<String, TokenBucket> {
+        private final int maxKeys;
+        private final Counter evictions;
+
+        LeastRecentlyUsedBuckets(int maxKeys, Counter evictions) {
+            super(16, 0.75f, true);
+            this.maxKeys = maxKeys;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+            if (size() <= maxKeys) {
+                return false;
+            }
+            evictions.increment();
+            return true;
+        }
+    }
+
+    private EndpointClass findClass(String key) {
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            if (endpointClass.key.equals(key)) {
+                return endpointClass;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.ChatResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전달 방식(ChatTransport)과 관계없이 채팅 메시지를 Redis(chat:{orderId})에 저장하는 서비스입니다.
+ * 저장·만료 설정·수신자별 읽지 않은 수 증가·PUBLISH(chatMessages:{orderId})를 스크립트 하나로 처리합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatMessageStore {
+
+    static final String CHAT_KEY_PREFIX = "chat:";
+    static final String CHAT_CHANNEL_PREFIX = "chatMessages:";
+    private static final long CHAT_TTL_SECONDS = TimeUnit.DAYS.toSeconds(1);
+
+    // KEYS[1]=chat:{orderId}, 이후 수신자마다 읽지 않은 수 해시, 읽음 위치 해시
+    // ARGV[1]=메시지 JSON, ARGV[2]=채팅 TTL, ARGV[3]=채널, ARGV[4]=orderId, ARGV[5]=메시지 시각, ARGV[6]=카운터 TTL
+    // 수신자의 읽음 위치보다 나중 메시지만 읽지 않은 수를 올림 (ChatUnreadService.markRead와 같은 규칙)
+    private static final RedisScript<Long> STORE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('RPUSH', KEYS[1], ARGV[1])
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            for i = 2, #KEYS, 2 do
+                local cursor = redis.call('HGET', KEYS[i + 1], ARGV[4])
+                if not cursor or tonumber(ARGV[5]) > tonumber(cursor) then
+                    redis.call('HINCRBY', KEYS[i], ARGV[4], 1)
+                    redis.call('EXPIRE', KEYS[i], ARGV[6])
+                end
+            end
+            redis.call('PUBLISH', ARGV[3], ARGV[1])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ChatUnreadService chatUnreadService;
+    private final HotPathLogger hotPathLogger;
+
+    /**
+     * 메시지를 저장하면서 수신자들의 읽지 않은 수를 올리고, chatMessages:{orderId} 채널에 발행합니다.
+     */
+    public ChatResponseDTO store(String orderId, String userId, String role, String message, long timestamp)
+            throws JsonProcessingException {
+        ChatResponseDTO chatResponseDTO = ChatResponseDTO.builder()
+                .timestamp(timestamp)
+                .orderId(orderId)
+                .userId(userId)
+                .message(message)
+                .role(role)
+                .build();
+        String json = objectMapper.writeValueAsString(chatResponseDTO);
+        String redisKey = CHAT_KEY_PREFIX + orderId;
+        List<String> keys = new ArrayList<>();
+        keys.add(redisKey);
+        // ✅ 수신자별 읽지 않은 수 해시와 읽음 위치 해시
+        for (String recipient : chatUnreadService.recipients(orderId, userId)) {
+            keys.add(ChatUnreadService.UNREAD_PREFIX + recipient);
+            keys.add(ChatUnreadService.READ_CURSOR_PREFIX + recipient);
+        }
+        stringRedisTemplate.execute(STORE_SCRIPT, keys, json, String.valueOf(CHAT_TTL_SECONDS),
+                CHAT_CHANNEL_PREFIX + orderId, orderId, String.valueOf(timestamp), String.valueOf(ChatUnreadService.TTL_SECONDS));
+        hotPathLogger.info(HotPathLogger.Event.CHAT_RECEIVE, orderId, "✅ Message successfully stored in Redis: {}", redisKey);
+        return chatResponseDTO;
+    }
+}
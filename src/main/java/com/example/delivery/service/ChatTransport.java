@@ -0,0 +1,21 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.ChatMessageSqsRequestDTO;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 채팅 메시지를 저장소(ChatMessageStore)까지 전달하는 방식입니다.
+ * chat.transport 설정 값과 name()이 같은 구현을 ChatProducer가 사용합니다.
+ */
+public interface ChatTransport {
+
+    String name();
+
+    /**
+     * 메시지를 전달합니다. 같은 orderId의 메시지는 보낸 순서대로 저장되어야 합니다.
+     * 반환한 future는 전달 경로가 메시지를 받아들인 뒤(SQS 전송 완료 등) 완료되며, 실패하면 예외로 완료됩니다.
+     * 호출자는 이 future가 끝난 뒤 응답해야 다음 메시지가 앞지르지 않습니다.
+     */
+    CompletableFuture<Void> send(ChatMessageSqsRequestDTO message);
+}
@@ -0,0 +1,152 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.ChatUnreadResponseDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자별 읽지 않은 채팅 수(chatUnread:{userId})와 읽음 위치(chatReadCursor:{userId})를 관리하는 서비스입니다.
+ * 읽지 않은 수는 "읽음 위치 이후에 다른 참여자가 보낸 메시지 수"이며,
+ * 메시지 저장(ChatMessageStore)과 읽음 처리가 모두 Lua 스크립트로 같은 규칙을 적용하므로 서로 끼어들어도 어긋나지 않습니다.
+ * 배지 조회는 해시 하나만 읽으므로 채팅 내역을 가져오지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatUnreadService {
+
+    static final String UNREAD_PREFIX = "chatUnread:";
+    static final String READ_CURSOR_PREFIX = "chatReadCursor:";
+    static final long TTL_SECONDS = TimeUnit.DAYS.toSeconds(1); // 채팅 메시지 보관 기간과 동일
+
+    // KEYS[1]=chat:{orderId}, KEYS[2]=읽음 위치 해시, KEYS[3]=읽지 않은 수 해시 / ARGV[1]=orderId, ARGV[2]=userId, ARGV[3]=읽음 시각(없으면 빈 값), ARGV[4]=TTL
+    // 읽음 위치는 내역에 실제로 저장된 가장 최신 메시지 시각을 넘지 않게 자르고(아직 저장되지 않은 메시지를 건너뛰지 않도록),
+    // 앞으로만 옮긴 뒤 그 이후에 다른 참여자가 보낸 메시지를 세어 카운터를 맞춤
+    private static final RedisScript<Long> MARK_READ_SCRIPT = new DefaultRedisScript<>("""
+            local messages = {}
+            local newest = nil
+            for _, entry in ipairs(redis.call('LRANGE', KEYS[1], 0, -1)) do
+                local ok, message = pcall(cjson.decode, entry)
+                if ok and type(message) == 'table' and tonumber(message.timestamp) then
+                    local timestamp = tonumber(message.timestamp)
+                    messages[#messages + 1] = { userId = message.userId, timestamp = timestamp }
+                    if not newest or timestamp > newest then
+                        newest = timestamp
+                    end
+                end
+            end
+            local cursor = newest
+            if cursor and ARGV[3] ~= '' and tonumber(ARGV[3]) < cursor then
+                cursor = tonumber(ARGV[3])
+            end
+            local stored = tonumber(redis.call('HGET', KEYS[2], ARGV[1]))
+            if stored and (not cursor or stored > cursor) then
+                cursor = stored
+            elseif cursor then
+                redis.call('HSET', KEYS[2], ARGV[1], string.format('%.0f', cursor))
+            end
+            redis.call('EXPIRE', KEYS[2], ARGV[4])
+            local unread = 0
+            for _, message in ipairs(messages) do
+                if message.userId ~= ARGV[2] and (not cursor or message.timestamp > cursor) then
+                    unread = unread + 1
+                end
+            end
+            if unread == 0 then
+                redis.call('HDEL', KEYS[3], ARGV[1])
+            else
+                redis.call('HSET', KEYS[3], ARGV[1], unread)
+            end
+            return unread
+            """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 메시지를 받을 주문 참여자(보낸 사람 제외)를 반환합니다. ChatMessageStore가 저장 스크립트에 넘깁니다.
+     */
+    public Set<String> recipients(String orderId, String senderId) {
+        Set<String> recipients = participants(orderId);
+        recipients.remove(senderId);
+        return recipients;
+    }
+
+    /**
+     * 읽음 위치를 readTimestamp로 옮기고(뒤로는 옮기지 않음), 그 이후에 다른 참여자가 보낸 메시지 수로 카운터를 다시 맞춥니다.
+     * readTimestamp가 없으면 내역에 저장된 가장 최신 메시지까지 읽은 것으로 보고, 있어도 그 시각을 넘지 않게 자릅니다.
+     * 서버 시계로 옮기면 시각은 찍혔지만 아직 저장되지 않은 메시지(SQS 전달 중)가 읽은 것으로 처리되기 때문입니다.
+     * 재계산과 저장을 스크립트 하나로 처리하므로 그 사이에 저장된 메시지의 증가분이 덮어써지지 않습니다.
+     */
+    public long markRead(String userId, String orderId, Long readTimestamp) {
+        Long unread = stringRedisTemplate.execute(MARK_READ_SCRIPT,
+                List.of(ChatMessageStore.CHAT_KEY_PREFIX + orderId, READ_CURSOR_PREFIX + userId, UNREAD_PREFIX + userId),
+                orderId, userId, readTimestamp == null ? "" : String.valueOf(readTimestamp), String.valueOf(TTL_SECONDS));
+        return unread == null ? 0 : unread;
+    }
+
+    /**
+     * 사용자의 주문별 읽지 않은 메시지 수를 한 번에 조회합니다.
+     */
+    public ChatUnreadResponseDTO getUnread(String userId) {
+        Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(UNREAD_PREFIX + userId);
+        Map<String, Long> unreadByOrder = new LinkedHashMap<>();
+        long total = 0;
+        for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+            long count = Long.parseLong(entry.getValue().toString());
+            if (count > 0) {
+                unreadByOrder.put(entry.getKey().toString(), count);
+                total += count;
+            }
+        }
+        return ChatUnreadResponseDTO.builder()
+                .userId(userId)
+                .total(total)
+                .unreadByOrder(unreadByOrder)
+                .build();
+    }
+
+    /**
+     * 주문이 끝나 채팅이 삭제될 때 참여자들의 카운터와 읽음 위치에서 해당 주문을 제거합니다.
+     */
+    public void clearOrder(String orderId) {
+        Set<String> participants = participants(orderId);
+        if (participants.isEmpty()) {
+            return;
+        }
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (String participant : participants) {
+                redis.hDel(UNREAD_PREFIX + participant, orderId);
+                redis.hDel(READ_CURSOR_PREFIX + participant, orderId);
+            }
+            return null;
+        });
+    }
+
+    // 주문자와 배정된 라이더 (주문 해시는 RedisTemplate<String, Object>로 저장됨)
+    private Set<String> participants(String orderId) {
+        Set<String> participants = new LinkedHashSet<>();
+        Object userId = redisTemplate.opsForHash().get(SQSService.REDIS_ORDER_USER_IDS_KEY, orderId);
+        Object riderId = redisTemplate.opsForHash().get(SQSService.REDIS_ORDER_RIDER_IDS_KEY, orderId);
+        if (userId != null) {
+            participants.add(userId.toString());
+        }
+        if (riderId != null) {
+            participants.add(riderId.toString());
+        }
+        return participants;
+    }
+}
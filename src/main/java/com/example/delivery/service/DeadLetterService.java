@@ -0,0 +1,219 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.DeadLetterDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 반복해서 실패하는 SQS 메시지(poison message)를 Redis Stream에 격리하는 서비스입니다.
+ * ApproximateReceiveCount와 실패 유형(영구/일시)을 보고 격리 여부를 결정하며,
+ * 격리하면 리스너가 정상 반환하고 컨테이너가 원래 큐에서 삭제하므로, 더 이상 리스너 처리량을 소모하지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeadLetterService {
+
+    private static final String DEAD_LETTER_STREAM_KEY = "sqs:deadLetters";
+    private static final TypeReference<Map<String, String>> ATTRIBUTES_TYPE = new TypeReference<>() {};
+
+    public enum FailureClass {
+        PERMANENT, // 형식 오류 등 재시도해도 실패하는 경우
+        TRANSIENT  // Redis 장애 등 재시도하면 성공할 수 있는 경우
+    }
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final SqsGateway sqsGateway;
+    private final ObjectMapper objectMapper;
+
+    @Value("${sqs.poison.permanent-max-attempts:2}")
+    private int permanentMaxAttempts;
+
+    @Value("${sqs.poison.transient-max-attempts:10}")
+    private int transientMaxAttempts;
+
+    @Value("${sqs.poison.max-stream-length:10000}")
+    private long maxStreamLength;
+
+    /**
+     * 리스너 처리 실패를 분류하고, 허용 횟수를 넘었으면 메시지를 격리합니다.
+     * 원래 큐에서의 삭제는 true를 받은 리스너가 정상 반환한 뒤 컨테이너의 확인 응답(ON_SUCCESS) 한 번으로 처리됩니다.
+     *
+     * @return 격리했으면 true, 재전달을 기다려야 하면 false
+     */
+    public boolean handleFailure(String queue, String queueUrl, Message message, Exception error) {
+        FailureClass failureClass = classify(error);
+        int receiveCount = receiveCount(message);
+        int maxAttempts = failureClass == FailureClass.PERMANENT ? permanentMaxAttempts : transientMaxAttempts;
+        if (receiveCount < maxAttempts) {
+            log.warn("Message failed, waiting for redelivery: queue={}, messageId={}, class={}, receiveCount={}/{}",
+                    queue, message.messageId(), failureClass, receiveCount, maxAttempts);
+            return false;
+        }
+
+        quarantine(queue, queueUrl, message, failureClass, error, receiveCount);
+        log.warn("☣️ Message quarantined: queue={}, messageId={}, class={}, receiveCount={}, reason={}",
+                queue, message.messageId(), failureClass, receiveCount, error.getMessage());
+        return true;
+    }
+
+    /**
+     * 최근 격리된 메시지를 최신순으로 조회합니다.
+     */
+    public List<DeadLetterDTO> getDeadLetters(int count) {
+        StreamOperations<String, String, String> ops = stringRedisTemplate.opsForStream();
+        List<MapRecord<String, String, String>> records =
+                ops.reverseRange(DEAD_LETTER_STREAM_KEY, Range.unbounded(), Limit.limit().count(count));
+        return records == null ? List.of() : records.stream().map(this::toDto).toList();
+    }
+
+    /**
+     * 격리된 메시지를 원래 큐로 다시 보내고 격리 저장소에서 제거합니다.
+     */
+    public boolean replay(String id) {
+        Optional<MapRecord<String, String, String>> found = findRecord(id);
+        if (found.isEmpty()) {
+            return false;
+        }
+        Map<String, String> fields = found.get().getValue();
+        String queueUrl = fields.get("queueUrl");
+
+        Map<String, MessageAttributeValue> attributes = new HashMap<>();
+        readAttributes(fields.get("attributes")).forEach((name, value) -> attributes.put(name,
+                MessageAttributeValue.builder().dataType("String").stringValue(value).build()));
+
+        SendMessageRequest.Builder request = SendMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .messageBody(fields.get("body"))
+                .messageAttributes(attributes);
+        if (queueUrl != null && queueUrl.endsWith(".fifo")) {
+            request.messageGroupId(fields.getOrDefault("messageGroupId", "replay"))
+                    .messageDeduplicationId("replay-" + id);
+        }
+        sqsGateway.send(request.build()).join();
+        stringRedisTemplate.opsForStream().delete(DEAD_LETTER_STREAM_KEY, id);
+        log.info("🔁 Dead letter replayed: id={}, queueUrl={}", id, queueUrl);
+        return true;
+    }
+
+    /**
+     * 격리된 메시지 하나를 영구 삭제합니다.
+     */
+    public boolean purge(String id) {
+        Long deleted = stringRedisTemplate.opsForStream().delete(DEAD_LETTER_STREAM_KEY, id);
+        return deleted != null && deleted > 0;
+    }
+
+    /**
+     * 격리된 메시지를 모두 삭제합니다.
+     */
+    public void purgeAll() {
+        stringRedisTemplate.delete(DEAD_LETTER_STREAM_KEY);
+    }
+
+    FailureClass classify(Exception error) {
+        if (error instanceof PoisonMessageException || error instanceof JsonProcessingException) {
+            return FailureClass.PERMANENT;
+        }
+        return FailureClass.TRANSIENT;
+    }
+
+    private void quarantine(String queue, String queueUrl, Message message, FailureClass failureClass,
+                            Exception error, int receiveCount) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("queue", queue);
+        fields.put("queueUrl", queueUrl);
+        fields.put("messageId", message.messageId());
+        fields.put("body", message.body() == null ? "" : message.body());
+        fields.put("attributes", writeAttributes(message.messageAttributes()));
+        fields.put("failureClass", failureClass.name());
+        fields.put("reason", String.valueOf(error.getMessage()));
+        fields.put("receiveCount", String.valueOf(receiveCount));
+        fields.put("quarantinedAt", String.valueOf(System.currentTimeMillis()));
+        String messageGroupId = message.attributes().get(MessageSystemAttributeName.MESSAGE_GROUP_ID);
+        if (messageGroupId != null) {
+            fields.put("messageGroupId", messageGroupId);
+        }
+
+        RecordId recordId = stringRedisTemplate.opsForStream()
+                .add(StreamRecords.string(fields).withStreamKey(DEAD_LETTER_STREAM_KEY));
+        stringRedisTemplate.opsForStream().trim(DEAD_LETTER_STREAM_KEY, maxStreamLength, true);
+        log.debug("Dead letter stored: recordId={}", recordId);
+    }
+
+    private int receiveCount(Message message) {
+        String count = message.attributes().get(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT);
+        try {
+            return count == null ? 1 : Integer.parseInt(count);
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    private Optional<MapRecord<String, String, String>> findRecord(String id) {
+        StreamOperations<String, String, String> ops = stringRedisTemplate.opsForStream();
+        List<MapRecord<String, String, String>> records = ops.range(DEAD_LETTER_STREAM_KEY, Range.closed(id, id));
+        return records == null || records.isEmpty() ? Optional.empty() : Optional.of(records.get(0));
+    }
+
+    private DeadLetterDTO toDto(MapRecord<String, String, String> record) {
+        Map<String, String> fields = record.getValue();
+        return DeadLetterDTO.builder()
+                .id(record.getId().getValue())
+                .queue(fields.get("queue"))
+                .messageId(fields.get("messageId"))
+                .body(fields.get("body"))
+                .attributes(readAttributes(fields.get("attributes")))
+                .failureClass(fields.get("failureClass"))
+                .reason(fields.get("reason"))
+                .receiveCount(Integer.parseInt(fields.getOrDefault("receiveCount", "0")))
+                .quarantinedAt(Long.parseLong(fields.getOrDefault("quarantinedAt", "0")))
+                .build();
+    }
+
+    private String writeAttributes(Map<String, MessageAttributeValue> attributes) {
+        Map<String, String> values = new HashMap<>();
+        attributes.forEach((name, value) -> {
+            if (value.stringValue() != null) {
+                values.put(name, value.stringValue());
+            }
+        });
+        try {
+            return objectMapper.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            return "{}";
+        }
+    }
+
+    private Map<String, String> readAttributes(String json) {
+        if (json == null || json.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, ATTRIBUTES_TYPE);
+        } catch (JsonProcessingException e) {
+            return Map.of();
+        }
+    }
+}
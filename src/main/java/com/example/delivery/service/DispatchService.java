@@ -0,0 +1,223 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.NearbyRiderDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 대기 중("배달전") 주문에 가까운 배차 가능 라이더를 찾는 서비스입니다.
+ * 위치 갱신과 주문 상태 전이를 인메모리 공간 인덱스(RiderSpatialIndex)에 반영합니다.
+ * 다른 레플리카가 저장한 위치는 locationUpdates 채널로, 상태 전이는 orderEvents 스트림(RiderAvailabilityProjection)으로 받고,
+ * Redis 전체를 읽는 동기화는 기동 시 스냅샷으로 한 번(설정하면 드물게 주기적으로)만 합니다.
+ */
+@Service
+@Slf4j
+public class DispatchService {
+
+    static final String LOCATION_KEY_PREFIX = "delivery:location:";
+    // 저장된 위치를 레플리카끼리 알리는 채널 (메시지: 보낸 인스턴스 ID 줄 + "배달원ID,위도,경도" 줄들)
+    static final String LOCATION_CHANNEL = "delivery:locationUpdates";
+    // 자기가 보낸 위치 알림은 이미 반영했으므로 건너뛰기 위한 인스턴스 ID
+    static final String INSTANCE_ID = UUID.randomUUID().toString();
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RiderSpatialIndex index;
+
+    @Value("${dispatch.resync-batch-size:500}")
+    private int resyncBatchSize;
+
+    // 0이면 기동 시에만 전체 동기화
+    @Value("${dispatch.full-resync-interval-ms:0}")
+    private long fullResyncIntervalMs;
+
+    // 이 시간 동안 위치가 오지 않은 라이더는 인덱스에서 제거 (위치 키 TTL과 같은 1일)
+    @Value("${dispatch.stale-after-ms:86400000}")
+    private long staleAfterMs;
+
+    private volatile long lastFullResyncAt;
+
+    public DispatchService(RedisTemplate<String, Object> redisTemplate,
+                           StringRedisTemplate stringRedisTemplate,
+                           RedisMessageListenerContainer listenerContainer,
+                           @Value("${dispatch.cell-size-degrees:0.01}") double cellSizeDegrees,
+                           @Value("${dispatch.initial-capacity:50000}") int initialCapacity) {
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.index = new RiderSpatialIndex(cellSizeDegrees, initialCapacity);
+        listenerContainer.addMessageListener(this::onLocationMessage, new ChannelTopic(LOCATION_CHANNEL));
+    }
+
+    /**
+     * 위치 갱신을 공간 인덱스에 반영합니다.
+     */
+    public void onLocationUpdate(String deliveryPersonId, double latitude, double longitude) {
+        index.upsert(deliveryPersonId, latitude, longitude, System.currentTimeMillis());
+    }
+
+    /**
+     * 주문 상태 전이를 라이더 배차 가능 여부에 반영합니다.
+     * 여러 주문을 함께 배달하는 라이더는 마지막 배달중 주문이 끝나야 다시 배차 가능이 됩니다.
+     */
+    public void onOrderTransition(String riderId, String orderId, String status) {
+        if (riderId == null || orderId == null) {
+            return;
+        }
+        if ("배달중".equals(status)) {
+            index.startOrder(riderId, orderId);
+        } else if ("배달완료".equals(status) || "배달끝".equals(status)) {
+            index.finishOrder(riderId, orderId);
+        }
+    }
+
+    /**
+     * 주어진 지점에서 가까운 배차 가능 라이더를 최대 k명 반환합니다.
+     */
+    public List<NearbyRiderDTO> findNearestAvailableRiders(double latitude, double longitude, int k, double maxDistanceMeters) {
+        return index.nearestAvailable(latitude, longitude, k, maxDistanceMeters);
+    }
+
+    public int indexedRiderCount() {
+        return index.size();
+    }
+
+    /**
+     * 다른 레플리카가 저장한 위치 알림을 인덱스에 반영합니다. 자기가 보낸 알림은 건너뜁니다.
+     */
+    void onLocationMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] lines = payload.split("\n");
+        if (lines.length < 2 || INSTANCE_ID.equals(lines[0])) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (int i = 1; i < lines.length; i++) {
+            // 배달원 ID에 쉼표가 있어도 되도록 뒤에서부터 위도·경도를 자름
+            String line = lines[i];
+            int lngAt = line.lastIndexOf(',');
+            int latAt = lngAt <= 0 ? -1 : line.lastIndexOf(',', lngAt - 1);
+            if (latAt <= 0) {
+                continue;
+            }
+            try {
+                index.upsert(line.substring(0, latAt), Double.parseDouble(line.substring(latAt + 1, lngAt)),
+                        Double.parseDouble(line.substring(lngAt + 1)), now);
+            } catch (NumberFormatException e) {
+                log.warn("Invalid location update from another replica: {}", line);
+            }
+        }
+    }
+
+    /**
+     * 오래된 라이더를 메모리에서 정리합니다.
+     * 기동 시 전체 동기화는 RiderAvailabilityProjection의 스냅샷으로 하며,
+     * full-resync-interval-ms를 설정한 경우에만 그 간격으로 다시 전체 동기화합니다.
+     */
+    @Scheduled(fixedDelayString = "${dispatch.maintenance-interval-ms:60000}", initialDelayString = "${dispatch.maintenance-interval-ms:60000}")
+    public void maintain() {
+        long now = System.currentTimeMillis();
+        if (fullResyncIntervalMs > 0 && lastFullResyncAt > 0 && now - lastFullResyncAt >= fullResyncIntervalMs) {
+            try {
+                fullResync();
+            } catch (Exception e) {
+                log.error("Dispatch index resync failed: {}", e.getMessage(), e);
+            }
+        }
+        int evicted = index.retainOnly(Set.of(), now - staleAfterMs);
+        if (evicted > 0) {
+            log.debug("Evicted {} stale riders from dispatch index", evicted);
+        }
+    }
+
+    /**
+     * Redis의 위치 키와 주문 상태 전체를 기준으로 인덱스를 다시 맞춥니다. Redis 오류는 호출한 쪽으로 던집니다.
+     * 동기화 중에 알림으로 들어온 위치는 더 최신이므로 덮어쓰지 않습니다.
+     */
+    public void fullResync() {
+        long startedAt = System.currentTimeMillis();
+        index.replaceActiveOrders(loadActiveOrders());
+        // 동기화로 넣은 위치는 시작 시각보다 이전 시각으로 기록해 동기화 중 알림과 구분
+        Set<String> seen = resyncLocations(startedAt);
+        int removed = index.retainOnly(seen, startedAt);
+        lastFullResyncAt = startedAt;
+        log.info("Dispatch index resynced: riders={}, removed={}, took={}ms",
+                index.size(), removed, System.currentTimeMillis() - startedAt);
+    }
+
+    // 라이더별 배달중 상태 주문 (하나라도 있으면 배차 불가)
+    private Map<String, Set<String>> loadActiveOrders() {
+        Map<Object, Object> statuses = redisTemplate.opsForHash().entries(SQSService.REDIS_ORDER_STATUSES_KEY);
+        Map<Object, Object> riders = redisTemplate.opsForHash().entries(SQSService.REDIS_ORDER_RIDER_IDS_KEY);
+        Map<String, Set<String>> active = new HashMap<>();
+        riders.forEach((orderId, riderId) -> {
+            if ("배달중".equals(statuses.get(orderId)) && riderId != null) {
+                active.computeIfAbsent(riderId.toString(), id -> new HashSet<>()).add(orderId.toString());
+            }
+        });
+        return active;
+    }
+
+    private Set<String> resyncLocations(long startedAt) {
+        Set<String> seen = new HashSet<>();
+        List<String> batch = new ArrayList<>(resyncBatchSize);
+        ScanOptions options = ScanOptions.scanOptions().match(LOCATION_KEY_PREFIX + "*").count(1000).build();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == resyncBatchSize) {
+                    applyLocations(batch, seen, startedAt);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            applyLocations(batch, seen, startedAt);
+        }
+        return seen;
+    }
+
+    private void applyLocations(List<String> keys, Set<String> seen, long startedAt) {
+        List<String> values = stringRedisTemplate.opsForValue().multiGet(keys);
+        if (values == null) {
+            return;
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            String deliveryPersonId = keys.get(i).substring(LOCATION_KEY_PREFIX.length());
+            String locationData = values.get(i);
+            if (locationData == null) {
+                continue;
+            }
+            seen.add(deliveryPersonId);
+            if (index.lastUpdated(deliveryPersonId) >= startedAt) {
+                continue;
+            }
+            String[] latLng = locationData.split(",");
+            if (latLng.length != 2) {
+                continue;
+            }
+            try {
+                index.upsert(deliveryPersonId, Double.parseDouble(latLng[0]), Double.parseDouble(latLng[1]), startedAt - 1);
+            } catch (NumberFormatException e) {
+                log.warn("Invalid location data for deliveryPersonId={}: {}", deliveryPersonId, locationData);
+            }
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.GeofenceDTO;
+import com.example.delivery.dto.GeofenceEventDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 라이더 위치 갱신마다 그 라이더가 맡은 주문의 지오펜스만 검사해 가게·배달지 도착과 출발을 감지하는 엔진입니다.
+ * 라이더별 지오펜스 묶음(RiderFenceSet)을 미리 만들어 두므로 위치 하나당 맵 조회 한 번과 지오펜스 몇 개의 거리 계산이면 되고,
+ * 배달중 주문이 없는 라이더는 조회 한 번으로 끝납니다.
+ * 묶음은 주문 상태 전이(GeofenceProjection)와 지오펜스 등록 알림(geofenceUpdates 채널)으로 유지하고,
+ * Redis 주문 해시 전체를 읽는 동기화는 기동 시 스냅샷으로 한 번(설정하면 드물게 주기적으로)만 하며,
+ * 감지한 전이는 기존 SQSService.sendMessage 경로로 보내 앱이 위치를 폴링하지 않아도 도착을 알 수 있게 합니다.
+ */
+@Service
+@Slf4j
+public class GeofenceEngine {
+
+    static final String ACTIVE_STATUS = "배달중";
+    private static final String DEFAULT_RIDER_ID = "defaultRiderId";
+    // 지오펜스가 등록·변경된 주문을 레플리카끼리 알리는 채널 (메시지: 보낸 인스턴스 ID 줄 + 주문 ID 줄)
+    static final String GEOFENCE_CHANNEL = "geofenceUpdates";
+
+    private final GeofenceStore geofenceStore;
+    private final SQSService sqsService;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final double exitFactor;
+    private final Counter arrivals;
+    private final Counter departures;
+
+    private final ConcurrentHashMap<String, RiderFenceSet> fencesByRider = new ConcurrentHashMap<>();
+    // 지오펜스를 올려 둔 주문 → 담당 라이더 (해제 시 어느 라이더 묶음에서 뺄지 찾기 위해)
+    private final ConcurrentHashMap<String, String> riderByOrder = new ConcurrentHashMap<>();
+    // 자기가 보낸 등록 알림은 이미 반영했으므로 건너뛰기 위한 인스턴스 ID
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // 0이면 기동 시에만 전체 동기화
+    @Value("${geofence.full-resync-interval-ms:0}")
+    private long fullResyncIntervalMs;
+
+    private volatile long lastFullResyncAt;
+
+    public GeofenceEngine(GeofenceStore geofenceStore,
+                          SQSService sqsService,
+                          RedisTemplate<String, Object> redisTemplate,
+                          StringRedisTemplate stringRedisTemplate,
+                          RedisMessageListenerContainer listenerContainer,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${geofence.exit-factor:1.3}") double exitFactor) {
+        this.geofenceStore = geofenceStore;
+        this.sqsService = sqsService;
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.exitFactor = exitFactor;
+        this.arrivals = Counter.builder("geofence.transitions").tag("transition", "arrived").register(meterRegistry);
+        this.departures = Counter.builder("geofence.transitions").tag("transition", "departed").register(meterRegistry);
+        Gauge.builder("geofence.riders", fencesByRider, Map::size).register(meterRegistry);
+        listenerContainer.addMessageListener(this::onGeofenceMessage, new ChannelTopic(GEOFENCE_CHANNEL));
+    }
+
+    /**
+     * 저장된 위치 하나를 이 라이더의 지오펜스에 대해 평가하고, 경계를 넘었으면 알림을 보냅니다.
+     */
+    public void onLocation(String riderId, double latitude, double longitude) {
+        RiderFenceSet fences = fencesByRider.get(riderId);
+        if (fences == null) {
+            return;
+        }
+        List<RiderFenceSet.Transition> transitions = fences.evaluate(latitude, longitude);
+        for (RiderFenceSet.Transition transition : transitions) {
+            try {
+                emit(riderId, transition, latitude, longitude);
+            } catch (Exception e) {
+                log.warn("Failed to emit geofence event: riderId={}, orderId={}, error={}",
+                        riderId, transition.fence.orderId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 배달중이 된 주문의 지오펜스를 담당 라이더 묶음에 올립니다. 지오펜스가 없으면 아무것도 하지 않습니다.
+     */
+    public void activate(String orderId, String riderId, String userId) {
+        if (riderId == null || DEFAULT_RIDER_ID.equals(riderId)) {
+            return;
+        }
+        activate(orderId, riderId, userId, geofenceStore.getFences(orderId));
+    }
+
+    /**
+     * 주문의 지오펜스를 라이더 묶음에서 내립니다.
+     */
+    public void deactivate(String orderId) {
+        String riderId = riderByOrder.remove(orderId);
+        if (riderId != null) {
+            removeFromRider(riderId, orderId);
+        }
+    }
+
+    /**
+     * 지오펜스가 새로 등록되거나 바뀐 주문을 현재 상태 기준으로 다시 올리고, 다른 레플리카에도 알립니다.
+     */
+    public void refreshOrder(String orderId) {
+        refreshLocal(orderId);
+        try {
+            stringRedisTemplate.convertAndSend(GEOFENCE_CHANNEL, instanceId + "\n" + orderId);
+        } catch (Exception e) {
+            log.warn("Failed to publish geofence update: orderId={}, error={}", orderId, e.getMessage());
+        }
+    }
+
+    /**
+     * 다른 레플리카에서 등록된 지오펜스를 이 레플리카의 묶음에 반영합니다. 자기가 보낸 알림은 건너뜁니다.
+     */
+    void onGeofenceMessage(Message message, byte[] pattern) {
+        String[] lines = new String(message.getBody(), StandardCharsets.UTF_8).split("\n", 2);
+        if (lines.length < 2 || instanceId.equals(lines[0])) {
+            return;
+        }
+        try {
+            refreshLocal(lines[1]);
+        } catch (Exception e) {
+            log.warn("Failed to apply geofence update: orderId={}, error={}", lines[1], e.getMessage());
+        }
+    }
+
+    private void refreshLocal(String orderId) {
+        Object status = redisTemplate.opsForHash().get(SQSService.REDIS_ORDER_STATUSES_KEY, orderId);
+        if (!ACTIVE_STATUS.equals(status)) {
+            return;
+        }
+        Object riderId = redisTemplate.opsForHash().get(SQSService.REDIS_ORDER_RIDER_IDS_KEY, orderId);
+        Object userId = redisTemplate.opsForHash().get(SQSService.REDIS_ORDER_USER_IDS_KEY, orderId);
+        activate(orderId, riderId == null ? null : riderId.toString(), userId == null ? null : userId.toString());
+    }
+
+    /**
+     * full-resync-interval-ms를 설정한 경우 그 간격으로 전체 동기화합니다.
+     * 기동 시 전체 동기화는 GeofenceProjection의 스냅샷으로 하며, 이후 변화는 상태 전이 이벤트와 등록 알림으로 받습니다.
+     */
+    @Scheduled(fixedDelayString = "${geofence.maintenance-interval-ms:60000}", initialDelayString = "${geofence.maintenance-interval-ms:60000}")
+    public void maintain() {
+        if (fullResyncIntervalMs > 0 && lastFullResyncAt > 0
+                && System.currentTimeMillis() - lastFullResyncAt >= fullResyncIntervalMs) {
+            try {
+                fullResync();
+            } catch (Exception e) {
+                log.error("Geofence resync failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 주문 상태·라이더·사용자 해시 전체를 기준으로 라이더별 묶음을 다시 맞춥니다. Redis 오류는 호출한 쪽으로 던집니다.
+     */
+    public void fullResync() {
+        long startedAt = System.currentTimeMillis();
+        Map<Object, Object> statuses = redisTemplate.opsForHash().entries(SQSService.REDIS_ORDER_STATUSES_KEY);
+        Map<Object, Object> riders = redisTemplate.opsForHash().entries(SQSService.REDIS_ORDER_RIDER_IDS_KEY);
+        Map<Object, Object> users = redisTemplate.opsForHash().entries(SQSService.REDIS_ORDER_USER_IDS_KEY);
+
+        Map<String, String> activeRiders = new HashMap<>();
+        statuses.forEach((orderId, status) -> {
+            Object riderId = riders.get(orderId);
+            if (ACTIVE_STATUS.equals(status) && riderId != null && !DEFAULT_RIDER_ID.equals(riderId)) {
+                activeRiders.put(orderId.toString(), riderId.toString());
+            }
+        });
+
+        for (String orderId : new ArrayList<>(riderByOrder.keySet())) {
+            if (!activeRiders.containsKey(orderId)) {
+                deactivate(orderId);
+            }
+        }
+        Map<String, List<GeofenceDTO>> fences = geofenceStore.getFences(new ArrayList<>(activeRiders.keySet()));
+        fences.forEach((orderId, orderFences) -> {
+            Object userId = users.get(orderId);
+            activate(orderId, activeRiders.get(orderId), userId == null ? null : userId.toString(), orderFences);
+        });
+        lastFullResyncAt = startedAt;
+        log.info("Geofences resynced: riders={}, orders={}, took={}ms",
+                fencesByRider.size(), riderByOrder.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * projection 재구성 전에 메모리 상태를 비웁니다.
+     */
+    public void clear() {
+        fencesByRider.clear();
+        riderByOrder.clear();
+    }
+
+    public int activeOrderCount() {
+        return riderByOrder.size();
+    }
+
+    private void activate(String orderId, String riderId, String userId, List<GeofenceDTO> fences) {
+        if (fences.isEmpty()) {
+            deactivate(orderId);
+            return;
+        }
+        String previousRider = riderByOrder.put(orderId, riderId);
+        if (previousRider != null && !previousRider.equals(riderId)) {
+            removeFromRider(previousRider, orderId);
+        }
+        fencesByRider.compute(riderId, (id, current) ->
+                (current == null ? RiderFenceSet.EMPTY : current).withOrder(orderId, userId, fences, exitFactor));
+    }
+
+    private void removeFromRider(String riderId, String orderId) {
+        fencesByRider.computeIfPresent(riderId, (id, current) -> {
+            RiderFenceSet next = current.withoutOrder(orderId);
+            return next.isEmpty() ? null : next;
+        });
+    }
+
+    private void emit(String riderId, RiderFenceSet.Transition transition, double latitude, double longitude) {
+        RiderFenceSet.Fence fence = transition.fence;
+        if (!geofenceStore.claimTransition(fence.orderId, fence.type, transition.arrived)) {
+            return;
+        }
+        GeofenceEventDTO event = GeofenceEventDTO.builder()
+                .orderId(fence.orderId)
+                .riderId(riderId)
+                .userId(fence.userId)
+                .fenceType(fence.type)
+                .transition(transition.arrived ? "arrived" : "departed")
+                .latitude(latitude)
+                .longitude(longitude)
+                .distanceMeters(transition.distanceMeters)
+                .detectedAt(System.currentTimeMillis())
+                .build();
+        String status = GeofenceStore.status(fence.type, transition.arrived);
+        sqsService.sendMessage(fence.userId == null ? "defaultUserId" : fence.userId, write(event), status, fence.orderId, riderId);
+        (transition.arrived ? arrivals : departures).increment();
+        log.info("📍 Geofence {}: orderId={}, riderId={}, fence={}, distance={}m",
+                event.getTransition(), fence.orderId, riderId, fence.type, Math.round(transition.distanceMeters));
+    }
+
+    private String write(GeofenceEventDTO event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize geofence event: " + event.getOrderId(), e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.OrderEventDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * 주문 상태 전이를 각 레플리카의 라이더별 지오펜스 묶음에 반영하는 projection입니다.
+ * 배달중이 되면 주문의 지오펜스를 담당 라이더에 올리고, 다른 상태가 되면 내립니다.
+ * 기동 시에는 배달중 주문 전체를 읽어 묶음을 만든 뒤(스냅샷) 그 이후 이벤트만 받습니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class GeofenceProjection implements OrderEventProjection {
+
+    private final GeofenceEngine geofenceEngine;
+
+    @Override
+    public String name() {
+        return "geofences";
+    }
+
+    @Override
+    public boolean perInstance() {
+        return true;
+    }
+
+    @Override
+    public void apply(OrderEventDTO event) {
+        if (GeofenceEngine.ACTIVE_STATUS.equals(event.getToStatus())) {
+            geofenceEngine.activate(event.getOrderId(), event.getRiderId(), event.getUserId());
+        } else {
+            geofenceEngine.deactivate(event.getOrderId());
+        }
+    }
+
+    @Override
+    public void reset() {
+        geofenceEngine.clear();
+    }
+
+    @Override
+    public void loadSnapshot() {
+        geofenceEngine.fullResync();
+    }
+}
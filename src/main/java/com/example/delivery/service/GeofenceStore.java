@@ -0,0 +1,188 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.GeofenceDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 주문별 지오펜스(가게·배달지 좌표와 반경)와 도착·출발 기록을 Redis에 저장하는 서비스입니다.
+ * 지오펜스는 geofences:{orderId} 해시(유형 → "위도,경도,반경"),
+ * 도착·출발 기록은 orderArrivals:{orderId} 해시(상태 → 시각)에 저장합니다.
+ */
+@Service
+@Slf4j
+public class GeofenceStore {
+
+    public static final String PICKUP = "pickup";
+    public static final String DROPOFF = "dropoff";
+
+    // 지오펜스 알림용 상태 (주문 상태 해시에는 기록하지 않음)
+    public static final String PICKUP_ARRIVED = "픽업도착";
+    public static final String PICKUP_DEPARTED = "픽업출발";
+    public static final String DROPOFF_ARRIVED = "배달지도착";
+    public static final String DROPOFF_DEPARTED = "배달지출발";
+    private static final Set<String> GEOFENCE_STATUSES = Set.of(PICKUP_ARRIVED, PICKUP_DEPARTED, DROPOFF_ARRIVED, DROPOFF_DEPARTED);
+
+    static final String GEOFENCES_PREFIX = "geofences:";
+    static final String ARRIVALS_PREFIX = "orderArrivals:";
+    // 마지막으로 알린 안/밖 상태 (여러 레플리카가 같은 전이를 중복으로 보내지 않도록)
+    private static final String STATE_PREFIX = "geofenceState:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final double defaultRadiusMeters;
+    private final Duration ttl;
+
+    public GeofenceStore(StringRedisTemplate stringRedisTemplate,
+                         @Value("${geofence.default-radius-meters:50}") double defaultRadiusMeters,
+                         @Value("${geofence.ttl:P1D}") Duration ttl) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.defaultRadiusMeters = defaultRadiusMeters;
+        this.ttl = ttl;
+    }
+
+    public static boolean isGeofenceStatus(String status) {
+        return status != null && GEOFENCE_STATUSES.contains(status);
+    }
+
+    public static String status(String fenceType, boolean arrived) {
+        if (PICKUP.equals(fenceType)) {
+            return arrived ? PICKUP_ARRIVED : PICKUP_DEPARTED;
+        }
+        return arrived ? DROPOFF_ARRIVED : DROPOFF_DEPARTED;
+    }
+
+    /**
+     * 주문의 지오펜스 하나를 등록하거나 바꿉니다.
+     */
+    public GeofenceDTO saveFence(GeofenceDTO geofence) {
+        if (!PICKUP.equals(geofence.getType()) && !DROPOFF.equals(geofence.getType())) {
+            throw new IllegalArgumentException("type must be pickup or dropoff");
+        }
+        if (geofence.getLatitude() < -90 || geofence.getLatitude() > 90
+                || geofence.getLongitude() < -180 || geofence.getLongitude() > 180
+                || (geofence.getLatitude() == 0.0 && geofence.getLongitude() == 0.0)) {
+            throw new IllegalArgumentException("Invalid coordinates");
+        }
+        double radius = geofence.getRadiusMeters() > 0 ? geofence.getRadiusMeters() : defaultRadiusMeters;
+        String key = GEOFENCES_PREFIX + geofence.getOrderId();
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            redis.hSet(key, geofence.getType(), geofence.getLatitude() + "," + geofence.getLongitude() + "," + radius);
+            redis.expire(key, ttl.getSeconds());
+            return null;
+        });
+        return GeofenceDTO.builder()
+                .orderId(geofence.getOrderId())
+                .type(geofence.getType())
+                .latitude(geofence.getLatitude())
+                .longitude(geofence.getLongitude())
+                .radiusMeters(radius)
+                .build();
+    }
+
+    public List<GeofenceDTO> getFences(String orderId) {
+        Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(GEOFENCES_PREFIX + orderId);
+        return parseFences(orderId, entries);
+    }
+
+    /**
+     * 여러 주문의 지오펜스를 파이프라인 한 번으로 조회합니다.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, List<GeofenceDTO>> getFences(List<String> orderIds) {
+        Map<String, List<GeofenceDTO>> fences = new LinkedHashMap<>();
+        if (orderIds.isEmpty()) {
+            return fences;
+        }
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (String orderId : orderIds) {
+                redis.hGetAll(GEOFENCES_PREFIX + orderId);
+            }
+            return null;
+        });
+        for (int i = 0; i < orderIds.size(); i++) {
+            List<GeofenceDTO> parsed = parseFences(orderIds.get(i), (Map<Object, Object>) results.get(i));
+            if (!parsed.isEmpty()) {
+                fences.put(orderIds.get(i), parsed);
+            }
+        }
+        return fences;
+    }
+
+    /**
+     * 마지막으로 알린 상태와 다를 때만 true를 반환하고 새 상태를 기록합니다.
+     * 라이더 위치가 여러 레플리카로 나뉘어 들어와도 같은 도착·출발은 한 번만 보냅니다.
+     */
+    public boolean claimTransition(String orderId, String fenceType, boolean arrived) {
+        String key = STATE_PREFIX + orderId + ":" + fenceType;
+        String state = arrived ? "in" : "out";
+        String previous = stringRedisTemplate.opsForValue().getAndSet(key, state);
+        stringRedisTemplate.expire(key, ttl);
+        return !state.equals(previous) && (arrived || previous != null);
+    }
+
+    /**
+     * SQS로 전달된 도착·출발 알림을 주문별 기록에 남깁니다.
+     */
+    public void recordEvent(String orderId, String status, String timestamp) {
+        String key = ARRIVALS_PREFIX + orderId;
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            redis.hSet(key, status, timestamp);
+            redis.expire(key, ttl.getSeconds());
+            return null;
+        });
+    }
+
+    public Map<String, String> getEvents(String orderId) {
+        Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(ARRIVALS_PREFIX + orderId);
+        Map<String, String> events = new LinkedHashMap<>();
+        entries.forEach((status, timestamp) -> events.put(status.toString(), timestamp.toString()));
+        return events;
+    }
+
+    /**
+     * 주문이 끝났을 때 지오펜스와 도착 기록을 삭제합니다.
+     */
+    public void delete(String orderId) {
+        stringRedisTemplate.delete(List.of(
+                GEOFENCES_PREFIX + orderId,
+                ARRIVALS_PREFIX + orderId,
+                STATE_PREFIX + orderId + ":" + PICKUP,
+                STATE_PREFIX + orderId + ":" + DROPOFF));
+    }
+
+    private List<GeofenceDTO> parseFences(String orderId, Map<Object, Object> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return List.of();
+        }
+        List<GeofenceDTO> fences = new ArrayList<>(entries.size());
+        entries.forEach((type, value) -> {
+            String[] parts = value.toString().split(",");
+            try {
+                fences.add(GeofenceDTO.builder()
+                        .orderId(orderId)
+                        .type(type.toString())
+                        .latitude(Double.parseDouble(parts[0]))
+                        .longitude(Double.parseDouble(parts[1]))
+                        .radiusMeters(parts.length > 2 ? Double.parseDouble(parts[2]) : defaultRadiusMeters)
+                        .build());
+            } catch (RuntimeException e) {
+                log.warn("Invalid geofence: orderId={}, type={}, value={}", orderId, type, value);
+            }
+        });
+        return fences;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.delivery.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 메시지·위치 갱신마다 실행되는 경로(hot path)의 로그를 이벤트 유형별로 샘플링하는 로거입니다.
+ * 유형마다 N건 중 1건만 기록하고, 레벨이 꺼져 있거나 샘플에서 빠지면 메시지를 만들지 않습니다.
+ * Redis 집합(logging:tracedOrders)에 등록된 주문은 샘플링 없이 모두 기록하며,
+ * 이 집합은 주기적으로 다시 읽으므로 재배포 없이 주문별 추적을 켜고 끌 수 있습니다.
+ */
+@Service
+@Slf4j
+public class HotPathLogger {
+
+    static final String TRACED_ORDERS_KEY = "logging:tracedOrders";
+    private static final String LOGGER_PREFIX = "com.example.delivery.hotpath.";
+
+    public enum Event {
+        LOCATION_UPDATE("location.update"),
+        LOCATION_READ("location.read"),
+        CHAT_SEND("chat.send"),
+        CHAT_RECEIVE("chat.receive"),
+        CHAT_READ("chat.read"),
+        ORDER_SEND("order.send"),
+        ORDER_RECEIVE("order.receive"),
+        ORDER_UPDATE("order.update");
+
+        private final String key;
+
+        Event(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Logger[] loggers = new Logger[Event.values().length];
+    private final int[] sampleEvery = new int[Event.values().length];
+    private final Logger traceLogger = LoggerFactory.getLogger(LOGGER_PREFIX + "trace");
+    private volatile Set<String> tracedOrders = Set.of();
+
+    public HotPathLogger(StringRedisTemplate stringRedisTemplate,
+                         @Value("${logging.hot-path.default-sample-every:100}") int defaultSampleEvery,
+                         @Value("${logging.hot-path.sample-every:}") String sampleEveryOverrides) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        for (Event event : Event.values()) {
+            loggers[event.ordinal()] = LoggerFactory.getLogger(LOGGER_PREFIX + event.key);
+            sampleEvery[event.ordinal()] = defaultSampleEvery;
+        }
+        applyOverrides(sampleEveryOverrides);
+    }
+
+    // 가변 인자 대신 인자 수별 오버로드: 샘플에서 빠진 호출은 인자 배열을 만들지 않음
+    public void info(Event event, String orderId, String format, Object arg) {
+        Logger logger = target(event, orderId);
+        if (logger != null) {
+            logger.info(format, arg);
+        }
+    }
+
+    public void info(Event event, String orderId, String format, Object arg1, Object arg2) {
+        Logger logger = target(event, orderId);
+        if (logger != null) {
+            logger.info(format, arg1, arg2);
+        }
+    }
+
+    public void info(Event event, String orderId, String format, Object arg1, Object arg2, Object arg3) {
+        Logger logger = target(event, orderId);
+        if (logger != null) {
+            logger.info(format, arg1, arg2, arg3);
+        }
+    }
+
+    public void info(Event event, String orderId, String format, Object arg1, Object arg2, Object arg3, Object arg4) {
+        Logger logger = target(event, orderId);
+        if (logger != null) {
+            logger.info(format, arg1, arg2, arg3, arg4);
+        }
+    }
+
+    public void info(Event event, String orderId, String format, Object arg1, Object arg2, Object arg3, Object arg4, Object arg5) {
+        Logger logger = target(event, orderId);
+        if (logger != null) {
+            logger.info(format, arg1, arg2, arg3, arg4, arg5);
+        }
+    }
+
+    /**
+     * 주문 하나의 hot path 로그를 샘플링 없이 모두 기록하도록 등록합니다.
+     */
+    public void traceOrder(String orderId) {
+        stringRedisTemplate.opsForSet().add(TRACED_ORDERS_KEY, orderId);
+        refreshTracedOrders();
+    }
+
+    /**
+     * 주문 추적을 해제합니다.
+     */
+    public void untraceOrder(String orderId) {
+        stringRedisTemplate.opsForSet().remove(TRACED_ORDERS_KEY, orderId);
+        refreshTracedOrders();
+    }
+
+    public Set<String> getTracedOrders() {
+        return tracedOrders;
+    }
+
+    /**
+     * 다른 레플리카에서 바꾼 추적 대상을 반영하기 위해 Redis 집합을 주기적으로 다시 읽습니다.
+     */
+    @Scheduled(fixedDelayString = "${logging.hot-path.trace-refresh-ms:5000}")
+    public void refreshTracedOrders() {
+        try {
+            Set<String> members = stringRedisTemplate.opsForSet().members(TRACED_ORDERS_KEY);
+            tracedOrders = members == null || members.isEmpty() ? Set.of() : Set.copyOf(members);
+        } catch (Exception e) {
+            log.warn("Failed to refresh traced orders: {}", e.getMessage());
+        }
+    }
+
+    // 추적 중인 주문이면 trace 로거, 샘플에 들면 이벤트 로거, 기록하지 않으면 null
+    private Logger target(Event event, String orderId) {
+        if (isTraced(orderId)) {
+            return traceLogger;
+        }
+        return sampled(event) ? loggers[event.ordinal()] : null;
+    }
+
+    private boolean isTraced(String orderId) {
+        Set<String> traced = tracedOrders;
+        return orderId != null && !traced.isEmpty() && traced.contains(orderId) && traceLogger.isInfoEnabled();
+    }
+
+    // 0이면 기록하지 않고, N이면 평균 N건 중 1건 기록 (스레드 간 공유 상태 없이 난수로 결정)
+    private boolean sampled(Event event) {
+        int every = sampleEvery[event.ordinal()];
+        if (every <= 0 || !loggers[event.ordinal()].isInfoEnabled()) {
+            return false;
+        }
+        return every == 1 || ThreadLocalRandom.current().nextInt(every) == 0;
+    }
+
+    // "chat.receive=10,location.update=1000" 형식
+    private void applyOverrides(String overrides) {
+        if (overrides == null || overrides.isBlank()) {
+            return;
+        }
+        Set<String> unknown = new HashSet<>();
+        for (String entry : overrides.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                unknown.add(entry);
+                continue;
+            }
+            Event event = findEvent(pair[0].trim());
+            if (event == null) {
+                unknown.add(pair[0]);
+                continue;
+            }
+            try {
+                sampleEvery[event.ordinal()] = Integer.parseInt(pair[1].trim());
+            } catch (NumberFormatException e) {
+                unknown.add(entry);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            log.warn("Ignoring invalid hot path sampling entries: {}", unknown);
+        }
+    }
+
+    private Event findEvent(String key) {
+        for (Event event : Event.values()) {
+            if (event.key.equals(key)) {
+                return event;
+            }
+        }
+        return null;
+    }
+}
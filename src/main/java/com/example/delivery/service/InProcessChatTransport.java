@@ -0,0 +1,98 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.ChatMessageSqsRequestDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQS를 거치지 않고 같은 프로세스 안에서 채팅 메시지를 바로 저장하는 전달 방식입니다. (chat.transport=in-process)
+ * orderId 해시로 고른 단일 스레드 레인에서 처리하므로 같은 주문의 메시지는 보낸 순서대로 저장됩니다.
+ * 응답은 Redis에 저장된 뒤에 나가므로, 프로세스가 비정상 종료되어 유실되는 메시지는
+ * 아직 응답을 받지 못한(따라서 보낸 쪽이 다시 보낼) 메시지뿐입니다.
+ */
+@Service
+@Slf4j
+public class InProcessChatTransport implements ChatTransport {
+
+    static final String NAME = "in-process";
+
+    private final ChatMessageStore chatMessageStore;
+    private final ThreadPoolExecutor[] lanes;
+
+    public InProcessChatTransport(ChatMessageStore chatMessageStore,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${chat.in-process.lanes:8}") int laneCount,
+                                  @Value("${chat.in-process.queue-capacity:10000}") int queueCapacity) {
+        this.chatMessageStore = chatMessageStore;
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String threadName = "chat-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    r -> {
+                        Thread thread = new Thread(r, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+        Gauge.builder("chat.transport.in-process.queued", this, InProcessChatTransport::queued)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    /**
+     * 주문의 레인에 저장 작업을 넣고, Redis에 저장되면 완료되는 future를 반환합니다.
+     * 저장이 실패하면 future가 예외로 완료되어 보낸 쪽이 실패 응답을 받고 다시 보낼 수 있습니다.
+     * 레인 큐가 가득 차면 RejectedExecutionException을 던집니다.
+     */
+    @Override
+    public CompletableFuture<Void> send(ChatMessageSqsRequestDTO message) {
+        long timestamp = Long.parseLong(message.getTimestamp());
+        CompletableFuture<Void> stored = new CompletableFuture<>();
+        lanes[Math.floorMod(message.getOrderId().hashCode(), lanes.length)].execute(() -> {
+            try {
+                chatMessageStore.store(message.getOrderId(), message.getUserId(), message.getRole(), message.getMessage(), timestamp);
+                stored.complete(null);
+            } catch (Throwable e) {
+                log.error("❌ In-process chat store failed: orderId={}, error={}", message.getOrderId(), e.getMessage(), e);
+                stored.completeExceptionally(e);
+            }
+        });
+        return stored;
+    }
+
+    // 종료 시 이미 받은 메시지는 저장을 마치고 종료
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Chat lane did not drain in time, remaining={}", lane.getQueue().size());
+            }
+        }
+    }
+
+    private double queued() {
+        long total = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            total += lane.getQueue().size();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.LocationFixDTO;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 라이더 단말이 보내는 위치 배치(application/octet-stream)를 해석하는 디코더입니다.
+ * 모든 정수는 빅엔디언입니다.
+ * <pre>
+ * 헤더: 'L' 'B' (2바이트) | 버전 1 (1바이트) | 위치 수 (uint16)
+ * 위치: ID 길이 (1바이트) | ID (UTF-8) | 측정 시각 epoch ms (int64) | 위도×1e7 (int32) | 경도×1e7 (int32)
+ * </pre>
+ * 위도·경도를 1e-7도(약 1cm) 정수로 보내므로 JSON 대비 위치 하나가 ID 포함 20여 바이트입니다.
+ */
+public final class LocationBatchDecoder {
+
+    static final byte MAGIC_0 = 'L';
+    static final byte MAGIC_1 = 'B';
+    static final byte VERSION = 1;
+    static final double COORDINATE_SCALE = 1e7;
+
+    private LocationBatchDecoder() {
+    }
+
+    /**
+     * 배치 전체를 해석합니다. 형식이 맞지 않으면 IllegalArgumentException을 던집니다.
+     */
+    public static List<LocationFixDTO> decode(byte[] body, int maxFixes) {
+        if (body == null || body.length < 5) {
+            throw new IllegalArgumentException("Location batch is too short");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        if (buffer.get() != MAGIC_0 || buffer.get() != MAGIC_1) {
+            throw new IllegalArgumentException("Invalid location batch header");
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported location batch version: " + version);
+        }
+        int count = Short.toUnsignedInt(buffer.getShort());
+        if (count > maxFixes) {
+            throw new IllegalArgumentException("Too many fixes in batch: " + count + " > " + maxFixes);
+        }
+
+        List<LocationFixDTO> fixes = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                int idLength = Byte.toUnsignedInt(buffer.get());
+                String deliveryPersonId = new String(body, buffer.position(), idLength, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + idLength);
+                long timestamp = buffer.getLong();
+                double latitude = buffer.getInt() / COORDINATE_SCALE;
+                double longitude = buffer.getInt() / COORDINATE_SCALE;
+                fixes.add(new LocationFixDTO(deliveryPersonId, timestamp, latitude, longitude));
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Location batch is truncated", e);
+        }
+        if (buffer.hasRemaining()) {
+            throw new IllegalArgumentException("Unexpected trailing bytes in location batch: " + buffer.remaining());
+        }
+        return fixes;
+    }
+}
@@ -1,34 +1,201 @@
 package com.example.delivery.service;
 
+import com.example.delivery.dto.BulkLookupResponseDTO;
+import com.example.delivery.dto.LocationBatchResultDTO;
+import com.example.delivery.dto.LocationFixDTO;
 import com.example.delivery.dto.LocationRequestDTO;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 public class LocationService {
+
+    // 배달원별 마지막으로 반영한 측정 시각 (서버 시각 기준, 배치의 단말 시각은 서버 시각을 넘지 않게 자름, epoch ms)
+    static final String LOCATION_FIX_TIMES_KEY = "delivery:locationFixTimes";
+    private static final long LOCATION_TTL_SECONDS = TimeUnit.DAYS.toSeconds(1);
+    // 스크립트 한 번에 처리할 배달원 수 (큰 배치가 Redis를 오래 붙잡지 않도록 나눔)
+    private static final int APPLY_CHUNK_SIZE = 500;
+
+    // KEYS[1]=측정 시각 해시, KEYS[1+i]=배달원 위치 키 / ARGV[1]=TTL, ARGV[2]=알림 채널, ARGV[3]=인스턴스 ID,
+    // 이후 배달원마다 ID, 측정 시각, "위도,경도"
+    // 저장된 측정 시각보다 새로운 위치만 저장하고, 저장한 위치를 채널 하나로 다른 레플리카에 알린 뒤 배달원마다 저장 여부(1/0)를 반환
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List<Long>> APPLY_NEWER_FIXES_SCRIPT = new DefaultRedisScript("""
+            local applied = {}
+            local updates = {}
+            for i = 2, #KEYS do
+                local base = (i - 2) * 3 + 4
+                local id = ARGV[base]
+                local stored = redis.call('HGET', KEYS[1], id)
+                if not stored or tonumber(stored) < tonumber(ARGV[base + 1]) then
+                    redis.call('SET', KEYS[i], ARGV[base + 2], 'EX', ARGV[1])
+                    redis.call('HSET', KEYS[1], id, ARGV[base + 1])
+                    applied[#applied + 1] = 1
+                    updates[#updates + 1] = id .. ',' .. ARGV[base + 2]
+                else
+                    applied[#applied + 1] = 0
+                end
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            if #updates > 0 then
+                redis.call('PUBLISH', ARGV[2], ARGV[3] .. '\\n' .. table.concat(updates, '\\n'))
+            end
+            return applied
+            """, List.class);
+
     private final RedisTemplate<String, String> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final DispatchService dispatchService;
+    private final HotPathLogger hotPathLogger;
+    private final SingleFlight singleFlight;
+    private final GeofenceEngine geofenceEngine;
+
+    @Value("${location.batch.max-fixes:5000}")
+    private int maxBatchFixes;
+
+    @Value("${location.batch.max-riders:500}")
+    private int maxBatchRiders;
+
+    @Value("${location.batch.max-clock-skew-ms:5000}")
+    private long maxClockSkewMs;
+
     public String updateLocation(LocationRequestDTO locationRequestDTO) {
         validateLocationRequest(locationRequestDTO);
-        // Redis 키 생성 및 데이터 설정
-        String redisKey = "delivery:location:" + locationRequestDTO.getDeliveryPersonId();
-        String locationData = locationRequestDTO.getLatitude() + "," + locationRequestDTO.getLongitude();
-        // 추가 비즈니스 로직 (예: 외부 API 호출 등)
-
-        // Redis에 데이터 저장 (1일 TTL 설정)
-        redisTemplate.opsForValue().set(redisKey, locationData, Duration.ofDays(1));
-        System.out.println("location save");
+        // 단건 API는 측정 시각이 없으므로 서버 수신 시각으로 배치와 같은 최신 위치 규칙을 적용
+        LocationFixDTO fix = new LocationFixDTO(locationRequestDTO.getDeliveryPersonId(), System.currentTimeMillis(),
+                locationRequestDTO.getLatitude(), locationRequestDTO.getLongitude());
+        if (applyNewerFixes(List.of(fix)).isEmpty()) {
+            hotPathLogger.info(HotPathLogger.Event.LOCATION_UPDATE, null, "Location superseded: deliveryPersonId={}",
+                    locationRequestDTO.getDeliveryPersonId());
+            return "Location superseded by a newer fix";
+        }
+        dispatchService.onLocationUpdate(locationRequestDTO.getDeliveryPersonId(),
+                locationRequestDTO.getLatitude(), locationRequestDTO.getLongitude());
+        geofenceEngine.onLocation(locationRequestDTO.getDeliveryPersonId(),
+                locationRequestDTO.getLatitude(), locationRequestDTO.getLongitude());
+        hotPathLogger.info(HotPathLogger.Event.LOCATION_UPDATE, null, "Location saved: deliveryPersonId={}, latitude={}, longitude={}",
+                locationRequestDTO.getDeliveryPersonId(), locationRequestDTO.getLatitude(), locationRequestDTO.getLongitude());
         return "Location updated successfully";
     }
 
+    /**
+     * 바이너리 위치 배치를 해석하는 메서드입니다. 형식이 맞지 않거나 서로 다른 배달원이 max-riders보다 많으면
+     * IllegalArgumentException을 던집니다 (배달원별 허용량 판정 전에 거절).
+     */
+    public List<LocationFixDTO> decodeLocations(byte[] body) {
+        List<LocationFixDTO> fixes = LocationBatchDecoder.decode(body, maxBatchFixes);
+        long riders = fixes.stream().map(LocationFixDTO::getDeliveryPersonId).distinct().count();
+        if (riders > maxBatchRiders) {
+            throw new IllegalArgumentException("Too many riders in batch: " + riders + " > " + maxBatchRiders);
+        }
+        return fixes;
+    }
+
+    /**
+     * 해석한 위치 배치를 검증하고 배달원별 가장 최신 위치만 저장하는 메서드입니다.
+     * 이미 더 최신 위치가 저장된 배달원은 건너뛰며, 비교와 저장은 Lua 스크립트로 한 번에 처리합니다.
+     * rateLimited에 든 배달원(허용량 초과)의 위치는 저장하지 않습니다.
+     */
+    public LocationBatchResultDTO updateLocations(List<LocationFixDTO> fixes, Set<String> rateLimited) {
+        long now = System.currentTimeMillis();
+        long latestAllowed = now + maxClockSkewMs;
+
+        Map<String, LocationFixDTO> newest = new HashMap<>();
+        int invalid = 0;
+        int limited = 0;
+        for (LocationFixDTO fix : fixes) {
+            if (!isValidFix(fix, latestAllowed)) {
+                invalid++;
+                continue;
+            }
+            if (rateLimited.contains(fix.getDeliveryPersonId())) {
+                limited++;
+                continue;
+            }
+            newest.merge(fix.getDeliveryPersonId(), fix,
+                    (current, candidate) -> candidate.getTimestamp() > current.getTimestamp() ? candidate : current);
+        }
+
+        // 단말 시각은 같은 배치 안의 순서를 정하는 데만 쓰고, 저장된 시각과는 서버 시각을 넘지 않게 잘라 비교
+        // (단건 API의 서버 수신 시각과 같은 시계라서, 시계가 빠른 단말이 이후 단건 위치를 막지 못함)
+        List<LocationFixDTO> candidates = new ArrayList<>(newest.size());
+        for (LocationFixDTO fix : newest.values()) {
+            candidates.add(fix.getTimestamp() <= now ? fix
+                    : new LocationFixDTO(fix.getDeliveryPersonId(), now, fix.getLatitude(), fix.getLongitude()));
+        }
+        List<LocationFixDTO> toApply = applyNewerFixes(candidates);
+        for (LocationFixDTO fix : toApply) {
+            dispatchService.onLocationUpdate(fix.getDeliveryPersonId(), fix.getLatitude(), fix.getLongitude());
+            geofenceEngine.onLocation(fix.getDeliveryPersonId(), fix.getLatitude(), fix.getLongitude());
+        }
+
+        hotPathLogger.info(HotPathLogger.Event.LOCATION_UPDATE, null, "Location batch saved: received={}, applied={}, invalid={}, rateLimited={}",
+                fixes.size(), toApply.size(), invalid, limited);
+        return LocationBatchResultDTO.builder()
+                .received(fixes.size())
+                .applied(toApply.size())
+                .superseded(fixes.size() - invalid - limited - toApply.size())
+                .invalid(invalid)
+                .rateLimited(limited)
+                .build();
+    }
+
+    /**
+     * 저장된 측정 시각보다 새로운 위치만 저장하고, 실제로 저장한 위치를 반환하는 메서드입니다.
+     * 비교와 저장을 스크립트 하나로 처리하므로 동시에 들어온 배치나 단건 요청이 더 최신 위치를 덮어쓰지 않습니다.
+     * 저장한 위치는 같은 스크립트에서 다른 레플리카의 배차 인덱스로 알립니다.
+     */
+    private List<LocationFixDTO> applyNewerFixes(List<LocationFixDTO> fixes) {
+        List<LocationFixDTO> applied = new ArrayList<>();
+        for (int from = 0; from < fixes.size(); from += APPLY_CHUNK_SIZE) {
+            List<LocationFixDTO> chunk = fixes.subList(from, Math.min(from + APPLY_CHUNK_SIZE, fixes.size()));
+            List<String> keys = new ArrayList<>(chunk.size() + 1);
+            List<String> args = new ArrayList<>(chunk.size() * 3 + 3);
+            keys.add(LOCATION_FIX_TIMES_KEY);
+            args.add(String.valueOf(LOCATION_TTL_SECONDS));
+            args.add(DispatchService.LOCATION_CHANNEL);
+            args.add(DispatchService.INSTANCE_ID);
+            for (LocationFixDTO fix : chunk) {
+                keys.add("delivery:location:" + fix.getDeliveryPersonId());
+                args.add(fix.getDeliveryPersonId());
+                args.add(String.valueOf(fix.getTimestamp()));
+                args.add(fix.getLatitude() + "," + fix.getLongitude());
+            }
+            List<Long> results = stringRedisTemplate.execute(APPLY_NEWER_FIXES_SCRIPT, keys, args.toArray());
+            for (int i = 0; i < chunk.size(); i++) {
+                if (results != null && results.get(i) == 1L) {
+                    applied.add(chunk.get(i));
+                }
+            }
+        }
+        return applied;
+    }
+
+    // 단건 API와 같은 규칙(ID 필수, 0.0 불가) + 좌표 범위 + 미래 시각 제한
+    private boolean isValidFix(LocationFixDTO fix, long latestAllowed) {
+        return !fix.getDeliveryPersonId().isEmpty()
+                && fix.getLatitude() != 0.0 && fix.getLongitude() != 0.0
+                && fix.getLatitude() >= -90 && fix.getLatitude() <= 90
+                && fix.getLongitude() >= -180 && fix.getLongitude() <= 180
+                && fix.getTimestamp() > 0 && fix.getTimestamp() <= latestAllowed;
+    }
+
     private void validateLocationRequest(LocationRequestDTO locationRequestDTO) {
         if (locationRequestDTO == null) {
             throw new IllegalArgumentException("Request body cannot be null");
@@ -47,7 +214,14 @@ public class LocationService {
         }
     }
 
+    /**
+     * 배달원 위치를 조회합니다. 같은 배달원에 대한 동시 조회는 Redis GET 한 번으로 합칩니다.
+     */
     public ResponseEntity<Map<String, Double>> getDeliveryLocation(String deliveryPersonId) {
+        return singleFlight.execute("location", deliveryPersonId, () -> loadDeliveryLocation(deliveryPersonId));
+    }
+
+    private ResponseEntity<Map<String, Double>> loadDeliveryLocation(String deliveryPersonId) {
         String redisKey = "delivery:location:" + deliveryPersonId;
         String locationData = redisTemplate.opsForValue().get(redisKey);
 
@@ -67,7 +241,7 @@ public class LocationService {
             Map<String, Double> location = new HashMap<>();
             location.put("latitude", latitude);
             location.put("longitude", longitude);
-            System.out.println("location"+ location.get("latitude") + "," + location.get("longitude"));
+            hotPathLogger.info(HotPathLogger.Event.LOCATION_READ, null, "Location read: deliveryPersonId={}, location={}", deliveryPersonId, locationData);
             return ResponseEntity.ok(location);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -75,6 +249,49 @@ public class LocationService {
         }
     }
 
+    /**
+     * 여러 배달원의 위치를 MGET 한 번으로 조회합니다.
+     * 위치가 없거나 형식이 잘못된 배달원은 notFound에 담습니다.
+     */
+    public BulkLookupResponseDTO<Map<String, Double>> getDeliveryLocations(List<String> deliveryPersonIds) {
+        List<String> ids = deliveryPersonIds.stream().distinct().toList();
+        List<String> keys = ids.stream().map(id -> "delivery:location:" + id).toList();
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+
+        Map<String, Map<String, Double>> found = new LinkedHashMap<>();
+        List<String> notFound = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Map<String, Double> location = values == null ? null : parseLocation(values.get(i));
+            if (location == null) {
+                notFound.add(ids.get(i));
+            } else {
+                found.put(ids.get(i), location);
+            }
+        }
+        return BulkLookupResponseDTO.<Map<String, Double>>builder()
+                .found(found)
+                .notFound(notFound)
+                .build();
+    }
+
+    private Map<String, Double> parseLocation(String locationData) {
+        if (locationData == null) {
+            return null;
+        }
+        String[] latLng = locationData.split(",");
+        if (latLng.length != 2) {
+            return null;
+        }
+        try {
+            Map<String, Double> location = new HashMap<>();
+            location.put("latitude", Double.parseDouble(latLng[0]));
+            location.put("longitude", Double.parseDouble(latLng[1]));
+            return location;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     public ResponseEntity<Map<String, Map<String, Double>>> getAllDeliveryLocations() {
         Set<String> keys = redisTemplate.keys("delivery:location:*");
         if (keys == null || keys.isEmpty()) {
@@ -0,0 +1,248 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.OrderAnalyticsDTO;
+import com.example.delivery.dto.OrderEventDTO;
+import com.example.delivery.dto.TimeInStatusDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주문 상태 전이를 고정 시간 구간으로 누적 집계하는 projection입니다.
+ * - 분 단위: analytics:transitions:{분} 해시에 진입 상태별 전이 건수
+ * - 시간 단위: analytics:timeInStatus:{시} 해시에 이전 상태의 체류 시간 분포
+ *   (이전 상태 진입 시각은 전이 시점의 orderTimestamps:{status} 점수)
+ * 조회는 요청한 구간 수만큼의 해시만 읽으므로 주문 수와 관계없이 일정한 비용으로 응답합니다.
+ * 스트림 이벤트는 재전달될 수 있으므로 반영한 이벤트 ID를 analytics:applied:{시} 집합에 남겨
+ * 같은 이벤트는 한 번만 집계합니다. (reset이 이 집합도 지우므로 rebuild는 처음부터 다시 집계)
+ */
+@Service
+public class OrderAnalyticsProjection implements OrderEventProjection {
+
+    static final String ANALYTICS_PREFIX = "analytics:";
+    static final String TRANSITIONS_PREFIX = ANALYTICS_PREFIX + "transitions:";
+    static final String TIME_IN_STATUS_PREFIX = ANALYTICS_PREFIX + "timeInStatus:";
+    static final String APPLIED_PREFIX = ANALYTICS_PREFIX + "applied:";
+
+    // 체류 시간 구간 상한 (초), 마지막 구간은 그 이상 전부
+    private static final long[] BUCKET_BOUNDS = {30, 60, 120, 300, 600, 900, 1200, 1800, 2700, 3600, 5400, 7200};
+    private static final String INF_BUCKET = "le_inf";
+    private static final DateTimeFormatter MINUTE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    // KEYS[1]=반영한 이벤트 ID 집합, KEYS[2]=분 단위 전이 해시, KEYS[3]=시간 단위 체류 시간 해시(있을 때만)
+    // ARGV[1]=이벤트 ID, ARGV[2]=집합 TTL, ARGV[3]=진입 상태, ARGV[4]=전이 TTL,
+    // ARGV[5]=이전 상태, ARGV[6]=체류 구간, ARGV[7]=체류 초, ARGV[8]=체류 시간 TTL
+    // 이미 반영한 이벤트면 아무것도 올리지 않고 0을 반환
+    private static final RedisScript<Long> APPLY_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('SADD', KEYS[1], ARGV[1]) == 0 then
+                return 0
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            redis.call('HINCRBY', KEYS[2], ARGV[3], 1)
+            redis.call('EXPIRE', KEYS[2], ARGV[4])
+            if #KEYS > 2 then
+                redis.call('HINCRBY', KEYS[3], ARGV[5] .. '|' .. ARGV[6], 1)
+                redis.call('HINCRBY', KEYS[3], ARGV[5] .. '|count', 1)
+                redis.call('HINCRBY', KEYS[3], ARGV[5] .. '|sum', ARGV[7])
+                redis.call('EXPIRE', KEYS[3], ARGV[8])
+            end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final long transitionRetentionSeconds;
+    private final long timeInStatusRetentionSeconds;
+    private final long appliedRetentionSeconds;
+
+    public OrderAnalyticsProjection(StringRedisTemplate stringRedisTemplate,
+                                    @Value("${analytics.transition-retention:P2D}") Duration transitionRetention,
+                                    @Value("${analytics.time-in-status-retention:P7D}") Duration timeInStatusRetention) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.transitionRetentionSeconds = transitionRetention.getSeconds();
+        this.timeInStatusRetentionSeconds = timeInStatusRetention.getSeconds();
+        // 집계 구간이 남아 있는 동안은 재전달된 이벤트를 걸러냄
+        this.appliedRetentionSeconds = Math.max(transitionRetentionSeconds, timeInStatusRetentionSeconds);
+    }
+
+    @Override
+    public String name() {
+        return "orderAnalytics";
+    }
+
+    @Override
+    public boolean perInstance() {
+        return false;
+    }
+
+    @Override
+    public void apply(OrderEventDTO event) {
+        boolean hasTimeInStatus = event.getFromStatus() != null
+                && event.getFromEventTime() > 0
+                && !event.getFromStatus().equals(event.getToStatus())
+                && event.getEventTime() >= event.getFromEventTime();
+
+        List<String> keys = new ArrayList<>(3);
+        keys.add(APPLIED_PREFIX + (event.getEventTime() / 3600));
+        keys.add(TRANSITIONS_PREFIX + (event.getEventTime() / 60));
+        String fromStatus = "";
+        String bucket = "";
+        long seconds = 0;
+        if (hasTimeInStatus) {
+            keys.add(TIME_IN_STATUS_PREFIX + (event.getEventTime() / 3600));
+            fromStatus = event.getFromStatus();
+            seconds = event.getEventTime() - event.getFromEventTime();
+            bucket = bucketLabel(seconds);
+        }
+        stringRedisTemplate.execute(APPLY_SCRIPT, keys, event.getId(), String.valueOf(appliedRetentionSeconds),
+                event.getToStatus(), String.valueOf(transitionRetentionSeconds),
+                fromStatus, bucket, String.valueOf(seconds), String.valueOf(timeInStatusRetentionSeconds));
+    }
+
+    @Override
+    public void reset() {
+        List<String> batch = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(ANALYTICS_PREFIX + "*").count(1000).build();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == 500) {
+                    stringRedisTemplate.unlink(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            stringRedisTemplate.unlink(batch);
+        }
+    }
+
+    /**
+     * 최근 minutes분의 분당 전이 건수와 최근 hours시간의 상태별 체류 시간 분포를 조회하는 메서드입니다.
+     * minutes + hours 개의 해시를 파이프라인 한 번으로 읽습니다.
+     */
+    public OrderAnalyticsDTO getAnalytics(int minutes, int hours) {
+        return getAnalytics(minutes, hours, LocalDateTime.now().toEpochSecond(ZoneOffset.UTC));
+    }
+
+    OrderAnalyticsDTO getAnalytics(int minutes, int hours, long nowSeconds) {
+        long toMinute = nowSeconds / 60;
+        long fromMinute = toMinute - minutes + 1;
+        long toHour = nowSeconds / 3600;
+        long fromHour = toHour - hours + 1;
+
+        List<String> keys = new ArrayList<>(minutes + hours);
+        for (long minute = fromMinute; minute <= toMinute; minute++) {
+            keys.add(TRANSITIONS_PREFIX + minute);
+        }
+        for (long hour = fromHour; hour <= toHour; hour++) {
+            keys.add(TIME_IN_STATUS_PREFIX + hour);
+        }
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (String key : keys) {
+                redis.hGetAll(key);
+            }
+            return null;
+        });
+
+        Map<String, Map<String, Long>> perMinute = new LinkedHashMap<>();
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (int i = 0; i < minutes; i++) {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            asMap(results.get(i)).forEach((status, count) -> {
+                long value = Long.parseLong(count);
+                counts.put(status, value);
+                totals.merge(status, value, Long::sum);
+            });
+            perMinute.put(formatMinute(fromMinute + i), counts);
+        }
+
+        // 상태별로 시간 구간들을 합산: status -> (field -> count)
+        Map<String, Map<String, Long>> merged = new LinkedHashMap<>();
+        for (int i = minutes; i < results.size(); i++) {
+            asMap(results.get(i)).forEach((field, value) -> {
+                int separator = field.lastIndexOf('|');
+                if (separator > 0) {
+                    merged.computeIfAbsent(field.substring(0, separator), k -> new LinkedHashMap<>())
+                            .merge(field.substring(separator + 1), Long.parseLong(value), Long::sum);
+                }
+            });
+        }
+        Map<String, TimeInStatusDTO> timeInStatus = new LinkedHashMap<>();
+        merged.forEach((status, fields) -> timeInStatus.put(status, toTimeInStatus(fields)));
+
+        return OrderAnalyticsDTO.builder()
+                .from(formatMinute(fromMinute))
+                .to(formatMinute(toMinute))
+                .transitionsPerMinute(perMinute)
+                .transitionTotals(totals)
+                .timeInStatus(timeInStatus)
+                .build();
+    }
+
+    private TimeInStatusDTO toTimeInStatus(Map<String, Long> fields) {
+        long count = fields.getOrDefault("count", 0L);
+        long sum = fields.getOrDefault("sum", 0L);
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        for (long bound : BUCKET_BOUNDS) {
+            buckets.put("le_" + bound, fields.getOrDefault("le_" + bound, 0L));
+        }
+        buckets.put(INF_BUCKET, fields.getOrDefault(INF_BUCKET, 0L));
+        return TimeInStatusDTO.builder()
+                .count(count)
+                .meanSeconds(count == 0 ? 0 : (double) sum / count)
+                .p50(percentileBucket(buckets, count, 0.5))
+                .p90(percentileBucket(buckets, count, 0.9))
+                .buckets(buckets)
+                .build();
+    }
+
+    // 누적 건수가 전체의 ratio 이상이 되는 첫 구간
+    private String percentileBucket(Map<String, Long> buckets, long count, double ratio) {
+        if (count == 0) {
+            return null;
+        }
+        long threshold = (long) Math.ceil(count * ratio);
+        long cumulative = 0;
+        for (Map.Entry<String, Long> bucket : buckets.entrySet()) {
+            cumulative += bucket.getValue();
+            if (cumulative >= threshold) {
+                return bucket.getKey();
+            }
+        }
+        return INF_BUCKET;
+    }
+
+    private static String bucketLabel(long seconds) {
+        for (long bound : BUCKET_BOUNDS) {
+            if (seconds <= bound) {
+                return "le_" + bound;
+            }
+        }
+        return INF_BUCKET;
+    }
+
+    private static String formatMinute(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC).format(MINUTE_FORMAT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> asMap(Object result) {
+        return result instanceof Map<?, ?> map ? (Map<String, String>) map : Map.of();
+    }
+}
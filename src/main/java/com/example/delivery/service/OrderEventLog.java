@@ -0,0 +1,91 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.OrderEventDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 수락된 주문 상태 전이를 Redis Stream(orderEvents)에 순서대로 기록하는 서비스입니다.
+ * 스트림은 MAXLEN ~ 로 길이를 제한하며, 상태 인덱스·집계 등 읽기 모델은
+ * OrderEventProcessor가 소비 그룹으로 이 스트림을 읽어 갱신합니다.
+ */
+@Service
+@Slf4j
+public class OrderEventLog {
+
+    static final String ORDER_EVENTS_STREAM_KEY = "orderEvents";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final long maxStreamLength;
+
+    public OrderEventLog(StringRedisTemplate stringRedisTemplate,
+                         @Value("${order-events.max-stream-length:100000}") long maxStreamLength) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.maxStreamLength = maxStreamLength;
+    }
+
+    /**
+     * 상태 전이 하나를 스트림 끝에 추가합니다.
+     * 주문 상태는 이미 저장된 뒤이므로 실패해도 예외를 던지지 않고 로그만 남깁니다.
+     * (읽기 모델은 재생으로 다시 만들 수 있습니다)
+     */
+    public void append(OrderEventDTO event) {
+        try {
+            Map<String, String> fields = toFields(event);
+            RecordId recordId = stringRedisTemplate.execute((RedisCallback<RecordId>) connection ->
+                    ((StringRedisConnection) connection).xAdd(
+                            StreamRecords.string(fields).withStreamKey(ORDER_EVENTS_STREAM_KEY),
+                            XAddOptions.maxlen(maxStreamLength).approximateTrimming(true)));
+            log.debug("Order event appended: id={}, orderId={}, {} -> {}",
+                    recordId, event.getOrderId(), event.getFromStatus(), event.getToStatus());
+        } catch (Exception e) {
+            log.error("Failed to append order event: orderId={}, status={}, error={}",
+                    event.getOrderId(), event.getToStatus(), e.getMessage(), e);
+        }
+    }
+
+    static Map<String, String> toFields(OrderEventDTO event) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("orderId", event.getOrderId());
+        fields.put("toStatus", event.getToStatus());
+        fields.put("eventTime", String.valueOf(event.getEventTime()));
+        fields.put("recordedAt", String.valueOf(event.getRecordedAt()));
+        if (event.getUserId() != null) {
+            fields.put("userId", event.getUserId());
+        }
+        if (event.getRiderId() != null) {
+            fields.put("riderId", event.getRiderId());
+        }
+        if (event.getFromStatus() != null) {
+            fields.put("fromStatus", event.getFromStatus());
+            fields.put("fromEventTime", String.valueOf(event.getFromEventTime()));
+        }
+        return fields;
+    }
+
+    static OrderEventDTO fromRecord(MapRecord<String, String, String> record) {
+        Map<String, String> fields = record.getValue();
+        return OrderEventDTO.builder()
+                .id(record.getId().getValue())
+                .orderId(fields.get("orderId"))
+                .userId(fields.get("userId"))
+                .riderId(fields.get("riderId"))
+                .fromStatus(fields.get("fromStatus"))
+                .fromEventTime(Long.parseLong(fields.getOrDefault("fromEventTime", "0")))
+                .toStatus(fields.get("toStatus"))
+                .eventTime(Long.parseLong(fields.getOrDefault("eventTime", "0")))
+                .recordedAt(Long.parseLong(fields.getOrDefault("recordedAt", "0")))
+                .build();
+    }
+}
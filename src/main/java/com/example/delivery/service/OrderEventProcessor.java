@@ -0,0 +1,419 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.OrderEventDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamReadRequest;
+import org.springframework.data.redis.stream.Subscription;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * orderEvents 스트림을 구독해 등록된 OrderEventProjection들에 이벤트를 전달하는 서비스입니다.
+ * 공유 projection은 이름과 같은 소비 그룹을 레플리카끼리 나눠 읽고(처리 후 XACK, 그룹이 진행 위치를 기억),
+ * 인스턴스 projection은 Redis에서 현재 상태를 읽어 채운 뒤(loadSnapshot) 그 시점 이후 이벤트만 각자 읽습니다.
+ * 소비 그룹 생성과 구독은 백그라운드에서 하고 실패하면 주기적으로 다시 시도하므로 Redis 없이도 기동합니다.
+ * 공유 projection을 rebuild할 때는 Redis 잠금(orderEvents:rebuild:{name})으로 모든 레플리카의 소비를 멈춘 뒤 그룹을 다시 만듭니다.
+ */
+@Service
+@Slf4j
+public class OrderEventProcessor implements SmartLifecycle {
+
+    private static final String STREAM_KEY = OrderEventLog.ORDER_EVENTS_STREAM_KEY;
+    // 공유 projection rebuild 잠금(값은 rebuild하는 소비자)과, 그 동안 소비를 멈췄다고 알린 소비자 목록
+    static final String REBUILD_LOCK_PREFIX = "orderEvents:rebuild:";
+    static final String REBUILD_PAUSED_PREFIX = "orderEvents:rebuildPaused:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private final Map<String, OrderEventProjection> projections = new LinkedHashMap<>();
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+    // 공유 projection별 적용 잠금 (적용은 읽기 잠금, rebuild로 멈출 때는 쓰기 잠금으로 진행 중인 적용이 끝나길 기다림)
+    private final Map<String, ReentrantReadWriteLock> applyLocks = new ConcurrentHashMap<>();
+    // rebuild 때문에 이 인스턴스에서 소비를 멈춘 공유 projection
+    private final Set<String> paused = ConcurrentHashMap.newKeySet();
+    private final String consumerName;
+
+    @Value("${order-events.poll-timeout-ms:1000}")
+    private long pollTimeoutMs;
+
+    @Value("${order-events.batch-size:100}")
+    private int batchSize;
+
+    @Value("${order-events.claim-idle-ms:60000}")
+    private long claimIdleMs;
+
+    @Value("${order-events.max-deliveries:5}")
+    private long maxDeliveries;
+
+    @Value("${order-events.rebuild-pause-timeout-ms:30000}")
+    private long rebuildPauseTimeoutMs;
+
+    @Value("${order-events.rebuild-check-ms:1000}")
+    private long rebuildCheckMs;
+
+    private StreamMessageListenerContainer<String, MapRecord<String, String, String>> container;
+    private volatile boolean running;
+
+    public OrderEventProcessor(StringRedisTemplate stringRedisTemplate,
+                               RedisConnectionFactory connectionFactory,
+                               List<OrderEventProjection> projections,
+                               @Value("${order-events.consumer-name:${HOSTNAME:local}}") String consumerName) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.connectionFactory = connectionFactory;
+        this.consumerName = consumerName;
+        for (OrderEventProjection projection : projections) {
+            this.projections.put(projection.name(), projection);
+            if (!projection.perInstance()) {
+                applyLocks.put(projection.name(), new ReentrantReadWriteLock());
+            }
+        }
+    }
+
+    // 구독은 subscribeMissing이 백그라운드에서 시작 (Redis에 연결하지 않음)
+    @Override
+    public void start() {
+        StreamMessageListenerContainerOptions<String, MapRecord<String, String, String>> options =
+                StreamMessageListenerContainerOptions.builder()
+                        .pollTimeout(Duration.ofMillis(pollTimeoutMs))
+                        .batchSize(batchSize)
+                        .build();
+        container = StreamMessageListenerContainer.create(connectionFactory, options);
+        container.start();
+        running = true;
+        log.info("Order event processor started: consumer={}, projections={}", consumerName, projections.keySet());
+    }
+
+    /**
+     * 아직 구독하지 못한 projection의 소비 그룹을 만들거나 스냅샷을 읽은 뒤 구독합니다.
+     * Redis에 연결할 수 없으면 로그만 남기고 다음 주기에 다시 시도합니다.
+     */
+    @Scheduled(fixedDelayString = "${order-events.subscribe-retry-ms:5000}")
+    public synchronized void subscribeMissing() {
+        if (!running) {
+            return;
+        }
+        for (OrderEventProjection projection : projections.values()) {
+            if (subscriptions.containsKey(projection.name()) || paused.contains(projection.name())) {
+                continue;
+            }
+            try {
+                subscribe(projection);
+                log.info("Projection subscribed: {}", projection.name());
+            } catch (Exception e) {
+                log.warn("Failed to subscribe projection, will retry: projection={}, error={}", projection.name(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (container != null) {
+            container.stop();
+        }
+        subscriptions.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * projection을 비우고 다시 만듭니다.
+     * 공유 projection은 rebuild 잠금을 잡아 모든 레플리카가 소비를 멈추고(진행 중인 적용까지 끝내고) 알릴 때까지 기다린 뒤,
+     * 소비 그룹을 지우고 비운 다음 0부터 다시 만들어 스트림에 남은 이벤트를 재생합니다. 다른 레플리카는 잠금이 풀리면 새 그룹으로 이어서 읽습니다.
+     * 정해진 시간 안에 멈추지 않은 레플리카가 있으면 아무것도 지우지 않고 IllegalStateException을 던집니다.
+     * 인스턴스 projection은 스냅샷을 다시 읽고 그 이후 이벤트부터 받습니다.
+     *
+     * @return 등록되지 않은 이름이면 false
+     */
+    public synchronized boolean rebuild(String name) {
+        OrderEventProjection projection = projections.get(name);
+        if (projection == null || container == null) {
+            return false;
+        }
+        if (projection.perInstance()) {
+            Subscription subscription = subscriptions.remove(name);
+            if (subscription != null) {
+                subscription.cancel();
+            }
+            projection.reset();
+        } else {
+            rebuildShared(projection);
+        }
+        // 실패하면 subscribeMissing이 다시 구독
+        subscribe(projection);
+        log.info("🔄 Projection rebuild started: {}", name);
+        return true;
+    }
+
+    private void rebuildShared(OrderEventProjection projection) {
+        String name = projection.name();
+        String lockKey = REBUILD_LOCK_PREFIX + name;
+        String pausedKey = REBUILD_PAUSED_PREFIX + name;
+        // rebuild하던 인스턴스가 죽어도 다른 레플리카가 멈춘 채로 남지 않도록 잠금에 만료 시간을 둠
+        Duration lockTtl = Duration.ofMillis(rebuildPauseTimeoutMs).plusMinutes(1);
+        if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(lockKey, consumerName, lockTtl))) {
+            throw new IllegalStateException("Projection rebuild already in progress: " + name);
+        }
+        try {
+            pause(name);
+            stringRedisTemplate.opsForSet().add(pausedKey, consumerName);
+            stringRedisTemplate.expire(pausedKey, lockTtl);
+            if (!awaitConsumersPaused(name, pausedKey)) {
+                throw new IllegalStateException("Timed out waiting for order event consumers to pause: " + name);
+            }
+            stringRedisTemplate.opsForStream().destroyGroup(STREAM_KEY, name);
+            projection.reset();
+        } finally {
+            stringRedisTemplate.delete(List.of(lockKey, pausedKey));
+            paused.remove(name);
+        }
+    }
+
+    /**
+     * 다른 레플리카가 시작한 공유 projection rebuild를 따라갑니다.
+     * 잠금이 있으면 소비를 멈추고 멈췄다고 알리며, 잠금이 풀리면 다시 구독하도록 멈춤을 해제합니다.
+     */
+    @Scheduled(fixedDelayString = "${order-events.rebuild-check-ms:1000}")
+    public synchronized void followRebuilds() {
+        if (!running) {
+            return;
+        }
+        for (OrderEventProjection projection : projections.values()) {
+            if (projection.perInstance()) {
+                continue;
+            }
+            String name = projection.name();
+            try {
+                if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(REBUILD_LOCK_PREFIX + name))) {
+                    if (paused.add(name)) {
+                        log.info("⏸️ Pausing projection for rebuild: {}", name);
+                    }
+                    pause(name);
+                    stringRedisTemplate.opsForSet().add(REBUILD_PAUSED_PREFIX + name, consumerName);
+                } else if (paused.remove(name)) {
+                    subscribe(projection);
+                    log.info("▶️ Projection resumed after rebuild: {}", name);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to check projection rebuild: projection={}, error={}", name, e.getMessage());
+            }
+        }
+    }
+
+    // 구독을 끊고, 이미 전달받아 적용 중인 이벤트가 끝날 때까지 기다림 (이후 전달되는 이벤트는 handle에서 건너뜀)
+    private void pause(String name) {
+        paused.add(name);
+        Subscription subscription = subscriptions.remove(name);
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        ReentrantReadWriteLock.WriteLock lock = applyLocks.get(name).writeLock();
+        lock.lock();
+        lock.unlock();
+    }
+
+    // 그룹에서 최근 claim-idle-ms 안에 활동한 소비자가 모두 멈췄다고 알릴 때까지 기다림 (오래 조용한 소비자는 죽은 레플리카로 봄)
+    private boolean awaitConsumersPaused(String group, String pausedKey) {
+        long deadline = System.currentTimeMillis() + rebuildPauseTimeoutMs;
+        while (true) {
+            Set<String> pausedConsumers = stringRedisTemplate.opsForSet().members(pausedKey);
+            if (pausedConsumers != null && pausedConsumers.containsAll(liveConsumers(group))) {
+                return true;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(rebuildCheckMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private List<String> liveConsumers(String group) {
+        try {
+            return stringRedisTemplate.opsForStream().consumers(STREAM_KEY, group).stream()
+                    .filter(consumer -> consumer.idleTimeMs() < claimIdleMs)
+                    .map(StreamInfo.XInfoConsumer::consumerName)
+                    .toList();
+        } catch (RedisSystemException e) {
+            // 그룹이 아직 없으면 멈출 소비자도 없음
+            return List.of();
+        }
+    }
+
+    /**
+     * 등록된 projection과 소비 그룹의 진행 상황(pending 수, 마지막 전달 ID)을 반환합니다.
+     */
+    public Map<String, Map<String, Object>> getStatus() {
+        Map<String, StreamInfo.XInfoGroup> groups = new LinkedHashMap<>();
+        try {
+            stringRedisTemplate.opsForStream().groups(STREAM_KEY)
+                    .forEach(group -> groups.put(group.groupName(), group));
+        } catch (RedisSystemException e) {
+            log.debug("Order event stream not created yet: {}", e.getMessage());
+        }
+        Map<String, Map<String, Object>> status = new LinkedHashMap<>();
+        projections.forEach((name, projection) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("perInstance", projection.perInstance());
+            entry.put("subscribed", subscriptions.containsKey(name));
+            StreamInfo.XInfoGroup group = groups.get(name);
+            if (group != null) {
+                entry.put("pending", group.pendingCount());
+                entry.put("lastDeliveredId", group.lastDeliveredId());
+            }
+            status.put(name, entry);
+        });
+        return status;
+    }
+
+    /**
+     * 죽은 레플리카가 받아 두고 처리하지 못한 이벤트를 가져와 다시 처리합니다.
+     * 여러 번 실패한 이벤트는 로그를 남기고 ACK해 그룹 진행을 막지 않습니다.
+     */
+    @Scheduled(fixedDelayString = "${order-events.claim-interval-ms:30000}", initialDelayString = "${order-events.claim-interval-ms:30000}")
+    public void claimStalePending() {
+        if (!running) {
+            return;
+        }
+        for (OrderEventProjection projection : projections.values()) {
+            if (projection.perInstance() || paused.contains(projection.name())) {
+                continue;
+            }
+            try {
+                claimStalePending(projection);
+            } catch (Exception e) {
+                log.warn("Failed to claim pending order events: projection={}, error={}", projection.name(), e.getMessage());
+            }
+        }
+    }
+
+    private void claimStalePending(OrderEventProjection projection) {
+        String group = projection.name();
+        PendingMessages pending = stringRedisTemplate.opsForStream().pending(STREAM_KEY, group, Range.unbounded(), batchSize);
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().toMillis() < claimIdleMs) {
+                continue;
+            }
+            if (message.getTotalDeliveryCount() > maxDeliveries) {
+                log.error("Dropping order event after {} deliveries: projection={}, id={}",
+                        message.getTotalDeliveryCount(), group, message.getIdAsString());
+                stringRedisTemplate.opsForStream().acknowledge(STREAM_KEY, group, message.getId());
+                continue;
+            }
+            List<MapRecord<String, String, String>> claimed = stringRedisTemplate.<String, String>opsForStream()
+                    .claim(STREAM_KEY, group, consumerName, Duration.ofMillis(claimIdleMs), message.getId());
+            for (MapRecord<String, String, String> record : claimed) {
+                handle(projection, record);
+            }
+        }
+    }
+
+    private void subscribe(OrderEventProjection projection) {
+        String name = projection.name();
+        StreamReadRequest<String> request;
+        if (projection.perInstance()) {
+            request = StreamReadRequest.builder(StreamOffset.create(STREAM_KEY, snapshotOffset(projection)))
+                    .cancelOnError(e -> false)
+                    .errorHandler(e -> log.warn("Order event read failed: projection={}, error={}", name, e.getMessage()))
+                    .build();
+        } else {
+            createGroup(name, ReadOffset.from("0-0"));
+            request = StreamReadRequest.builder(StreamOffset.create(STREAM_KEY, ReadOffset.lastConsumed()))
+                    .consumer(Consumer.from(name, consumerName))
+                    .autoAcknowledge(false)
+                    .cancelOnError(e -> false)
+                    .errorHandler(e -> log.warn("Order event read failed: projection={}, error={}", name, e.getMessage()))
+                    .build();
+        }
+        subscriptions.put(name, container.register(request, record -> handle(projection, record)));
+    }
+
+    /**
+     * 스트림의 마지막 이벤트 ID를 먼저 읽고 나서 스냅샷을 채우고, 그 ID 이후부터 읽도록 합니다.
+     * 스냅샷을 읽는 사이에 들어온 이벤트는 스냅샷과 스트림 양쪽에 반영될 수 있으므로 인스턴스 projection의 apply는 멱등이어야 합니다.
+     */
+    ReadOffset snapshotOffset(OrderEventProjection projection) {
+        List<MapRecord<String, Object, Object>> last = stringRedisTemplate.opsForStream()
+                .reverseRange(STREAM_KEY, Range.unbounded(), Limit.limit().count(1));
+        String lastId = last == null || last.isEmpty() ? "0-0" : last.get(0).getId().getValue();
+        projection.loadSnapshot();
+        return ReadOffset.from(lastId);
+    }
+
+    // rebuild로 멈춘 공유 projection에 뒤늦게 전달된 이벤트는 적용·ACK하지 않음 (이전 그룹과 함께 지워지고 새 그룹이 처음부터 재생)
+    void handle(OrderEventProjection projection, MapRecord<String, String, String> record) {
+        if (projection.perInstance()) {
+            apply(projection, record);
+            return;
+        }
+        ReentrantReadWriteLock.ReadLock lock = applyLocks.get(projection.name()).readLock();
+        lock.lock();
+        try {
+            if (!paused.contains(projection.name())) {
+                apply(projection, record);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 공유 projection은 적용에 성공한 이벤트만 ACK (실패하면 pending에 남아 claimStalePending이 재시도)
+    private void apply(OrderEventProjection projection, MapRecord<String, String, String> record) {
+        try {
+            OrderEventDTO event = OrderEventLog.fromRecord(record);
+            projection.apply(event);
+            if (!projection.perInstance()) {
+                stringRedisTemplate.opsForStream().acknowledge(STREAM_KEY, projection.name(), record.getId());
+            }
+        } catch (Exception e) {
+            log.error("Projection failed to apply order event: projection={}, id={}, error={}",
+                    projection.name(), record.getId(), e.getMessage(), e);
+        }
+    }
+
+    // 스트림이 없으면 함께 만들고(MKSTREAM), 이미 있는 그룹이면 무시
+    private void createGroup(String group, ReadOffset offset) {
+        try {
+            stringRedisTemplate.execute((RedisCallback<String>) connection ->
+                    ((StringRedisConnection) connection).xGroupCreate(STREAM_KEY, offset, group, true));
+        } catch (RedisSystemException e) {
+            String message = e.getMostSpecificCause().getMessage();
+            if (message == null || !message.contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+}
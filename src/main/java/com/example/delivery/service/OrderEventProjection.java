@@ -0,0 +1,37 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.OrderEventDTO;
+
+/**
+ * orderEvents 스트림을 읽어 갱신되는 읽기 모델(projection)입니다.
+ * 빈으로 등록하면 OrderEventProcessor가 자동으로 구독하므로 SQS 리스너를 수정할 필요가 없습니다.
+ * 같은 이벤트가 다시 전달될 수 있으므로(재시작, 재생) apply는 가능한 한 멱등이어야 합니다.
+ */
+public interface OrderEventProjection {
+
+    /**
+     * 소비 그룹 이름 등에 쓰이는 고유 이름
+     */
+    String name();
+
+    /**
+     * true면 모든 레플리카가 각자 전체 이벤트를 받고(인스턴스 메모리 모델),
+     * false면 하나의 소비 그룹을 나눠 읽어 레플리카 중 하나만 처리합니다(Redis 공유 모델).
+     */
+    boolean perInstance();
+
+    void apply(OrderEventDTO event);
+
+    /**
+     * 재구성 전에 읽기 모델을 비웁니다.
+     */
+    void reset();
+
+    /**
+     * 인스턴스 projection이 구독을 시작하기 직전에 현재 상태를 Redis 주문 해시 등에서 읽어 채웁니다.
+     * 인스턴스 projection은 스트림을 처음부터 재생하지 않고 이 스냅샷 이후의 이벤트만 받습니다.
+     * 실패하면 예외를 던지며, OrderEventProcessor가 다음 주기에 다시 시도합니다.
+     */
+    default void loadSnapshot() {
+    }
+}
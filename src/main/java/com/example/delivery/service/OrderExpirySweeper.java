@@ -0,0 +1,218 @@
+package com.example.delivery.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 전역 주문 해시와 orderTimestamps:* ZSet에 남아 있는 만료 주문을 회수하는 백그라운드 작업입니다.
+ * ZSet 점수(상태 전이 시각)가 TTL보다 오래된 주문을 작은 배치 단위로 나누어 배달끝과 같은 경로로 닫고,
+ * 가끔(orphan-scan-interval-ms) 주문 해시를 훑어 ZSet 항목 없이 해시 필드만 남은 주문도 회수합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderExpirySweeper {
+
+    private static final String LOCK_KEY = "orderSweeper:lock";
+    private static final List<String> ORDER_HASH_KEYS = List.of(SQSService.REDIS_ORDER_STATUSES_KEY,
+            SQSService.REDIS_ORDER_BODIES_KEY, SQSService.REDIS_ORDER_USER_IDS_KEY, SQSService.REDIS_ORDER_RIDER_IDS_KEY);
+
+    // 내 락일 때만 삭제 (락 TTL이 지나 다른 인스턴스가 얻은 락을 지우지 않도록 비교와 삭제를 한 번에)
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final SQSService sqsService;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong totalReclaimed = new AtomicLong();
+    // 지난 고아 검사에서 찾은 주문 (상태 전이 도중의 일시적인 빈 상태를 회수하지 않도록 두 번 연속 찾은 주문만 회수)
+    private Set<String> orphanCandidates = Set.of();
+    private long lastOrphanScanAt;
+
+    @Value("${order.sweeper.ttl:P1D}")
+    private Duration ttl;
+
+    @Value("${order.sweeper.batch-size:200}")
+    private int batchSize;
+
+    @Value("${order.sweeper.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    @Value("${order.sweeper.batch-pause-ms:50}")
+    private long batchPauseMs;
+
+    @Value("${order.sweeper.lock-ttl:PT5M}")
+    private Duration lockTtl;
+
+    @Value("${order.sweeper.orphan-scan-interval-ms:3600000}")
+    private long orphanScanIntervalMs;
+
+    /**
+     * 주기적으로 만료 주문을 회수합니다.
+     * 여러 레플리카 중 락을 얻은 하나만 실행하며, 락을 얻지 못하면 이번 주기는 건너뜁니다.
+     */
+    @Scheduled(fixedDelayString = "${order.sweeper.interval-ms:60000}",
+            initialDelayString = "${order.sweeper.initial-delay-ms:30000}")
+    public void scheduledSweep() {
+        sweep();
+    }
+
+    /**
+     * 만료 주문을 한 차례 회수하고 회수한 주문 수를 반환합니다.
+     * 다른 인스턴스가 이미 실행 중이면 0을 반환합니다.
+     */
+    public int sweep() {
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, instanceId, lockTtl);
+        if (!Boolean.TRUE.equals(acquired)) {
+            log.debug("Order sweeper skipped: another instance holds the lock");
+            return 0;
+        }
+
+        long startedAt = System.currentTimeMillis();
+        int reclaimed = 0;
+        try {
+            double cutoff = LocalDateTime.now().minus(ttl).toEpochSecond(ZoneOffset.UTC);
+            int budget = maxBatchesPerRun;
+            for (String zSetKey : scanTimestampKeys()) {
+                if (budget <= 0) {
+                    break;
+                }
+                String status = zSetKey.substring(SQSService.REDIS_ORDER_TIMESTAMPS_PREFIX.length());
+                while (budget > 0) {
+                    Set<Object> expired = redisTemplate.opsForZSet()
+                            .rangeByScore(zSetKey, Double.NEGATIVE_INFINITY, cutoff, 0, batchSize);
+                    if (expired == null || expired.isEmpty()) {
+                        break;
+                    }
+                    budget--;
+                    for (Object orderId : expired) {
+                        if (sqsService.reclaimExpiredOrder(zSetKey, status, (String) orderId)) {
+                            reclaimed++;
+                        }
+                    }
+                    if (expired.size() < batchSize) {
+                        break;
+                    }
+                    pauseBetweenBatches();
+                }
+            }
+            if (System.currentTimeMillis() - lastOrphanScanAt >= orphanScanIntervalMs) {
+                reclaimed += reclaimOrphans();
+                lastOrphanScanAt = System.currentTimeMillis();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Order sweeper failed: reclaimedSoFar={}, error={}", reclaimed, e.getMessage(), e);
+        } finally {
+            releaseLock();
+        }
+
+        long total = totalReclaimed.addAndGet(reclaimed);
+        if (reclaimed > 0) {
+            log.info("🧹 Order sweeper reclaimed {} expired orders in {}ms (total={})",
+                    reclaimed, System.currentTimeMillis() - startedAt, total);
+        }
+        return reclaimed;
+    }
+
+    /**
+     * 이 인스턴스가 시작된 이후 회수한 주문 수의 누적값입니다.
+     */
+    public long getTotalReclaimed() {
+        return totalReclaimed.get();
+    }
+
+    private List<String> scanTimestampKeys() {
+        List<String> keys = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(SQSService.REDIS_ORDER_TIMESTAMPS_PREFIX + "*")
+                .count(100)
+                .build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(keys::add);
+        }
+        return keys;
+    }
+
+    /**
+     * 주문 해시를 HSCAN으로 훑어 상태 ZSet에 항목이 없는 주문을 찾고, 지난 검사에서도 찾은 주문만 회수합니다.
+     */
+    private int reclaimOrphans() throws InterruptedException {
+        Set<String> orderIds = new LinkedHashSet<>();
+        for (String hashKey : ORDER_HASH_KEYS) {
+            ScanOptions options = ScanOptions.scanOptions().count(batchSize).build();
+            try (Cursor<Map.Entry<Object, Object>> cursor = redisTemplate.opsForHash().scan(hashKey, options)) {
+                cursor.forEachRemaining(entry -> orderIds.add((String) entry.getKey()));
+            }
+        }
+
+        Set<String> orphans = new HashSet<>();
+        List<String> batch = new ArrayList<>(batchSize);
+        for (String orderId : orderIds) {
+            batch.add(orderId);
+            if (batch.size() == batchSize) {
+                orphans.addAll(sqsService.findOrphanedOrders(batch));
+                batch.clear();
+                pauseBetweenBatches();
+            }
+        }
+        if (!batch.isEmpty()) {
+            orphans.addAll(sqsService.findOrphanedOrders(batch));
+        }
+
+        int reclaimed = 0;
+        Set<String> nextCandidates = new HashSet<>();
+        for (String orderId : orphans) {
+            if (!orphanCandidates.contains(orderId)) {
+                nextCandidates.add(orderId);
+            } else if (sqsService.reclaimOrphanedOrder(orderId)) {
+                reclaimed++;
+            }
+        }
+        orphanCandidates = nextCandidates;
+        if (reclaimed > 0 || !nextCandidates.isEmpty()) {
+            log.info("🧹 Orphaned orders: reclaimed={}, pendingConfirmation={}", reclaimed, nextCandidates.size());
+        }
+        return reclaimed;
+    }
+
+    private void pauseBetweenBatches() throws InterruptedException {
+        if (batchPauseMs > 0) {
+            Thread.sleep(batchPauseMs);
+        }
+    }
+
+    private void releaseLock() {
+        try {
+            redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(LOCK_KEY), instanceId);
+        } catch (Exception e) {
+            log.warn("Failed to release order sweeper lock: {}", e.getMessage());
+        }
+    }
+}
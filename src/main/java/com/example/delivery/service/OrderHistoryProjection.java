@@ -0,0 +1,104 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.OrderEventDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 주문별 상태 전이 이력(orderHistory:{orderId})을 유지하는 projection입니다.
+ * 이벤트 JSON을 스트림 ID 순서의 ZSet 멤버로 저장하므로 같은 이벤트가 다시 와도 중복되지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderHistoryProjection implements OrderEventProjection {
+
+    static final String ORDER_HISTORY_PREFIX = "orderHistory:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${order-events.history-ttl:P1D}")
+    private Duration historyTtl;
+
+    @Override
+    public String name() {
+        return "orderHistory";
+    }
+
+    @Override
+    public boolean perInstance() {
+        return false;
+    }
+
+    @Override
+    public void apply(OrderEventDTO event) {
+        String key = ORDER_HISTORY_PREFIX + event.getOrderId();
+        String member = write(event);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            redis.zAdd(key, event.getRecordedAt(), member);
+            redis.expire(key, historyTtl.getSeconds());
+            return null;
+        });
+    }
+
+    @Override
+    public void reset() {
+        List<String> batch = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(ORDER_HISTORY_PREFIX + "*").count(1000).build();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == 500) {
+                    stringRedisTemplate.unlink(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            stringRedisTemplate.unlink(batch);
+        }
+    }
+
+    /**
+     * 주문 하나의 상태 전이 이력을 시간순으로 조회하는 메서드입니다.
+     */
+    public List<OrderEventDTO> getHistory(String orderId) {
+        Set<String> members = stringRedisTemplate.opsForZSet().range(ORDER_HISTORY_PREFIX + orderId, 0, -1);
+        if (members == null) {
+            return List.of();
+        }
+        List<OrderEventDTO> history = new ArrayList<>(members.size());
+        for (String member : members) {
+            try {
+                history.add(objectMapper.readValue(member, OrderEventDTO.class));
+            } catch (JsonProcessingException e) {
+                log.warn("Invalid order history entry: orderId={}, entry={}", orderId, member);
+            }
+        }
+        return history;
+    }
+
+    private String write(OrderEventDTO event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize order event: " + event.getId(), e);
+        }
+    }
+}
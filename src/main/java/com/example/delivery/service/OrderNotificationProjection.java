@@ -0,0 +1,125 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.OrderEventDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 주문 상태 전이를 주문한 사용자와 담당 라이더의 알림함(orderNotifications:{id})에 쌓는 projection입니다.
+ * 이벤트 JSON을 기록 시각 점수의 ZSet 멤버로 저장하므로 같은 이벤트가 다시 와도 중복되지 않고,
+ * 받는 사람마다 최근 notifications-max개만 남깁니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderNotificationProjection implements OrderEventProjection {
+
+    static final String NOTIFICATIONS_PREFIX = "orderNotifications:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${order-events.history-ttl:P1D}")
+    private Duration ttl;
+
+    @Value("${order-events.notifications-max:50}")
+    private int maxNotifications;
+
+    @Override
+    public String name() {
+        return "notifications";
+    }
+
+    @Override
+    public boolean perInstance() {
+        return false;
+    }
+
+    @Override
+    public void apply(OrderEventDTO event) {
+        List<String> keys = new ArrayList<>(2);
+        if (isRecipient(event.getUserId(), "defaultUserId")) {
+            keys.add(NOTIFICATIONS_PREFIX + event.getUserId());
+        }
+        if (isRecipient(event.getRiderId(), "defaultRiderId") && !event.getRiderId().equals(event.getUserId())) {
+            keys.add(NOTIFICATIONS_PREFIX + event.getRiderId());
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        String member = write(event);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (String key : keys) {
+                redis.zAdd(key, event.getRecordedAt(), member);
+                // 오래된 것부터 잘라 최근 maxNotifications개만 유지
+                redis.zRemRange(key, 0, -(maxNotifications + 1L));
+                redis.expire(key, ttl.getSeconds());
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void reset() {
+        List<String> batch = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(NOTIFICATIONS_PREFIX + "*").count(1000).build();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == 500) {
+                    stringRedisTemplate.unlink(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            stringRedisTemplate.unlink(batch);
+        }
+    }
+
+    /**
+     * 사용자 또는 라이더가 받은 상태 전이 알림을 최신순으로 조회하는 메서드입니다.
+     */
+    public List<OrderEventDTO> getNotifications(String recipientId) {
+        Set<String> members = stringRedisTemplate.opsForZSet().reverseRange(NOTIFICATIONS_PREFIX + recipientId, 0, -1);
+        if (members == null) {
+            return List.of();
+        }
+        List<OrderEventDTO> notifications = new ArrayList<>(members.size());
+        for (String member : members) {
+            try {
+                notifications.add(objectMapper.readValue(member, OrderEventDTO.class));
+            } catch (JsonProcessingException e) {
+                log.warn("Invalid order notification entry: recipientId={}, entry={}", recipientId, member);
+            }
+        }
+        return notifications;
+    }
+
+    private static boolean isRecipient(String id, String placeholder) {
+        return id != null && !id.isEmpty() && !placeholder.equals(id);
+    }
+
+    private String write(OrderEventDTO event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize order event: " + event.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.delivery.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Service;
+
+/**
+ * 주문·사용자·라이더 단위의 버전 카운터를 관리하는 서비스입니다.
+ * 주문 상태 전이 시 버전을 올리고, 조회 API는 이 값을 ETag로 사용해
+ * 변경이 없으면 Redis 조회 한 번으로 304 응답을 돌려줍니다.
+ * 카운터는 대상별 키(orderVersion:{id} 등)에 두고 마지막 변경 후 ttl-seconds가 지나면 만료됩니다.
+ * 새 카운터는 1이 아니라 현재 시각(ms)에서 시작하므로, 삭제·만료 뒤 같은 ID가 다시 쓰여도
+ * 예전 ETag와 같은 값이 나오지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderVersionService {
+
+    static final String ORDER_VERSION_PREFIX = "orderVersion:";
+    static final String USER_VERSION_PREFIX = "userVersion:";
+    static final String RIDER_VERSION_PREFIX = "riderVersion:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final SingleFlight singleFlight;
+
+    @Value("${order.version.ttl-seconds:604800}")
+    private long ttlSeconds;
+
+    /**
+     * 주문이 변경되었을 때 주문, 사용자, 관련 라이더들의 버전을 한 번의 파이프라인으로 올립니다.
+     */
+    public void bump(String orderId, String userId, String... riderIds) {
+        long seed = System.currentTimeMillis();
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            increment(redis, ORDER_VERSION_PREFIX + orderId, seed);
+            if (userId != null) {
+                increment(redis, USER_VERSION_PREFIX + userId, seed);
+            }
+            for (String riderId : riderIds) {
+                if (riderId != null) {
+                    increment(redis, RIDER_VERSION_PREFIX + riderId, seed);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 주문이 삭제되었을 때 주문·사용자·라이더 버전을 올립니다.
+     * 주문 버전은 지우지 않고 만료에 맡기므로 같은 주문 ID가 다시 쓰여도 버전이 뒤로 가지 않습니다.
+     */
+    public void remove(String orderId, String userId, String... riderIds) {
+        bump(orderId, userId, riderIds);
+    }
+
+    public String orderEtag(String orderId) {
+        return "\"o-" + version(ORDER_VERSION_PREFIX, orderId) + "\"";
+    }
+
+    public String userEtag(String userId) {
+        return "\"u-" + version(USER_VERSION_PREFIX, userId) + "\"";
+    }
+
+    public String riderEtag(String riderId) {
+        return "\"r-" + version(RIDER_VERSION_PREFIX, riderId) + "\"";
+    }
+
+    // 키가 없으면 현재 시각으로 시작한 뒤 1 올리고, 마지막 변경 시점부터 TTL을 다시 잡음
+    private void increment(StringRedisConnection redis, String key, long seed) {
+        redis.set(key, String.valueOf(seed), Expiration.seconds(ttlSeconds), RedisStringCommands.SetOption.SET_IF_ABSENT);
+        redis.incr(key);
+        redis.expire(key, ttlSeconds);
+    }
+
+    // 버전이 없으면 아직 데이터가 없거나 만료된 상태이므로 0으로 취급
+    private String version(String prefix, String id) {
+        // 조회 API마다 먼저 읽는 값이므로 동시 폴링은 GET 한 번으로 합침
+        String version = singleFlight.execute(prefix, id, () -> stringRedisTemplate.opsForValue().get(prefix + id));
+        return version == null ? "0" : version;
+    }
+}
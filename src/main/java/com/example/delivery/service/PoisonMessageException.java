@@ -0,0 +1,16 @@
+package com.example.delivery.service;
+
+/**
+ * 재시도해도 성공할 수 없는 메시지(형식 오류, 필수 값 누락 등)를 나타내는 예외입니다.
+ * 리스너는 이 예외를 영구 실패로 분류해 격리(dead-letter) 대상으로 처리합니다.
+ */
+public class PoisonMessageException extends RuntimeException {
+
+    public PoisonMessageException(String message) {
+        super(message);
+    }
+
+    public PoisonMessageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
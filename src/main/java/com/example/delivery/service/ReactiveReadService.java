@@ -0,0 +1,189 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.BulkLookupResponseDTO;
+import com.example.delivery.dto.ChatResponseDTO;
+import com.example.delivery.dto.OrderResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * /v2 조회 API를 위한 논블로킹 조회 서비스입니다.
+ * 기존 SQSService·LocationService·ChatProducer 조회와 같은 Redis 데이터를 같은 규칙으로 읽지만,
+ * 리액티브 Lettuce 드라이버로 주문별 해시 조회와 상태별 조회를 동시에 보내고 결과를 순서대로 흘려보냅니다.
+ * 요청 스레드는 Redis 응답을 기다리는 동안 묶이지 않습니다.
+ */
+@Service
+@Slf4j
+public class ReactiveReadService {
+
+    private static final Range<Long> ALL = Range.closed(0L, -1L);
+
+    private final ReactiveRedisTemplate<String, String> orderRedisTemplate;
+    private final ReactiveStringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final int concurrency;
+
+    public ReactiveReadService(@Qualifier("reactiveOrderRedisTemplate") ReactiveRedisTemplate<String, String> orderRedisTemplate,
+                               ReactiveStringRedisTemplate stringRedisTemplate,
+                               ObjectMapper objectMapper,
+                               @Value("${read-api.v2.concurrency:64}") int concurrency) {
+        this.orderRedisTemplate = orderRedisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * 특정 상태의 주문을 최신순으로 흘려보냅니다. 주문별 해시 조회는 동시에 보내고 순서는 ZSet 순서를 유지합니다.
+     */
+    public Flux<OrderResponseDTO> getOrdersByStatus(String status) {
+        return orderRedisTemplate.opsForZSet().reverseRange(SQSService.REDIS_ORDER_TIMESTAMPS_PREFIX + status, ALL)
+                .flatMapSequential(this::buildOrder, concurrency);
+    }
+
+    /**
+     * 특정 상태 ZSet에 들어 있는 주문 하나를 조회합니다. ZSet 전체를 읽지 않고 ZSCORE로 소속만 확인합니다.
+     */
+    public Mono<OrderResponseDTO> getOrderByStatusAndId(String orderId, String status) {
+        return orderRedisTemplate.opsForZSet().score(SQSService.REDIS_ORDER_TIMESTAMPS_PREFIX + status, orderId)
+                .flatMap(score -> buildOrder(orderId));
+    }
+
+    public Flux<OrderResponseDTO> getOrdersByOrderId(String orderId) {
+        return getOrderByStatusAndId(orderId, "all").flux();
+    }
+
+    public Flux<OrderResponseDTO> getOrdersByUserId(String userId, String status) {
+        return getOrders(userId, status, SQSService.REDIS_ORDER_USER_IDS_KEY);
+    }
+
+    public Flux<OrderResponseDTO> getDeliveriesByRiderId(String riderId, String status) {
+        return getOrders(riderId, status, SQSService.REDIS_ORDER_RIDER_IDS_KEY);
+    }
+
+    /**
+     * 사용자의 배달중·배달완료 주문을 조회합니다. 두 상태를 동시에 조회한 뒤 기존 API처럼 주문 ID 순으로 정렬합니다.
+     */
+    public Flux<OrderResponseDTO> getUserIdList(String userId) {
+        return getOrdersByMultipleStatuses(userId, List.of("배달중", "배달완료"), SQSService.REDIS_ORDER_USER_IDS_KEY);
+    }
+
+    public Flux<OrderResponseDTO> getRiderIdList(String riderId) {
+        return getOrdersByMultipleStatuses(riderId, List.of("배달중", "배달완료"), SQSService.REDIS_ORDER_RIDER_IDS_KEY);
+    }
+
+    public Mono<Map<String, Double>> getDeliveryLocation(String deliveryPersonId) {
+        return stringRedisTemplate.opsForValue().get(DispatchService.LOCATION_KEY_PREFIX + deliveryPersonId)
+                .flatMap(value -> Mono.justOrEmpty(parseLocation(value)));
+    }
+
+    /**
+     * 여러 배달원 위치를 MGET 한 번으로 조회합니다.
+     */
+    public Mono<BulkLookupResponseDTO<Map<String, Double>>> getDeliveryLocations(List<String> deliveryPersonIds) {
+        List<String> ids = deliveryPersonIds.stream().distinct().toList();
+        List<String> keys = ids.stream().map(id -> DispatchService.LOCATION_KEY_PREFIX + id).toList();
+        return stringRedisTemplate.opsForValue().multiGet(keys).map(values -> {
+            Map<String, Map<String, Double>> found = new LinkedHashMap<>();
+            List<String> notFound = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) {
+                Map<String, Double> location = parseLocation(values.get(i));
+                if (location == null) {
+                    notFound.add(ids.get(i));
+                } else {
+                    found.put(ids.get(i), location);
+                }
+            }
+            return BulkLookupResponseDTO.<Map<String, Double>>builder()
+                    .found(found)
+                    .notFound(notFound)
+                    .build();
+        });
+    }
+
+    /**
+     * 주문의 채팅 메시지 중 fromTimestamp 이후 메시지를 시간순으로 조회합니다.
+     */
+    public Flux<ChatResponseDTO> getMessages(String orderId, long fromTimestamp) {
+        return stringRedisTemplate.opsForList().range(ChatMessageStore.CHAT_KEY_PREFIX + orderId, 0, -1)
+                .flatMap(message -> Mono.justOrEmpty(parseMessage(message)))
+                .filter(message -> message.getTimestamp() > fromTimestamp)
+                .sort(Comparator.comparing(ChatResponseDTO::getTimestamp));
+    }
+
+    // 기존 API는 주문 전체를 만든 뒤 사용자·라이더를 비교하므로, 여기서는 비교할 필드만 먼저 읽고 일치하는 주문만 만듦
+    private Flux<OrderResponseDTO> getOrders(String idFilter, String status, String filterHashKey) {
+        ReactiveHashOperations<String, String, String> hash = orderRedisTemplate.opsForHash();
+        return orderRedisTemplate.opsForZSet().range(SQSService.REDIS_ORDER_TIMESTAMPS_PREFIX + status, ALL)
+                .flatMapSequential(orderId -> hash.get(filterHashKey, orderId)
+                        .filter(idFilter::equals)
+                        .flatMap(matched -> buildOrder(orderId)), concurrency);
+    }
+
+    private Flux<OrderResponseDTO> getOrdersByMultipleStatuses(String idFilter, List<String> statuses, String filterHashKey) {
+        return Flux.fromIterable(statuses)
+                .flatMap(status -> getOrders(idFilter, status, filterHashKey))
+                .sort(Comparator.comparing(OrderResponseDTO::getOrderId));
+    }
+
+    // 상태·본문·사용자는 필수, 라이더는 없어도 됨 (SQSService.buildOrderResponse와 같은 규칙)
+    private Mono<OrderResponseDTO> buildOrder(String orderId) {
+        ReactiveHashOperations<String, String, String> hash = orderRedisTemplate.opsForHash();
+        return Mono.zip(
+                        hash.get(SQSService.REDIS_ORDER_STATUSES_KEY, orderId),
+                        hash.get(SQSService.REDIS_ORDER_BODIES_KEY, orderId),
+                        hash.get(SQSService.REDIS_ORDER_USER_IDS_KEY, orderId),
+                        hash.get(SQSService.REDIS_ORDER_RIDER_IDS_KEY, orderId).map(Optional::of).defaultIfEmpty(Optional.empty()))
+                .map(fields -> OrderResponseDTO.builder()
+                        .orderId(orderId)
+                        .status(fields.getT1())
+                        .messageBody(fields.getT2())
+                        .userId(fields.getT3())
+                        .riderId(fields.getT4().orElse(null))
+                        .build());
+    }
+
+    private Map<String, Double> parseLocation(String locationData) {
+        if (locationData == null) {
+            return null;
+        }
+        String[] latLng = locationData.split(",");
+        if (latLng.length != 2) {
+            return null;
+        }
+        try {
+            Map<String, Double> location = new HashMap<>();
+            location.put("latitude", Double.parseDouble(latLng[0]));
+            location.put("longitude", Double.parseDouble(latLng[1]));
+            return location;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private ChatResponseDTO parseMessage(String message) {
+        try {
+            return objectMapper.readValue(message, ChatResponseDTO.class);
+        } catch (Exception e) {
+            log.error("❌ JSON 파싱 실패: {}", message, e);
+            return null;
+        }
+    }
+}
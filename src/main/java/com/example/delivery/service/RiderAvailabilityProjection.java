@@ -0,0 +1,41 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.OrderEventDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * 주문 상태 전이를 각 레플리카의 배차 인덱스(라이더 배차 가능 여부)에 반영하는 projection입니다.
+ * 인스턴스 메모리 모델이므로 모든 레플리카가 전체 이벤트를 받고, 기동 시에는 Redis 전체 동기화를 스냅샷으로 씁니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class RiderAvailabilityProjection implements OrderEventProjection {
+
+    private final DispatchService dispatchService;
+
+    @Override
+    public String name() {
+        return "riderAvailability";
+    }
+
+    @Override
+    public boolean perInstance() {
+        return true;
+    }
+
+    @Override
+    public void apply(OrderEventDTO event) {
+        dispatchService.onOrderTransition(event.getRiderId(), event.getOrderId(), event.getToStatus());
+    }
+
+    // 라이더 위치는 이벤트로 다시 만들 수 없으므로 비우지 않음 (배차 가능 여부는 스냅샷이 다시 덮어씀)
+    @Override
+    public void reset() {
+    }
+
+    @Override
+    public void loadSnapshot() {
+        dispatchService.fullResync();
+    }
+}
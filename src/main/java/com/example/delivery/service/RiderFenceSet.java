@@ -0,0 +1,152 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.GeofenceDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 한 라이더가 맡은 주문들의 지오펜스(가게·배달지) 묶음입니다.
+ * 위치 하나를 받으면 이 라이더의 지오펜스만 검사하고, 경계를 넘은 경우에만 도착·출발 전이를 반환합니다.
+ * 묶음 자체는 바꾸지 않고(변경 시 새 묶음 생성) 지오펜스별 안/밖 상태만 CAS로 갱신하므로 락이 없습니다.
+ * 출발은 반경보다 넓은 이탈 반경을 벗어나야 판정해, 경계 근처에서 도착·출발이 반복되지 않게 합니다.
+ */
+public class RiderFenceSet {
+
+    static final RiderFenceSet EMPTY = new RiderFenceSet(new Fence[0]);
+
+    private static final double METERS_PER_DEGREE = 111_320.0;
+    private static final int UNKNOWN = 0;
+    private static final int INSIDE = 1;
+    private static final int OUTSIDE = 2;
+
+    private final Fence[] fences;
+
+    private RiderFenceSet(Fence[] fences) {
+        this.fences = fences;
+    }
+
+    /**
+     * 주문 하나의 지오펜스를 넣은 새 묶음을 반환합니다. 정의가 같은 지오펜스는 안/밖 상태를 이어받습니다.
+     */
+    RiderFenceSet withOrder(String orderId, String userId, Collection<GeofenceDTO> orderFences, double exitFactor) {
+        List<Fence> next = new ArrayList<>(fences.length + orderFences.size());
+        List<Fence> previous = new ArrayList<>();
+        for (Fence fence : fences) {
+            (fence.orderId.equals(orderId) ? previous : next).add(fence);
+        }
+        for (GeofenceDTO geofence : orderFences) {
+            Fence candidate = new Fence(orderId, userId, geofence, exitFactor);
+            Fence kept = previous.stream().filter(candidate::sameDefinition).findFirst().orElse(null);
+            next.add(kept != null ? kept : candidate);
+        }
+        return new RiderFenceSet(next.toArray(new Fence[0]));
+    }
+
+    /**
+     * 주문 하나의 지오펜스를 뺀 묶음을 반환합니다.
+     */
+    RiderFenceSet withoutOrder(String orderId) {
+        List<Fence> next = new ArrayList<>(fences.length);
+        for (Fence fence : fences) {
+            if (!fence.orderId.equals(orderId)) {
+                next.add(fence);
+            }
+        }
+        return next.size() == fences.length ? this : new RiderFenceSet(next.toArray(new Fence[0]));
+    }
+
+    boolean isEmpty() {
+        return fences.length == 0;
+    }
+
+    int size() {
+        return fences.length;
+    }
+
+    /**
+     * 위치 하나로 각 지오펜스의 안/밖 상태를 갱신하고, 바뀐 지오펜스의 전이만 반환합니다.
+     * 처음 받은 위치가 밖이면 알림 없이 상태만 기록합니다.
+     */
+    List<Transition> evaluate(double latitude, double longitude) {
+        List<Transition> transitions = null;
+        for (Fence fence : fences) {
+            // 이탈 반경 사각형 밖이면 거리 계산 없이 "밖"
+            double distance;
+            int observed;
+            if (Math.abs(latitude - fence.latitude) > fence.exitLatDegrees
+                    || Math.abs(longitude - fence.longitude) > fence.exitLngDegrees) {
+                distance = Double.NaN;
+                observed = OUTSIDE;
+            } else {
+                distance = RiderSpatialIndex.distanceMeters(fence.latitude, fence.longitude, fence.cosLat, latitude, longitude);
+                observed = distance <= fence.radiusMeters ? INSIDE : distance > fence.exitRadiusMeters ? OUTSIDE : UNKNOWN;
+            }
+            if (observed == UNKNOWN) {
+                continue; // 반경과 이탈 반경 사이: 이전 상태 유지
+            }
+            int current = fence.state.get();
+            if (current == observed || !fence.state.compareAndSet(current, observed)) {
+                continue;
+            }
+            if (observed == INSIDE || current == INSIDE) {
+                if (transitions == null) {
+                    transitions = new ArrayList<>(2);
+                }
+                if (Double.isNaN(distance)) {
+                    distance = RiderSpatialIndex.distanceMeters(fence.latitude, fence.longitude, fence.cosLat, latitude, longitude);
+                }
+                transitions.add(new Transition(fence, observed == INSIDE, distance));
+            }
+        }
+        return transitions == null ? List.of() : transitions;
+    }
+
+    static final class Fence {
+        final String orderId;
+        final String userId;
+        final String type;
+        final double latitude;
+        final double longitude;
+        final double radiusMeters;
+        final double exitRadiusMeters;
+        final double cosLat;
+        final double exitLatDegrees;
+        final double exitLngDegrees;
+        final AtomicInteger state = new AtomicInteger(UNKNOWN);
+
+        Fence(String orderId, String userId, GeofenceDTO geofence, double exitFactor) {
+            this.orderId = orderId;
+            this.userId = userId;
+            this.type = geofence.getType();
+            this.latitude = geofence.getLatitude();
+            this.longitude = geofence.getLongitude();
+            this.radiusMeters = geofence.getRadiusMeters();
+            this.exitRadiusMeters = radiusMeters * Math.max(1.0, exitFactor);
+            this.cosLat = Math.cos(Math.toRadians(latitude));
+            this.exitLatDegrees = exitRadiusMeters / METERS_PER_DEGREE;
+            this.exitLngDegrees = exitRadiusMeters / (METERS_PER_DEGREE * Math.max(cosLat, 1e-6));
+        }
+
+        boolean sameDefinition(Fence other) {
+            return Objects.equals(type, other.type) && Objects.equals(userId, other.userId)
+                    && latitude == other.latitude && longitude == other.longitude
+                    && radiusMeters == other.radiusMeters && exitRadiusMeters == other.exitRadiusMeters;
+        }
+    }
+
+    static final class Transition {
+        final Fence fence;
+        final boolean arrived;
+        final double distanceMeters;
+
+        Transition(Fence fence, boolean arrived, double distanceMeters) {
+            this.fence = fence;
+            this.arrived = arrived;
+            this.distanceMeters = distanceMeters;
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.NearbyRiderDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 라이더 위치를 위경도 격자(grid) 버킷으로 관리하는 인메모리 공간 인덱스입니다.
+ * 라이더 데이터는 슬롯 번호로 원시 배열에 저장하고, 같은 셀의 라이더는 next/prev 배열로 연결합니다.
+ * k-최근접 조회는 질의 지점의 셀부터 바깥 링으로 넓혀 가며, 더 가까운 후보가 나올 수 없으면 멈춥니다.
+ */
+public class RiderSpatialIndex {
+
+    private static final double METERS_PER_DEGREE = 111_320.0;
+    private static final int NONE = -1;
+    // 링 탐색 상한. 반경이 이보다 많은 링을 요구하면(큰 반경, 극지방 근처) 링 대신 라이더가 있는 셀만 훑음
+    static final int MAX_RINGS = 64;
+
+    private final double cellSizeDegrees;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> slotByRiderId = new HashMap<>();
+    private final Map<Long, Integer> cellHeads = new HashMap<>();
+    // 라이더별 배달 중인 주문 ID (비어 있지 않으면 배차 불가)
+    private final Map<String, Set<String>> activeOrders = new HashMap<>();
+
+    private String[] riderIds;
+    private double[] latitudes;
+    private double[] longitudes;
+    private long[] updatedAt;
+    private boolean[] available;
+    private long[] cellOf;
+    private int[] next;
+    private int[] prev;
+
+    private int[] freeSlots;
+    private int freeCount;
+    private int highWater;
+
+    public RiderSpatialIndex(double cellSizeDegrees, int initialCapacity) {
+        if (cellSizeDegrees <= 0) {
+            throw new IllegalArgumentException("cellSizeDegrees must be positive");
+        }
+        this.cellSizeDegrees = cellSizeDegrees;
+        allocate(Math.max(16, initialCapacity));
+    }
+
+    /**
+     * 라이더 위치를 추가하거나 갱신합니다.
+     */
+    public void upsert(String riderId, double latitude, double longitude, long timestampMillis) {
+        long cell = cellKey(latitude, longitude);
+        lock.writeLock().lock();
+        try {
+            Integer existing = slotByRiderId.get(riderId);
+            int slot;
+            if (existing == null) {
+                slot = allocateSlot();
+                slotByRiderId.put(riderId, slot);
+                riderIds[slot] = riderId;
+                available[slot] = !activeOrders.containsKey(riderId);
+                link(slot, cell);
+            } else {
+                slot = existing;
+                if (cellOf[slot] != cell) {
+                    unlink(slot);
+                    link(slot, cell);
+                }
+            }
+            latitudes[slot] = latitude;
+            longitudes[slot] = longitude;
+            updatedAt[slot] = timestampMillis;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 라이더를 인덱스에서 제거합니다.
+     */
+    public void remove(String riderId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotByRiderId.remove(riderId);
+            if (slot != null) {
+                unlink(slot);
+                riderIds[slot] = null;
+                releaseSlot(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 라이더가 주문 배달을 시작했음을 기록하고 배차 불가로 표시합니다. 아직 위치가 없는 라이더도 상태를 기억해 둡니다.
+     */
+    public void startOrder(String riderId, String orderId) {
+        lock.writeLock().lock();
+        try {
+            activeOrders.computeIfAbsent(riderId, id -> new HashSet<>()).add(orderId);
+            updateAvailability(riderId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 라이더의 주문 배달이 끝났음을 기록합니다. 배달 중인 주문이 하나도 남지 않아야 배차 가능으로 표시합니다.
+     */
+    public void finishOrder(String riderId, String orderId) {
+        lock.writeLock().lock();
+        try {
+            Set<String> orders = activeOrders.get(riderId);
+            if (orders != null && orders.remove(orderId) && orders.isEmpty()) {
+                activeOrders.remove(riderId);
+            }
+            updateAvailability(riderId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 라이더별 배달 중인 주문 전체를 교체합니다. (Redis 주문 상태와 동기화할 때 사용)
+     */
+    public void replaceActiveOrders(Map<String, Set<String>> ordersByRider) {
+        lock.writeLock().lock();
+        try {
+            activeOrders.clear();
+            ordersByRider.forEach((riderId, orders) -> {
+                if (!orders.isEmpty()) {
+                    activeOrders.put(riderId, new HashSet<>(orders));
+                }
+            });
+            for (Map.Entry<String, Integer> entry : slotByRiderId.entrySet()) {
+                available[entry.getValue()] = !activeOrders.containsKey(entry.getKey());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void updateAvailability(String riderId) {
+        Integer slot = slotByRiderId.get(riderId);
+        if (slot != null) {
+            available[slot] = !activeOrders.containsKey(riderId);
+        }
+    }
+
+    /**
+     * 마지막 갱신 시각이 주어진 시각보다 이전인 라이더 중 keep에 없는 라이더를 제거합니다.
+     */
+    public int retainOnly(Set<String> keep, long updatedBeforeMillis) {
+        lock.writeLock().lock();
+        try {
+            List<String> stale = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : slotByRiderId.entrySet()) {
+                if (!keep.contains(entry.getKey()) && updatedAt[entry.getValue()] < updatedBeforeMillis) {
+                    stale.add(entry.getKey());
+                }
+            }
+            for (String riderId : stale) {
+                int slot = slotByRiderId.remove(riderId);
+                unlink(slot);
+                riderIds[slot] = null;
+                releaseSlot(slot);
+            }
+            return stale.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 라이더의 마지막 갱신 시각을 반환합니다. 인덱스에 없으면 -1을 반환합니다.
+     */
+    public long lastUpdated(String riderId) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotByRiderId.get(riderId);
+            return slot == null ? -1 : updatedAt[slot];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByRiderId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 주어진 지점에서 가장 가까운 배차 가능 라이더를 최대 k명, 가까운 순서로 반환합니다.
+     */
+    public List<NearbyRiderDTO> nearestAvailable(double latitude, double longitude, int k, double maxDistanceMeters) {
+        if (k <= 0) {
+            return List.of();
+        }
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        // 링 r에 속한 셀의 점까지의 최소 거리는 (r - 1) * (셀의 짧은 변 길이) 이상
+        double cellMinMeters = cellSizeDegrees * METERS_PER_DEGREE * Math.min(1.0, Math.max(cosLat, 1e-6));
+        double rings = Math.ceil(maxDistanceMeters / cellMinMeters) + 1;
+
+        int[] bestSlots = new int[k];
+        double[] bestDistances = new double[k];
+        Arrays.fill(bestDistances, Double.MAX_VALUE);
+        int found = 0;
+
+        long centerX = (long) Math.floor(longitude / cellSizeDegrees);
+        long centerY = (long) Math.floor(latitude / cellSizeDegrees);
+
+        lock.readLock().lock();
+        try {
+            if (slotByRiderId.isEmpty()) {
+                return List.of();
+            }
+            if (!(rings <= MAX_RINGS)) {
+                // 훑는 셀 수가 라이더 수를 넘지 않도록, 링 대신 라이더가 있는 셀만 확인
+                for (Integer head : cellHeads.values()) {
+                    for (int slot = head; slot != NONE; slot = next[slot]) {
+                        found = offer(slot, latitude, longitude, cosLat, maxDistanceMeters, k, found, bestSlots, bestDistances);
+                    }
+                }
+            } else {
+                int maxRing = (int) rings;
+                for (int ring = 0; ring <= maxRing; ring++) {
+                    if (found == k && bestDistances[k - 1] <= (ring - 1) * cellMinMeters) {
+                        break;
+                    }
+                    for (long dy = -ring; dy <= ring; dy++) {
+                        boolean edgeRow = dy == -ring || dy == ring;
+                        long step = edgeRow ? 1 : 2L * ring;
+                        for (long dx = -ring; dx <= ring; dx += Math.max(step, 1)) {
+                            Integer head = cellHeads.get(cellKey(centerX + dx, centerY + dy));
+                            for (int slot = head == null ? NONE : head; slot != NONE; slot = next[slot]) {
+                                found = offer(slot, latitude, longitude, cosLat, maxDistanceMeters, k, found, bestSlots, bestDistances);
+                            }
+                        }
+                    }
+                }
+            }
+
+            List<NearbyRiderDTO> result = new ArrayList<>(found);
+            for (int i = 0; i < found; i++) {
+                int slot = bestSlots[i];
+                result.add(NearbyRiderDTO.builder()
+                        .deliveryPersonId(riderIds[slot])
+                        .latitude(latitudes[slot])
+                        .longitude(longitudes[slot])
+                        .distanceMeters(bestDistances[i])
+                        .build());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 배차 가능하고 반경 안인 라이더를 삽입 정렬로 상위 k개에 반영하고, 채운 개수를 반환
+    private int offer(int slot, double latitude, double longitude, double cosLat, double maxDistanceMeters,
+                      int k, int found, int[] bestSlots, double[] bestDistances) {
+        if (!available[slot]) {
+            return found;
+        }
+        double distance = distanceMeters(latitude, longitude, cosLat, latitudes[slot], longitudes[slot]);
+        if (distance > maxDistanceMeters) {
+            return found;
+        }
+        if (found < k) {
+            found++;
+        } else if (distance >= bestDistances[k - 1]) {
+            return found;
+        }
+        int i = found - 1;
+        while (i > 0 && bestDistances[i - 1] > distance) {
+            bestDistances[i] = bestDistances[i - 1];
+            bestSlots[i] = bestSlots[i - 1];
+            i--;
+        }
+        bestDistances[i] = distance;
+        bestSlots[i] = slot;
+        return found;
+    }
+
+    /**
+     * 짧은 거리용 등장방형(equirectangular) 근사 거리(미터)입니다.
+     */
+    static double distanceMeters(double lat1, double lon1, double cosLat1, double lat2, double lon2) {
+        double x = (lon2 - lon1) * cosLat1;
+        double y = lat2 - lat1;
+        return Math.sqrt(x * x + y * y) * METERS_PER_DEGREE;
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        return cellKey((long) Math.floor(longitude / cellSizeDegrees), (long) Math.floor(latitude / cellSizeDegrees));
+    }
+
+    private static long cellKey(long cellX, long cellY) {
+        return (cellY << 32) ^ (cellX & 0xFFFFFFFFL);
+    }
+
+    private void link(int slot, long cell) {
+        Integer head = cellHeads.get(cell);
+        int headSlot = head == null ? NONE : head;
+        cellOf[slot] = cell;
+        prev[slot] = NONE;
+        next[slot] = headSlot;
+        if (headSlot != NONE) {
+            prev[headSlot] = slot;
+        }
+        cellHeads.put(cell, slot);
+    }
+
+    private void unlink(int slot) {
+        int before = prev[slot];
+        int after = next[slot];
+        if (before != NONE) {
+            next[before] = after;
+        } else if (after != NONE) {
+            cellHeads.put(cellOf[slot], after);
+        } else {
+            cellHeads.remove(cellOf[slot]);
+        }
+        if (after != NONE) {
+            prev[after] = before;
+        }
+        prev[slot] = NONE;
+        next[slot] = NONE;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (highWater == riderIds.length) {
+            grow();
+        }
+        return highWater++;
+    }
+
+    private void releaseSlot(int slot) {
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private void allocate(int capacity) {
+        riderIds = new String[capacity];
+        latitudes = new double[capacity];
+        longitudes = new double[capacity];
+        updatedAt = new long[capacity];
+        available = new boolean[capacity];
+        cellOf = new long[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+        freeSlots = new int[16];
+    }
+
+    private void grow() {
+        int capacity = riderIds.length * 2;
+        riderIds = Arrays.copyOf(riderIds, capacity);
+        latitudes = Arrays.copyOf(latitudes, capacity);
+        longitudes = Arrays.copyOf(longitudes, capacity);
+        updatedAt = Arrays.copyOf(updatedAt, capacity);
+        available = Arrays.copyOf(available, capacity);
+        cellOf = Arrays.copyOf(cellOf, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+    }
+}
@@ -1,23 +1,27 @@
 package com.example.delivery.service;
 
+import com.example.delivery.dto.BulkLookupResponseDTO;
+import com.example.delivery.dto.OrderEventDTO;
 import com.example.delivery.dto.OrderResponseDTO;
 import io.awspring.cloud.sqs.annotation.SqsListener;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.*;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,34 +31,50 @@ public class SQSService {
 
     private final ChatProducer chatProducer;
     private final RedisTemplate<String, Object> redisTemplate;
-    private final SqsClient sqsClient;
+    private final SqsGateway sqsGateway;
+    private final OrderVersionService orderVersionService;
+    private final OrderEventLog orderEventLog;
+    private final AdaptiveListenerConcurrency adaptiveListenerConcurrency;
+    private final DeadLetterService deadLetterService;
+    private final StartupTimings startupTimings;
+    private final HotPathLogger hotPathLogger;
+    private final SingleFlight singleFlight;
+    private final GeofenceStore geofenceStore;
 
     @Value("${spring.cloud.aws.sqs.queue-url-deliveryStatus}")
     private String queueUrl;
+
+    @Value("${spring.cloud.aws.sqs.queue-name-deliveryStatus}")
+    private String queueName;
     private final RedisConnectionFactory connectionFactory;
 
-    private static final String REDIS_ORDER_STATUSES_KEY = "orderStatuses";
-    private static final String REDIS_ORDER_BODIES_KEY = "orderBodies";
-    private static final String REDIS_ORDER_USER_IDS_KEY = "orderUsers";
-    private static final String REDIS_ORDER_RIDER_IDS_KEY = "riderUsers";
+    static final String REDIS_ORDER_STATUSES_KEY = "orderStatuses";
+    static final String REDIS_ORDER_BODIES_KEY = "orderBodies";
+    static final String REDIS_ORDER_USER_IDS_KEY = "orderUsers";
+    static final String REDIS_ORDER_RIDER_IDS_KEY = "riderUsers";
+    static final String REDIS_ORDER_TIMESTAMPS_PREFIX = "orderTimestamps:";
 
     /**
      * SQS에 메시지를 전송하는 메서드입니다.
      * 주로 주문 상태 업데이트, 사용자 알림 등에 사용됩니다.
      */
-    public void sendMessage(String userId, String message, String status, String orderId, String riderId) {
+    public CompletableFuture<SendMessageResponse> sendMessage(String userId, String message, String status, String orderId, String riderId) {
         String timestamp = getCurrentTimestamp();
         Map<String, MessageAttributeValue> messageAttributes = buildMessageAttributes(status, timestamp, orderId, userId, riderId);
-        try {
-            sqsClient.sendMessage(SendMessageRequest.builder()
-                    .queueUrl(queueUrl)
-                    .messageBody(message)
-                    .messageAttributes(messageAttributes)
-                    .build());
-            log.info("Message sent: userId={}, status={}, orderId={}, riderId={}, timestamp={}", userId, status, orderId, riderId, timestamp);
-        } catch (Exception e) {
-            log.error("Failed to send SQS message: orderId={}, error= {}", orderId, e.getMessage(), e);
-        }
+        // 호출 스레드는 기다리지 않고, SQS가 받아들이면 완료되는 future 반환 (결과는 완료 시 로그로도 남김)
+        return sqsGateway.send(SendMessageRequest.builder()
+                        .queueUrl(queueUrl)
+                        .messageBody(message)
+                        .messageAttributes(messageAttributes)
+                        .build())
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        log.error("Failed to send SQS message: orderId={}, error= {}", orderId, error.getMessage(), error);
+                        return;
+                    }
+                    hotPathLogger.info(HotPathLogger.Event.ORDER_SEND, orderId, "Message sent: userId={}, status={}, orderId={}, riderId={}, timestamp={}",
+                            userId, status, orderId, riderId, timestamp);
+                });
     }
 
     /**
@@ -62,9 +82,13 @@ public class SQSService {
      * 메시지에 포함된 주문 정보를 기반으로 Redis에 데이터를 저장하거나 삭제합니다.
      */
     @Async
-    @SqsListener("${spring.cloud.aws.sqs.queue-name-deliveryStatus}")
+    @SqsListener(value = "${spring.cloud.aws.sqs.queue-name-deliveryStatus}",
+            id = AdaptiveListenerConcurrency.DELIVERY_STATUS_LISTENER_ID,
+            maxConcurrentMessages = "${sqs.adaptive.max-concurrency:50}")
     public void processMessage(@Payload Message message) {
-        log.info("Received SQS message: {}", message.body());
+        startupTimings.markFirstMessage(AdaptiveListenerConcurrency.DELIVERY_STATUS_LISTENER_ID);
+        long startedAt = System.nanoTime();
+        boolean success = false;
         try {
             Map<String, MessageAttributeValue> attributes = message.messageAttributes();
             String orderId = getAttributeValue(attributes, "orderId", "defaultOrderId");
@@ -73,19 +97,35 @@ public class SQSService {
             String userId = getAttributeValue(attributes, "userId", "defaultUserId");
             String riderId = getAttributeValue(attributes, "riderId", "defaultRiderId");
 
-            log.info("Processing SQS message: orderId={}, status={}, userId={}, riderId={}", orderId, status, userId, riderId);
+            hotPathLogger.info(HotPathLogger.Event.ORDER_RECEIVE, orderId, "Processing SQS message: orderId={}, status={}, userId={}, riderId={}, body={}",
+                    orderId, status, userId, riderId, message.body());
+
+            if (GeofenceStore.isGeofenceStatus(status)) {
+                // 지오펜스 도착·출발 알림은 주문 상태를 바꾸지 않고 주문별 도착 기록만 남김 (ETag 조회자가 변경을 알도록 버전은 올림)
+                geofenceStore.recordEvent(orderId, status, timestamp);
+                orderVersionService.bump(orderId, userId, riderId);
+                success = true;
+                return;
+            }
 
             if ("배달끝".equals(status)) {
-                chatProducer.deleteChatMessagesFromRedis(orderId);
-                deleteOrderData(orderId);
-                deleteMessage(message.receiptHandle());
+                String previousStatus = (String) redisTemplate.opsForHash().get(REDIS_ORDER_STATUSES_KEY, orderId);
+                long previousEventTime = statusEnteredAt(previousStatus, orderId);
+                closeOrder(orderId, userId, riderId, previousStatus, previousEventTime, endEventTime(timestamp));
+                success = true;
                 return;
             }
 
             updateOrderData(orderId, status, userId, riderId, timestamp, message.body());
-            deleteMessage(message.receiptHandle());
+            success = true;
         } catch (Exception e) {
             log.error("Error processing SQS message: {}, error={}", message.body(), e.getMessage(), e);
+            // 허용 횟수를 넘긴 메시지는 격리, 아니면 예외를 던져 SQS 재전달에 맡김
+            if (!deadLetterService.handleFailure(queueName, queueUrl, message, e)) {
+                throw e;
+            }
+        } finally {
+            adaptiveListenerConcurrency.record(AdaptiveListenerConcurrency.DELIVERY_STATUS_LISTENER_ID, System.nanoTime() - startedAt, success);
         }
     }
 
@@ -94,90 +134,211 @@ public class SQSService {
      * 기존 상태가 변경된 경우 데이터를 갱신하며, 새로운 상태로 추가합니다.
      */
     private void updateOrderData(String orderId, String status, String userId, String riderId, String timestamp, String messageBody) {
+        // Null 체크
+        if (orderId == null || status == null || userId == null) {
+            log.warn("🚨 [updateOrderData] 필수 데이터 누락: orderId={}, status={}, userId={}", orderId, status, userId);
+            throw new PoisonMessageException("Missing required order attributes");
+        }
+
+        // 타임스탬프 변환 (기존 상태를 지우기 전에 검증)
+        long time;
         try {
-            log.info("🔍 [updateOrderData] 시작 - orderId={}, status={}, userId={}, riderId={}, timestamp={}",
-                    orderId, status, userId, riderId, timestamp);
+            time = toEpochSeconds(timestamp);
+        } catch (Exception e) {
+            log.error("❌ [updateOrderData] 타임스탬프 변환 실패 - timestamp={}, error={}", timestamp, e.getMessage(), e);
+            throw new PoisonMessageException("Invalid timestamp: " + timestamp, e);
+        }
 
-            // Null 체크
-            if (orderId == null || status == null || userId == null) {
-                log.warn("🚨 [updateOrderData] 필수 데이터 누락: orderId={}, status={}, userId={}", orderId, status, userId);
-                return;
-            }
+        String currentStatus = (String) redisTemplate.opsForHash().get(REDIS_ORDER_STATUSES_KEY, orderId);
+        String currentRiderId = (String) redisTemplate.opsForHash().get(REDIS_ORDER_RIDER_IDS_KEY, orderId);
 
-            String currentStatus = (String) redisTemplate.opsForHash().get(REDIS_ORDER_STATUSES_KEY, orderId);
-            String currentRiderId = (String) redisTemplate.opsForHash().get(REDIS_ORDER_RIDER_IDS_KEY, orderId);
+        if (status.equals(currentStatus) && riderId.equals(currentRiderId)) {
+            hotPathLogger.info(HotPathLogger.Event.ORDER_UPDATE, orderId, "✅ [updateOrderData] 이미 최신 상태 유지 중. 저장하지 않음 - orderId={}", orderId);
+            return;
+        }
 
-            if (status.equals(currentStatus) && riderId.equals(currentRiderId)) {
-                log.info("✅ [updateOrderData] 이미 최신 상태 유지 중. 저장하지 않음.");
-                return;
-            }
+        // 기존 상태 삭제 (상태 체류 시간 집계를 위해 진입 시각을 먼저 읽어 둠)
+        long previousEventTime = statusEnteredAt(currentStatus, orderId);
+        if (currentStatus != null) {
+            redisTemplate.opsForZSet().remove("orderTimestamps:" + currentStatus, orderId);
+            redisTemplate.opsForHash().delete(REDIS_ORDER_STATUSES_KEY, orderId);
+            redisTemplate.opsForHash().delete(REDIS_ORDER_RIDER_IDS_KEY, orderId);
+            hotPathLogger.info(HotPathLogger.Event.ORDER_UPDATE, orderId, "🗑️ 기존 상태 삭제 - orderId={}, status={}", orderId, currentStatus);
+        }
 
-            // 기존 상태 삭제
-            if (currentStatus != null) {
-                redisTemplate.opsForZSet().remove("orderTimestamps:" + currentStatus, orderId);
-                redisTemplate.opsForHash().delete(REDIS_ORDER_STATUSES_KEY, orderId);
-                redisTemplate.opsForHash().delete(REDIS_ORDER_RIDER_IDS_KEY, orderId);
-                log.info("🗑️ 기존 상태 삭제 - orderId={}", orderId);
-            }
+        redisTemplate.opsForZSet().add("orderTimestamps:" + status, orderId, time);
+        redisTemplate.opsForHash().put(REDIS_ORDER_STATUSES_KEY, orderId, status);
+        redisTemplate.opsForHash().put(REDIS_ORDER_BODIES_KEY, orderId, messageBody);
+        redisTemplate.opsForHash().put(REDIS_ORDER_USER_IDS_KEY, orderId, userId);
 
-            // 타임스탬프 변환 (예외 처리 포함)
-            double time;
-            try {
-                time = LocalDateTime.parse(timestamp, DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")).toEpochSecond(ZoneOffset.UTC);
-            } catch (Exception e) {
-                log.error("❌ [updateOrderData] 타임스탬프 변환 실패 - timestamp={}, error={}", timestamp, e.getMessage(), e);
-                return;
-            }
+        if ("배달중".equals(status) || "배달완료".equals(status)) {
+            redisTemplate.opsForHash().put(REDIS_ORDER_RIDER_IDS_KEY, orderId, riderId);
+        }
 
-            redisTemplate.opsForZSet().add("orderTimestamps:" + status, orderId, time);
-            redisTemplate.opsForHash().put(REDIS_ORDER_STATUSES_KEY, orderId, status);
-            redisTemplate.opsForHash().put(REDIS_ORDER_BODIES_KEY, orderId, messageBody);
-            redisTemplate.opsForHash().put(REDIS_ORDER_USER_IDS_KEY, orderId, userId);
+        // 조회 API의 ETag 버전 갱신 (이전 라이더 목록도 바뀌므로 함께 갱신)
+        orderVersionService.bump(orderId, userId, riderId, currentRiderId);
+        // 배차 인덱스 등 읽기 모델은 orderEvents 스트림을 구독하는 projection이 갱신
+        appendOrderEvent(orderId, userId, riderId, currentStatus, previousEventTime, status, time);
 
-            if ("배달중".equals(status) || "배달완료".equals(status)) {
-                redisTemplate.opsForHash().put(REDIS_ORDER_RIDER_IDS_KEY, orderId, riderId);
-            }
+        // 만료 처리는 OrderExpirySweeper가 orderTimestamps 점수를 기준으로 수행합니다.
+
+        hotPathLogger.info(HotPathLogger.Event.ORDER_UPDATE, orderId, "✅ [updateOrderData] Redis 업데이트 완료 - orderId={}, status={}, riderId={}", orderId, status, riderId);
+    }
 
-            // 만료 시간 설정
-            setRedisKeyExpirationForOrderId(REDIS_ORDER_STATUSES_KEY, orderId);
-            setRedisKeyExpirationForOrderId(REDIS_ORDER_BODIES_KEY, orderId);
-            setRedisKeyExpirationForOrderId(REDIS_ORDER_USER_IDS_KEY, orderId);
-            setRedisKeyExpirationForOrderId(REDIS_ORDER_RIDER_IDS_KEY, orderId);
 
-            log.info("✅ [updateOrderData] Redis 업데이트 완료 - orderId={}, status={}, riderId={}", orderId, status, riderId);
+    /**
+     * 수락된 상태 전이를 orderEvents 스트림에 기록하는 메서드입니다.
+     */
+    private void appendOrderEvent(String orderId, String userId, String riderId, String fromStatus, long fromEventTime,
+                                  String toStatus, long eventTime) {
+        orderEventLog.append(OrderEventDTO.builder()
+                .orderId(orderId)
+                .userId(userId)
+                .riderId(riderId)
+                .fromStatus(fromStatus)
+                .fromEventTime(fromEventTime)
+                .toStatus(toStatus)
+                .eventTime(eventTime)
+                .recordedAt(System.currentTimeMillis())
+                .build());
+    }
 
+    // 현재 상태에 들어온 시각 (orderTimestamps:{status} 점수, 없으면 0)
+    private long statusEnteredAt(String status, String orderId) {
+        if (status == null) {
+            return 0;
+        }
+        Double score = redisTemplate.opsForZSet().score(REDIS_ORDER_TIMESTAMPS_PREFIX + status, orderId);
+        return score == null ? 0 : score.longValue();
+    }
+
+    // "yyyy-MM-dd HH:mm:ss" 타임스탬프를 orderTimestamps 점수와 같은 기준(UTC로 해석한 초)으로 변환
+    private static long toEpochSeconds(String timestamp) {
+        return LocalDateTime.parse(timestamp, DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")).toEpochSecond(ZoneOffset.UTC);
+    }
+
+    // 배달끝은 타임스탬프 검증 없이 처리해 왔으므로 형식이 잘못되면 현재 시각 사용
+    private long endEventTime(String timestamp) {
+        try {
+            return toEpochSeconds(timestamp);
         } catch (Exception e) {
-            log.error("❌ [updateOrderData] 오류 발생 - orderId={}, error={}", orderId, e.getMessage(), e);
+            return toEpochSeconds(getCurrentTimestamp());
         }
     }
 
+    /**
+     * 주문을 닫는 메서드입니다. 주문에 딸린 Redis 데이터(주문 해시, 상태 ZSet, 채팅, 지오펜스, ETag 버전)를 지우고 배달끝 이벤트를 기록합니다.
+     * 배달끝 메시지와 만료 회수(OrderExpirySweeper)가 같은 경로를 쓰며,
+     * 배차 인덱스·지오펜스 묶음 등 인메모리 읽기 모델은 이 이벤트를 받은 projection이 정리합니다.
+     */
+    private void closeOrder(String orderId, String userId, String riderId, String previousStatus, long previousEventTime, long eventTime) {
+        chatProducer.deleteChatMessagesFromRedis(orderId);
+        deleteOrderData(orderId, previousStatus);
+        geofenceStore.delete(orderId);
+        orderVersionService.remove(orderId, userId, riderId);
+        appendOrderEvent(orderId, userId, riderId, previousStatus, previousEventTime, "배달끝", eventTime);
+    }
 
     /**
      * Redis에서 특정 주문 데이터를 삭제하는 메서드입니다.
-     * 주로 "배달끝" 상태인 경우 호출됩니다.
+     * 주문 해시 필드와 함께 이전 상태의 ZSet 항목도 지워 만료 회수가 같은 주문을 다시 찾지 않도록 합니다.
+     */
+    private void deleteOrderData(String orderId, String previousStatus) {
+        deleteOrderFields(orderId);
+        redisTemplate.opsForZSet().remove("orderTimestamps:배달끝", orderId);
+        if (previousStatus != null) {
+            redisTemplate.opsForZSet().remove(REDIS_ORDER_TIMESTAMPS_PREFIX + previousStatus, orderId);
+        }
+        hotPathLogger.info(HotPathLogger.Event.ORDER_UPDATE, orderId, "Deleted Redis data for orderId={}", orderId);
+    }
+
+    /**
+     * 전역 주문 해시들에서 특정 주문의 필드를 삭제하는 메서드입니다.
      */
-    private void deleteOrderData(String orderId) {
+    private void deleteOrderFields(String orderId) {
         redisTemplate.opsForHash().delete(REDIS_ORDER_STATUSES_KEY, orderId);
         redisTemplate.opsForHash().delete(REDIS_ORDER_BODIES_KEY, orderId);
         redisTemplate.opsForHash().delete(REDIS_ORDER_USER_IDS_KEY, orderId);
         redisTemplate.opsForHash().delete(REDIS_ORDER_RIDER_IDS_KEY, orderId);
-        redisTemplate.opsForZSet().remove("orderTimestamps:배달끝", orderId);
-        log.info("Deleted Redis data for orderId={}", orderId);
     }
+
     /**
-     * SQS 메시지를 삭제하는 메서드입니다.
-     * 메시지 처리가 완료된 후 호출됩니다.
+     * 만료된 주문 하나를 회수하는 메서드입니다. (OrderExpirySweeper 전용)
+     * ZSet에서 ZREM에 성공한 인스턴스만 정리하므로 여러 레플리카가 동시에 실행해도 안전합니다.
+     * 주문이 아직 그 상태에 머물러 있으면 배달끝과 같은 경로(closeOrder)로 닫고,
+     * 그 사이 다른 상태로 전이되었다면 건드리지 않으며, 상태가 이미 없으면 남은 해시 필드만 지웁니다.
+     *
+     * @return 실제로 회수했으면 true
      */
-    private void deleteMessage(String receiptHandle) {
-        try {
-            sqsClient.deleteMessage(DeleteMessageRequest.builder()
-                    .queueUrl(queueUrl)
-                    .receiptHandle(receiptHandle)
-                    .build());
-            log.info("Deleted SQS message: receiptHandle={}", receiptHandle);
-        } catch (Exception e) {
-            log.error("Failed to delete SQS message: receiptHandle={}, error={}", receiptHandle, e.getMessage(), e);
+    boolean reclaimExpiredOrder(String zSetKey, String status, String orderId) {
+        Long removed = redisTemplate.opsForZSet().remove(zSetKey, orderId);
+        if (removed == null || removed == 0) {
+            return false;
+        }
+        String currentStatus = (String) redisTemplate.opsForHash().get(REDIS_ORDER_STATUSES_KEY, orderId);
+        if (status.equals(currentStatus)) {
+            closeExpiredOrder(orderId, currentStatus);
+        } else if (currentStatus == null) {
+            deleteOrderFields(orderId);
+        }
+        return true;
+    }
+
+    /**
+     * 주어진 주문 중 상태 ZSet에 항목이 없어 만료 회수로는 찾을 수 없는 주문을 골라내는 메서드입니다. (OrderExpirySweeper 전용)
+     * 상태 HMGET 한 번과 ZSCORE 파이프라인 한 번으로 확인합니다.
+     */
+    @SuppressWarnings("unchecked")
+    List<String> findOrphanedOrders(List<String> orderIds) {
+        List<Object> fields = new ArrayList<>(orderIds);
+        List<Object> statuses = redisTemplate.opsForHash().multiGet(REDIS_ORDER_STATUSES_KEY, fields);
+        List<Object> scores = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                for (int i = 0; i < fields.size(); i++) {
+                    if (statuses.get(i) != null) {
+                        ops.opsForZSet().score(REDIS_ORDER_TIMESTAMPS_PREFIX + statuses.get(i), fields.get(i));
+                    }
+                }
+                return null;
+            }
+        });
+        List<String> orphaned = new ArrayList<>();
+        int scoreIndex = 0;
+        for (int i = 0; i < fields.size(); i++) {
+            if (statuses.get(i) == null || scores.get(scoreIndex++) == null) {
+                orphaned.add((String) fields.get(i));
+            }
+        }
+        return orphaned;
+    }
+
+    /**
+     * 상태 ZSet에 항목이 없는 주문을 회수하는 메서드입니다. (OrderExpirySweeper 전용)
+     * 다시 확인해도 ZSet에 없으면 배달끝과 같은 경로로 닫고, 상태조차 없으면 남은 해시 필드만 지웁니다.
+     *
+     * @return 실제로 회수했으면 true
+     */
+    boolean reclaimOrphanedOrder(String orderId) {
+        String currentStatus = (String) redisTemplate.opsForHash().get(REDIS_ORDER_STATUSES_KEY, orderId);
+        if (currentStatus == null) {
+            deleteOrderFields(orderId);
+            return true;
+        }
+        if (redisTemplate.opsForZSet().score(REDIS_ORDER_TIMESTAMPS_PREFIX + currentStatus, orderId) != null) {
+            return false;
         }
+        closeExpiredOrder(orderId, currentStatus);
+        return true;
+    }
+
+    // 만료로 닫는 주문은 체류 시간 집계에서 빼도록 이전 상태 진입 시각을 0으로 기록
+    private void closeExpiredOrder(String orderId, String currentStatus) {
+        String userId = (String) redisTemplate.opsForHash().get(REDIS_ORDER_USER_IDS_KEY, orderId);
+        String riderId = (String) redisTemplate.opsForHash().get(REDIS_ORDER_RIDER_IDS_KEY, orderId);
+        closeOrder(orderId, userId, riderId, currentStatus, 0, toEpochSeconds(getCurrentTimestamp()));
+        log.info("⌛ Expired order closed: orderId={}, status={}", orderId, currentStatus);
     }
 
     /**
@@ -203,12 +364,6 @@ public class SQSService {
         return value != null && value.stringValue() != null ? value.stringValue() : defaultValue;
     }
 
-    // Redis 키의 만료 시간을 설정하는 메서드 (orderId 별로)
-    private void setRedisKeyExpirationForOrderId(String key, String orderId) {
-        String redisKey = key + ":" + orderId;  // orderId를 포함한 키
-        redisTemplate.expire(redisKey, 1, TimeUnit.DAYS);  // orderId별로 만료 시간 설정
-    }
-
     /**
      * 현재 시간을 yyyy-MM-dd HH:mm:ss 형식의 문자열로 반환하는 메서드입니다.
      */
@@ -220,6 +375,12 @@ public class SQSService {
      * Redis에서 특정 상태와 주문 데이터를 오래된 순서대로 조회하는 메서드입니다.
      */
     public OrderResponseDTO getOrdersByStatusAndId(String orderId, String statusFilter) {
+        // 같은 주문·상태에 대한 동시 조회(고객, 라이더, 가게 폴링)는 Redis 조회 한 번으로 합침
+        return singleFlight.execute("orderStatus", orderId + "|" + statusFilter,
+                () -> loadOrderByStatusAndId(orderId, statusFilter));
+    }
+
+    private OrderResponseDTO loadOrderByStatusAndId(String orderId, String statusFilter) {
         // ZSet에서 해당 상태(statusFilter)의 모든 데이터를 오래된 순서대로 가져오기
         Set<Object> orderIds = redisTemplate.opsForZSet().range("orderTimestamps:" + statusFilter, 0, -1);
 
@@ -361,6 +522,51 @@ public class SQSService {
                 .riderId(riderId)
                 .build();
     }
+    /**
+     * 여러 주문을 한 번의 파이프라인(HMGET × 4)으로 조회하는 메서드입니다.
+     * 데이터가 없는 주문은 notFound에 담습니다.
+     */
+    @SuppressWarnings("unchecked")
+    public BulkLookupResponseDTO<OrderResponseDTO> getOrdersByIds(List<String> orderIds) {
+        List<Object> fields = new ArrayList<>(new LinkedHashSet<>(orderIds));
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                HashOperations<String, Object, Object> hashOps = ((RedisOperations<String, Object>) operations).opsForHash();
+                hashOps.multiGet(REDIS_ORDER_STATUSES_KEY, fields);
+                hashOps.multiGet(REDIS_ORDER_BODIES_KEY, fields);
+                hashOps.multiGet(REDIS_ORDER_USER_IDS_KEY, fields);
+                hashOps.multiGet(REDIS_ORDER_RIDER_IDS_KEY, fields);
+                return null;
+            }
+        });
+        List<Object> statuses = (List<Object>) results.get(0);
+        List<Object> bodies = (List<Object>) results.get(1);
+        List<Object> userIds = (List<Object>) results.get(2);
+        List<Object> riderIds = (List<Object>) results.get(3);
+
+        Map<String, OrderResponseDTO> found = new LinkedHashMap<>();
+        List<String> notFound = new ArrayList<>();
+        for (int i = 0; i < fields.size(); i++) {
+            String orderId = (String) fields.get(i);
+            if (statuses.get(i) == null || bodies.get(i) == null || userIds.get(i) == null) {
+                notFound.add(orderId);
+                continue;
+            }
+            found.put(orderId, OrderResponseDTO.builder()
+                    .orderId(orderId)
+                    .status((String) statuses.get(i))
+                    .messageBody((String) bodies.get(i))
+                    .userId((String) userIds.get(i))
+                    .riderId((String) riderIds.get(i))
+                    .build());
+        }
+        return BulkLookupResponseDTO.<OrderResponseDTO>builder()
+                .found(found)
+                .notFound(notFound)
+                .build();
+    }
+
     // 모든 주문 내역 가져오기
     public List<OrderResponseDTO> getAllOrders() {
         List<OrderResponseDTO> orders = new ArrayList<>();
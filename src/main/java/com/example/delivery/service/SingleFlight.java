@@ -0,0 +1,127 @@
+package com.example.delivery.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키에 대한 동시 조회를 하나의 Redis 호출로 합치는 single-flight 서비스입니다.
+ * 먼저 들어온 호출(leader)만 조회를 실행하고, 그 사이 같은 키로 들어온 호출은 결과(또는 예외)를 함께 받습니다.
+ * 결과를 캐시하지 않으므로 조회가 끝난 뒤의 호출은 다시 Redis를 읽습니다.
+ */
+@Service
+public class SingleFlight {
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> groupCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> keyCounters = new ConcurrentHashMap<>();
+    private final int maxTrackedKeys;
+
+    public SingleFlight(@Value("${single-flight.max-tracked-keys:10000}") int maxTrackedKeys) {
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    /**
+     * group/key 조회를 실행하거나, 이미 실행 중인 같은 조회가 있으면 그 결과를 기다려 반환합니다.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String group, String key, Supplier<T> loader) {
+        String flightKey = group + "|" + key;
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, mine);
+        boolean shared = existing != null;
+        record(group, flightKey, shared);
+
+        if (shared) {
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e.getCause() instanceof RuntimeException runtimeException
+                        ? runtimeException
+                        : e;
+            }
+        }
+
+        try {
+            T value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Error나 검사 예외가 몰래 던져져도 기다리는 호출이 영원히 막히지 않도록 모든 예외로 완료
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, mine);
+        }
+    }
+
+    /**
+     * 그룹별 호출 수/합쳐진 호출 수와 가장 많이 합쳐진 키 목록을 반환합니다.
+     */
+    public Map<String, Object> getStats(int topKeys) {
+        Map<String, Object> groups = new LinkedHashMap<>();
+        groupCounters.forEach((group, counter) -> groups.put(group, counter.toMap()));
+
+        List<Map.Entry<String, Counter>> keys = new ArrayList<>(keyCounters.entrySet());
+        keys.sort(Comparator.comparingLong((Map.Entry<String, Counter> entry) -> entry.getValue().shared.sum()).reversed());
+        Map<String, Object> top = new LinkedHashMap<>();
+        for (Map.Entry<String, Counter> entry : keys.subList(0, Math.min(topKeys, keys.size()))) {
+            top.put(entry.getKey(), entry.getValue().toMap());
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("inFlight", inFlight.size());
+        stats.put("groups", groups);
+        stats.put("topKeys", top);
+        return stats;
+    }
+
+    public void resetStats() {
+        groupCounters.clear();
+        keyCounters.clear();
+    }
+
+    // 키별 카운터는 maxTrackedKeys까지만 만들어 메모리 증가를 막음 (그룹 합계는 항상 집계)
+    private void record(String group, String flightKey, boolean shared) {
+        groupCounters.computeIfAbsent(group, g -> new Counter()).record(shared);
+        Counter keyCounter = keyCounters.get(flightKey);
+        if (keyCounter == null && keyCounters.size() < maxTrackedKeys) {
+            keyCounter = keyCounters.computeIfAbsent(flightKey, k -> new Counter());
+        }
+        if (keyCounter != null) {
+            keyCounter.record(shared);
+        }
+    }
+
+    private static class Counter {
+        final LongAdder calls = new LongAdder();
+        final LongAdder shared = new LongAdder();
+
+        void record(boolean sharedCall) {
+            calls.increment();
+            if (sharedCall) {
+                shared.increment();
+            }
+        }
+
+        Map<String, Long> toMap() {
+            Map<String, Long> map = new LinkedHashMap<>();
+            map.put("calls", calls.sum());
+            map.put("shared", shared.sum());   // Redis 조회 없이 결과를 받은(절약된) 호출 수
+            return map;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.ChatMessageSqsRequestDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.awspring.cloud.sqs.annotation.SqsListener;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sqs.model.*;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * SQS FIFO 큐(chat.fifo)를 거쳐 채팅 메시지를 전달하는 방식입니다. (chat.transport=sqs, 기본값)
+ * messageGroupId를 orderId로 지정해 주문별 순서를 보장하고, 리스너가 받은 메시지를 ChatMessageStore에 저장합니다.
+ * 다른 전달 방식을 사용 중이어도 큐에 남은 메시지를 처리할 수 있도록 리스너는 항상 동작합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SqsChatTransport implements ChatTransport {
+
+    static final String NAME = "sqs";
+
+    private final SqsGateway sqsGateway;
+    private final ObjectMapper objectMapper;
+    private final ChatMessageStore chatMessageStore;
+    private final AdaptiveListenerConcurrency adaptiveListenerConcurrency;
+    private final DeadLetterService deadLetterService;
+    private final StartupTimings startupTimings;
+    private final HotPathLogger hotPathLogger;
+
+    @Value("${spring.cloud.aws.sqs.queue-url-chat}")
+    private String queueUrl;
+
+    @Value("${spring.cloud.aws.sqs.queue-name-chat}")
+    private String queueName;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    // ✅ 메시지 전송 메서드
+    @Override
+    public CompletableFuture<Void> send(ChatMessageSqsRequestDTO chatMessage) {
+        String deduplicationId = chatMessage.getOrderId() + "_" + chatMessage.getTimestamp();
+        String messageJson;
+        try {
+            messageJson = objectMapper.writeValueAsString(chatMessage);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        SendMessageRequest sendMessageRequest = SendMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .messageBody(messageJson)
+                .messageGroupId(chatMessage.getOrderId())
+                .messageDeduplicationId(deduplicationId)
+                .build();
+
+        // SQS가 받아들인 뒤 완료 (호출자가 응답 전에 기다려 같은 주문의 다음 메시지가 앞지르지 않도록)
+        return sqsGateway.send(sendMessageRequest).thenAccept(response ->
+                hotPathLogger.info(HotPathLogger.Event.CHAT_SEND, chatMessage.getOrderId(), "✅ SQS 메시지 전송 완료: {}", messageJson));
+    }
+
+    // ✅ 메시지 수신 및 Redis 저장
+    @Async
+    @SqsListener(value = "${spring.cloud.aws.sqs.queue-name-chat}",
+            id = AdaptiveListenerConcurrency.CHAT_LISTENER_ID,
+            maxConcurrentMessages = "${sqs.adaptive.max-concurrency:50}")
+    public void processMessage(Message message) {
+        long startedAt = System.nanoTime();
+        boolean success = false;
+        try {
+            startupTimings.markFirstMessage(AdaptiveListenerConcurrency.CHAT_LISTENER_ID);
+
+            String messageBody = message.body();
+
+            // ✅ JSON 파싱
+            ChatMessageSqsRequestDTO chatMessage = objectMapper.readValue(messageBody, ChatMessageSqsRequestDTO.class);
+
+            if (chatMessage.getOrderId() == null || chatMessage.getUserId() == null) {
+                log.error("🚨 Missing required fields in JSON message: {}", messageBody);
+                throw new PoisonMessageException("Missing required fields: orderId or userId");
+            }
+            hotPathLogger.info(HotPathLogger.Event.CHAT_RECEIVE, chatMessage.getOrderId(), "📩 Received SQS message: {}", messageBody);
+
+            // ✅ timestamp 처리 (기본값: 현재 시간) 후 Redis 저장
+            long timestamp = parseTimestamp(chatMessage.getTimestamp());
+            chatMessageStore.store(chatMessage.getOrderId(), chatMessage.getUserId(), chatMessage.getRole(),
+                    chatMessage.getMessage(), timestamp);
+
+            success = true;
+        } catch (JsonProcessingException jsonEx) {
+            log.error("❌ JSON Parsing Error: {}", jsonEx.getMessage(), jsonEx);
+            quarantineOrRetry(message, jsonEx);
+        } catch (Exception e) {
+            log.error("❌ Unexpected Error processing message: {}", e.getMessage(), e);
+            quarantineOrRetry(message, e);
+        } finally {
+            adaptiveListenerConcurrency.record(AdaptiveListenerConcurrency.CHAT_LISTENER_ID, System.nanoTime() - startedAt, success);
+        }
+    }
+
+    // ✅ 실패 메시지 격리 (허용 횟수 미만이면 예외를 던져 SQS 재전달에 맡김)
+    private void quarantineOrRetry(Message message, Exception error) {
+        if (!deadLetterService.handleFailure(queueName, queueUrl, message, error)) {
+            throw error instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new IllegalStateException(error.getMessage(), error);
+        }
+    }
+
+    // ✅ timestamp 변환 메서드
+    private long parseTimestamp(String timestampStr) {
+        try {
+            if (timestampStr == null || timestampStr.isEmpty()) {
+                log.warn("⚠️ Missing timestamp, using current system time.");
+                return System.currentTimeMillis();
+            }
+            return Long.parseLong(timestampStr);
+        } catch (NumberFormatException e) {
+            log.error("🚨 Invalid timestamp format: {}", timestampStr);
+            return System.currentTimeMillis();
+        }
+    }
+}
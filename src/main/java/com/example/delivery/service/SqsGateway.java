@@ -0,0 +1,85 @@
+package com.example.delivery.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 메시지 전송(주문 상태, 채팅)과 처리 후 삭제(ack)를 SqsAsyncClient로 보내는 서비스입니다.
+ * 호출 스레드는 HTTP 응답을 기다리지 않고 CompletableFuture를 받으며,
+ * 연산·큐·결과별 지연 시간(sqs.client.requests)과 진행 중인 요청 수(sqs.client.in.flight)를 기록합니다.
+ */
+@Service
+public class SqsGateway {
+
+    private final SqsAsyncClient sqsAsyncClient;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public SqsGateway(SqsAsyncClient sqsAsyncClient, MeterRegistry meterRegistry) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("sqs.client.in.flight", inFlight, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public CompletableFuture<SendMessageResponse> send(SendMessageRequest request) {
+        return record("send", request.queueUrl(), () -> sqsAsyncClient.sendMessage(request));
+    }
+
+    public CompletableFuture<DeleteMessageResponse> delete(String queueUrl, String receiptHandle) {
+        DeleteMessageRequest request = DeleteMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .receiptHandle(receiptHandle)
+                .build();
+        return record("delete", queueUrl, () -> sqsAsyncClient.deleteMessage(request));
+    }
+
+    private <T> CompletableFuture<T> record(String operation, String queueUrl, Supplier<CompletableFuture<T>> call) {
+        String queue = queueName(queueUrl);
+        long startedAt = System.nanoTime();
+        inFlight.incrementAndGet();
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            // 요청 검증 실패 등으로 future를 만들기 전에 실패한 경우
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((response, error) -> {
+            inFlight.decrementAndGet();
+            timer(operation, queue, error == null ? "success" : "error")
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        });
+    }
+
+    private Timer timer(String operation, String queue, String outcome) {
+        return timers.computeIfAbsent(operation + "|" + queue + "|" + outcome, key -> Timer.builder("sqs.client.requests")
+                .tag("operation", operation)
+                .tag("queue", queue)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry));
+    }
+
+    // 큐 URL의 마지막 경로(큐 이름)만 태그로 사용
+    static String queueName(String queueUrl) {
+        if (queueUrl == null || queueUrl.isEmpty()) {
+            return "unknown";
+        }
+        return queueUrl.substring(queueUrl.lastIndexOf('/') + 1);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.delivery.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 프로세스 시작부터 첫 SQS 메시지를 처리하기까지 걸린 시간을 기록하는 서비스입니다.
+ * JVM(AppCDS) 이미지와 native 이미지의 기동 속도를 같은 기준으로 비교하는 데 사용합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StartupTimings {
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean firstMessageSeen = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        log.info("🚀 Application ready: {}ms since process start", sinceProcessStartMillis());
+    }
+
+    /**
+     * 리스너가 메시지를 받았을 때 호출하며, 프로세스에서 처음 받은 메시지만 기록합니다.
+     */
+    public void markFirstMessage(String listenerId) {
+        if (firstMessageSeen.get() || !firstMessageSeen.compareAndSet(false, true)) {
+            return;
+        }
+        long elapsedMillis = sinceProcessStartMillis();
+        Gauge.builder("application.first.message.time", () -> elapsedMillis / 1000.0)
+                .tag("listener", listenerId)
+                .baseUnit("seconds")
+                .description("Time from process start to the first SQS message")
+                .register(meterRegistry);
+        log.info("📬 First SQS message received: listener={}, {}ms since process start", listenerId, elapsedMillis);
+    }
+
+    private long sinceProcessStartMillis() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+}
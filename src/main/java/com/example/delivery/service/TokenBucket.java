@@ -0,0 +1,52 @@
+package com.example.delivery.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 키 하나(배달원·사용자·주문)의 요청 허용량을 관리하는 토큰 버킷입니다.
+ * 버킷 상태를 "토큰이 모두 다시 채워지는 이론상 시각" 하나로 표현하므로(GCRA),
+ * 락 없이 CAS 한 번으로 허용 여부를 판정하고 남은 토큰 수와 재시도 시간도 바로 계산합니다.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos; // 토큰 1개가 채워지는 시간
+    private final long burstNanos;            // 버킷이 가득 찼을 때 미리 쓸 수 있는 시간 (burst × 간격)
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        if (ratePerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("rate and burst must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.burstNanos = emissionIntervalNanos * burst;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * 토큰 하나를 꺼냅니다.
+     *
+     * @return 허용되면 0 이상의 남은 토큰 수, 거절되면 -(다음 토큰까지 남은 나노초)
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            // 오래 쉬었던 버킷은 가득 찬 상태(now)부터 다시 계산
+            long base = current - nowNanos < 0 ? nowNanos : current;
+            long next = base + emissionIntervalNanos;
+            long used = next - nowNanos;
+            if (used > burstNanos) {
+                return -Math.max(1, used - burstNanos);
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return (burstNanos - used) / emissionIntervalNanos;
+            }
+        }
+    }
+
+    /**
+     * 버킷이 가득 차 있으면(최근 사용 흔적이 없으면) true를 반환합니다. 정리 대상 판단에 사용합니다.
+     */
+    public boolean isIdle(long nowNanos) {
+        return theoreticalArrival.get() - nowNanos <= 0;
+    }
+}
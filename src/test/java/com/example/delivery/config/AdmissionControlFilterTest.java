@@ -0,0 +1,45 @@
+package com.example.delivery.config;
+
+import com.example.delivery.service.AdmissionControl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class AdmissionControlFilterTest {
+
+    private final AdmissionControl admissionControl = new AdmissionControl(mock(StringRedisTemplate.class),
+            new SimpleMeterRegistry(), true, "location-batch=1/1", 100, false, "");
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(admissionControl);
+
+    @Test
+    void locationBatchIsChargedAgainstCallerAddressWithoutHeader() throws Exception {
+        assertThat(batchStatus("10.0.0.1", null)).isEqualTo(200);
+        // 같은 주소에서 바로 다시 보낸 배치는 본문을 읽기 전에 거절
+        assertThat(batchStatus("10.0.0.1", null)).isEqualTo(429);
+        assertThat(batchStatus("10.0.0.2", null)).isEqualTo(200);
+    }
+
+    @Test
+    void locationBatchWithRiderHeaderIsChargedAgainstThatRider() throws Exception {
+        assertThat(batchStatus("10.0.0.1", "rider1")).isEqualTo(200);
+        assertThat(batchStatus("10.0.0.9", "rider1")).isEqualTo(429);
+        assertThat(batchStatus("10.0.0.1", "rider2")).isEqualTo(200);
+    }
+
+    private int batchStatus(String remoteAddr, String deliveryPersonId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/location/update-locations");
+        request.setRemoteAddr(remoteAddr);
+        if (deliveryPersonId != null) {
+            request.addHeader(AdmissionControlFilter.DELIVERY_PERSON_ID_HEADER, deliveryPersonId);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.delivery.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.session.MapSession;
+import org.springframework.session.SessionRepository;
+import org.springframework.session.web.http.SessionRepositoryFilter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class StatelessApiSessionFilterTest {
+
+    // 클라이언트가 UI 경로에서 받은 세션 쿠키를 API 호출에도 그대로 보내는 상황
+    private static final Cookie SESSION_COOKIE = new Cookie("SESSION",
+            Base64.getEncoder().encodeToString("existing-session".getBytes(StandardCharsets.UTF_8)));
+
+    private SessionRepository<MapSession> sessionRepository;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        sessionRepository = mock(SessionRepository.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProbeController())
+                .addFilters(
+                        new StatelessApiSessionFilter(List.of("/order/**", "/chat/**", "/location/**")),
+                        new SessionRepositoryFilter<>(sessionRepository))
+                .build();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/order/orderIdStatus", "/chat/messages", "/location/get-delivery-location"})
+    void hotApiEndpointsIssueNoSessionRedisCommands(String path) throws Exception {
+        mockMvc.perform(get(path).cookie(SESSION_COOKIE)).andExpect(status().isOk());
+
+        assertThat(sessionRedisCommands()).isZero();
+    }
+
+    @Test
+    void uiEndpointsStillUseRedisSession() throws Exception {
+        mockMvc.perform(get("/ui/home").cookie(SESSION_COOKIE)).andExpect(status().isOk());
+
+        assertThat(sessionRedisCommands()).isEqualTo(1);
+    }
+
+    // 세션 저장소 호출 1회 = Redis 명령 1회 이상이므로 호출 수로 Redis 부하를 측정
+    private int sessionRedisCommands() {
+        return mockingDetails(sessionRepository).getInvocations().size();
+    }
+
+    @RestController
+    static class ProbeController {
+
+        @GetMapping({"/order/orderIdStatus", "/chat/messages", "/location/get-delivery-location", "/ui/home"})
+        String probe(HttpServletRequest request) {
+            HttpSession session = request.getSession(false);
+            return session == null ? "none" : session.getId();
+        }
+    }
+}
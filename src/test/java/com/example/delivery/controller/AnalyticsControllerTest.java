@@ -0,0 +1,46 @@
+package com.example.delivery.controller;
+
+import com.example.delivery.dto.OrderAnalyticsDTO;
+import com.example.delivery.service.OrderAnalyticsProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AnalyticsControllerTest {
+
+    private OrderAnalyticsProjection projection;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        projection = mock(OrderAnalyticsProjection.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new AnalyticsController(projection)).build();
+    }
+
+    @Test
+    void acceptsWindowUpToOneDayOfMinutesAndOneWeekOfHours() throws Exception {
+        when(projection.getAnalytics(1440, 168)).thenReturn(OrderAnalyticsDTO.builder().build());
+
+        mockMvc.perform(get("/analytics").param("minutes", "1440").param("hours", "168"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rejectsWindowOutsideLimitsWithoutReadingRedis() throws Exception {
+        mockMvc.perform(get("/analytics").param("minutes", "1441")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/analytics").param("minutes", "0")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/analytics").param("hours", "169")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/analytics").param("hours", "0")).andExpect(status().isBadRequest());
+
+        verify(projection, never()).getAnalytics(anyInt(), anyInt());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.delivery.controller;
+
+import com.example.delivery.service.DispatchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class DispatchControllerTest {
+
+    private DispatchService dispatchService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        dispatchService = mock(DispatchService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new DispatchController(dispatchService)).build();
+    }
+
+    @Test
+    void acceptsPointInsideRangeWithMaximumRadius() throws Exception {
+        when(dispatchService.findNearestAvailableRiders(37.5, 127.0, 5, 50_000)).thenReturn(List.of());
+
+        mockMvc.perform(get("/dispatch/nearest-riders").param("latitude", "37.5").param("longitude", "127.0")
+                        .param("radiusMeters", "50000"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rejectsOversizedRadiusAndCoordinatesOutOfRange() throws Exception {
+        mockMvc.perform(get("/dispatch/nearest-riders").param("latitude", "37.5").param("longitude", "127.0")
+                        .param("radiusMeters", "1e9").param("k", "50"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/dispatch/nearest-riders").param("latitude", "91").param("longitude", "127.0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/dispatch/nearest-riders").param("latitude", "37.5").param("longitude", "-180.5"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/dispatch/nearest-riders").param("latitude", "NaN").param("longitude", "127.0"))
+                .andExpect(status().isBadRequest());
+
+        verify(dispatchService, never()).findNearestAvailableRiders(anyDouble(), anyDouble(), anyInt(), anyDouble());
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.delivery.controller;
+
+import com.example.delivery.service.AdmissionControl;
+import com.example.delivery.service.LocationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class LocationControllerTest {
+
+    private LocationService locationService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        locationService = mock(LocationService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new LocationController(locationService, mock(AdmissionControl.class))).build();
+    }
+
+    @Test
+    void bulkLookupRejectsNullAndBlankIds() throws Exception {
+        mockMvc.perform(post("/location/get-delivery-locations").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"deliveryPersonIds\":[\"rider1\",null]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/location/get-delivery-locations").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"deliveryPersonIds\":[\"rider1\",\" \"]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(locationService, never()).getDeliveryLocations(anyList());
+    }
+}
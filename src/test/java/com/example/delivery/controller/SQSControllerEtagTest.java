@@ -0,0 +1,75 @@
+package com.example.delivery.controller;
+
+import com.example.delivery.service.GeofenceEngine;
+import com.example.delivery.service.GeofenceStore;
+import com.example.delivery.service.OrderExpirySweeper;
+import com.example.delivery.service.OrderHistoryProjection;
+import com.example.delivery.service.OrderNotificationProjection;
+import com.example.delivery.service.OrderVersionService;
+import com.example.delivery.service.SQSService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class SQSControllerEtagTest {
+
+    private SQSService sqsService;
+    private OrderVersionService orderVersionService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        sqsService = mock(SQSService.class);
+        orderVersionService = mock(OrderVersionService.class);
+        SQSController controller = new SQSController(sqsService, mock(OrderExpirySweeper.class), orderVersionService,
+                mock(OrderHistoryProjection.class), mock(OrderNotificationProjection.class), mock(GeofenceStore.class),
+                mock(GeofenceEngine.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void returnsNotModifiedWithoutReadingOrdersWhenEtagMatches() throws Exception {
+        when(orderVersionService.userEtag("user1")).thenReturn("\"u-1700000000002\"");
+
+        mockMvc.perform(get("/order/userIdLIst").param("userId", "user1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"u-1700000000002\""))
+                .andExpect(status().isNotModified());
+
+        verify(sqsService, never()).getUserIdList("user1");
+    }
+
+    @Test
+    void returnsBodyAndNewEtagWhenVersionChanged() throws Exception {
+        when(orderVersionService.riderEtag("rider1")).thenReturn("\"r-1700000000005\"");
+        when(sqsService.getRiderIdList("rider1")).thenReturn(List.of());
+
+        mockMvc.perform(get("/order/getRiderOrdersList").param("riderId", "rider1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"r-1700000000004\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"r-1700000000005\""));
+    }
+
+    @Test
+    void staleEtagFromDeletedOrderDoesNotMatchRecreatedOrder() throws Exception {
+        // 삭제 전 "o-1"을 받아 둔 클라이언트 (새 버전은 현재 시각 기반)
+        when(orderVersionService.orderEtag("order1")).thenReturn("\"o-1700000000001\"");
+
+        mockMvc.perform(get("/order/orderIdStatus").param("orderId", "order1").param("status", "배달중")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"o-1\""))
+                .andExpect(status().isOk());
+
+        verify(sqsService).getOrdersByStatusAndId("order1", "배달중");
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.delivery.service;
+
+import io.awspring.cloud.sqs.listener.BackPressureHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+import java.util.Map;
+
+import static com.example.delivery.service.AdaptiveListenerConcurrency.CHAT_LISTENER_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AdaptiveListenerConcurrencyTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final SqsClient sqsClient = mock(SqsClient.class);
+    private AdaptiveListenerConcurrency controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new AdaptiveListenerConcurrency(sqsClient, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(controller, "chatQueueUrl", "http://localhost:9324/000000000000/chat.fifo");
+        ReflectionTestUtils.setField(controller, "deliveryStatusQueueUrl", "http://localhost:9324/000000000000/deliveryStatus");
+        ReflectionTestUtils.setField(controller, "enabled", true);
+        ReflectionTestUtils.setField(controller, "initialConcurrency", 8);
+        ReflectionTestUtils.setField(controller, "minConcurrency", 2);
+        ReflectionTestUtils.setField(controller, "maxConcurrency", 20);
+        ReflectionTestUtils.setField(controller, "additiveStep", 2);
+        ReflectionTestUtils.setField(controller, "decreaseFactor", 0.5);
+        ReflectionTestUtils.setField(controller, "targetLatencyMs", 250.0);
+        ReflectionTestUtils.setField(controller, "maxFailureRatio", 0.2);
+        ReflectionTestUtils.setField(controller, "cooldownMs", 30_000L);
+        controller.registerListeners();
+        backlog(0);
+    }
+
+    @Test
+    void decreasesImmediatelyEvenInsideCooldown() {
+        // 방금 조정한 직후(쿨다운 중)라도 과부하면 바로 절반
+        assertThat(controller.nextConcurrency(8, 400, 0, 0, 0)).isEqualTo(4);
+        assertThat(controller.nextConcurrency(8, 100, 0.5, 0, 0)).isEqualTo(4);
+        assertThat(controller.nextConcurrency(3, 400, 0, 0, 0)).isEqualTo(2);
+    }
+
+    @Test
+    void increasesOnlyWithBacklogAfterCooldown() {
+        assertThat(controller.nextConcurrency(8, 100, 0, 100, 1_000)).isEqualTo(8);
+        assertThat(controller.nextConcurrency(8, 100, 0, 100, 30_000)).isEqualTo(10);
+        assertThat(controller.nextConcurrency(8, 100, 0, 5, 30_000)).isEqualTo(8);
+        assertThat(controller.nextConcurrency(19, 100, 0, 100, 30_000)).isEqualTo(20);
+    }
+
+    @Test
+    void pollRequestsOnlyAsManyMessagesAsThereArePermits() throws InterruptedException {
+        BackPressureHandler handler = controller.backPressureHandler(CHAT_LISTENER_ID);
+
+        // 폴링 크기 10을 요청해도 permit 8개만큼만 받아 옴
+        assertThat(handler.request(10)).isEqualTo(8);
+        assertThat(controller.state(CHAT_LISTENER_ID).available()).isZero();
+        // permit이 없으면 메시지를 받지 않고 0을 돌려줌
+        assertThat(handler.request(10)).isZero();
+
+        // 폴링 결과가 3개뿐이면 컨테이너가 나머지 5개를 돌려줌
+        handler.release(5);
+        assertThat(handler.request(10)).isEqualTo(5);
+    }
+
+    @Test
+    void shrinkingLimitTakesEffectAsInFlightMessagesFinish() throws InterruptedException {
+        BackPressureHandler handler = controller.backPressureHandler(CHAT_LISTENER_ID);
+        for (int i = 0; i < 8; i++) {
+            controller.record(CHAT_LISTENER_ID, 400 * MS, true);
+        }
+        // 처리 중인 메시지 4개를 둔 채로 과부하 감지 → 8에서 4로
+        assertThat(handler.request(4)).isEqualTo(4);
+        controller.adjust();
+
+        assertThat(controller.state(CHAT_LISTENER_ID).concurrency()).isEqualTo(4);
+        assertThat(controller.state(CHAT_LISTENER_ID).available()).isZero();
+
+        for (int i = 0; i < 4; i++) {
+            handler.release(1);
+        }
+        assertThat(controller.state(CHAT_LISTENER_ID).available()).isEqualTo(4);
+    }
+
+    @Test
+    void growsWithBacklogAfterCooldown() throws InterruptedException {
+        backlog(100);
+        BackPressureHandler handler = controller.backPressureHandler(CHAT_LISTENER_ID);
+        controller.record(CHAT_LISTENER_ID, 10 * MS, true);
+        // 처리 중인 메시지 1개
+        assertThat(handler.request(1)).isEqualTo(1);
+
+        controller.adjust();
+
+        assertThat(controller.state(CHAT_LISTENER_ID).concurrency()).isEqualTo(10);
+        assertThat(controller.state(CHAT_LISTENER_ID).available()).isEqualTo(9);
+    }
+
+    @Test
+    void unknownListenerKeepsContainerDefaultBackPressure() {
+        assertThat(controller.backPressureHandler("locationListener")).isNull();
+        assertThat(controller.backPressureHandler(null)).isNull();
+    }
+
+    @Test
+    void rejectsSettingsTheContainerCannotStartWith() {
+        ReflectionTestUtils.setField(controller, "maxConcurrency", 5);
+        ReflectionTestUtils.setField(controller, "initialConcurrency", 4);
+        assertThatThrownBy(controller::validate).isInstanceOf(IllegalStateException.class);
+
+        ReflectionTestUtils.setField(controller, "maxConcurrency", 20);
+        ReflectionTestUtils.setField(controller, "initialConcurrency", 30);
+        assertThatThrownBy(controller::validate).isInstanceOf(IllegalStateException.class);
+    }
+
+    private void backlog(long messages) {
+        when(sqsClient.getQueueAttributes(any(GetQueueAttributesRequest.class))).thenReturn(GetQueueAttributesResponse.builder()
+                .attributes(Map.of(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES, String.valueOf(messages)))
+                .build());
+    }
+}
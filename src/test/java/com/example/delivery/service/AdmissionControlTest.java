@@ -0,0 +1,101 @@
+package com.example.delivery.service;
+
+import com.example.delivery.service.AdmissionControl.EndpointClass;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AdmissionControlTest {
+
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+
+    @Test
+    void filterAndControllerChargeSameKeyOnce() {
+        AdmissionControl admission = admission("location-write=1/2", 100, false, "");
+
+        // 필터(헤더)와 컨트롤러(본문)가 같은 요청에서 같은 배달원을 판정
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        assertThat(admission.admit(first, EndpointClass.LOCATION_WRITE, "rider1").isAdmitted()).isTrue();
+        assertThat(admission.admit(first, EndpointClass.LOCATION_WRITE, "rider1").isAdmitted()).isTrue();
+
+        // 첫 요청은 토큰 1개만 썼으므로 두 번째 요청까지 허용, 세 번째는 거절
+        assertThat(admission.admit(new MockHttpServletRequest(), EndpointClass.LOCATION_WRITE, "rider1").isAdmitted()).isTrue();
+        AdmissionControl.Decision third = admission.admit(new MockHttpServletRequest(), EndpointClass.LOCATION_WRITE, "rider1");
+        assertThat(third.isAdmitted()).isFalse();
+        assertThat(third.toHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    void newKeyEvictsLeastRecentlyUsedBucketOnceCapIsReached() {
+        AdmissionControl admission = admission("chat-send=1/1", 2, false, "");
+
+        assertThat(admission.admit(new MockHttpServletRequest(), EndpointClass.CHAT_SEND, "user1").isAdmitted()).isTrue();
+        assertThat(admission.admit(new MockHttpServletRequest(), EndpointClass.CHAT_SEND, "user2").isAdmitted()).isTrue();
+        // user1을 다시 써서 user2가 가장 오래 쓰이지 않은 키가 됨
+        assertThat(admission.admit(new MockHttpServletRequest(), EndpointClass.CHAT_SEND, "user1").isAdmitted()).isFalse();
+
+        // 상한에 닿은 뒤의 새 키는 자기 버킷을 받고, 공용 버킷을 나눠 쓰지 않음
+        assertThat(admission.admit(new MockHttpServletRequest(), EndpointClass.CHAT_SEND, "random-1").isAdmitted()).isTrue();
+        assertThat(admission.admit(new MockHttpServletRequest(), EndpointClass.CHAT_SEND, "random-2").isAdmitted()).isTrue();
+        // 최근에 쓴 키는 제거되지 않아 제한이 유지됨
+        assertThat(admission.admit(new MockHttpServletRequest(), EndpointClass.CHAT_SEND, "random-2").isAdmitted()).isFalse();
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> chatSend = (Map<String, Object>) admission.getStats().get("chat-send");
+        assertThat(chatSend.get("trackedKeys")).isEqualTo(2);
+        assertThat(chatSend.get("evicted")).isEqualTo(2L);
+    }
+
+    @Test
+    void admitEachReturnsOnlyRejectedKeys() {
+        AdmissionControl admission = admission("location-write=1/1", 100, false, "");
+        admission.admit(new MockHttpServletRequest(), EndpointClass.LOCATION_WRITE, "rider1");
+
+        Map<String, AdmissionControl.Decision> rejected = admission.admitEach(new MockHttpServletRequest(),
+                EndpointClass.LOCATION_WRITE, List.of("rider1", "rider2", "rider3"));
+
+        assertThat(rejected).containsOnlyKeys("rider1");
+    }
+
+    @Test
+    void clusterFlushBlocksKeyOverClusterLimit() {
+        AdmissionControl admission = admission("location-write=100/100", 100, true, "location-write=3");
+        // INCRBY 결과(전체 인스턴스 합계)가 한도 3을 넘었다고 응답
+        when(redis.executePipelined(any(RedisCallback.class))).thenReturn(List.of(4L, true));
+
+        assertThat(admission.admit(new MockHttpServletRequest(), EndpointClass.LOCATION_WRITE, "rider1").isAdmitted()).isTrue();
+        admission.flushClusterCounts();
+
+        AdmissionControl.Decision blocked = admission.admit(new MockHttpServletRequest(), EndpointClass.LOCATION_WRITE, "rider1");
+        assertThat(blocked.isAdmitted()).isFalse();
+        assertThat(Long.parseLong(blocked.toHeaders().getFirst(HttpHeaders.RETRY_AFTER))).isBetween(1L, 61L);
+        // 집계되지 않은 다른 배달원은 계속 허용
+        assertThat(admission.admit(new MockHttpServletRequest(), EndpointClass.LOCATION_WRITE, "rider2").isAdmitted()).isTrue();
+    }
+
+    @Test
+    void clusterFlushFailureKeepsLocalLimitsOnly() {
+        AdmissionControl admission = admission("location-write=100/100", 100, true, "location-write=3");
+        when(redis.executePipelined(any(RedisCallback.class))).thenThrow(new IllegalStateException("redis down"));
+
+        admission.admit(new MockHttpServletRequest(), EndpointClass.LOCATION_WRITE, "rider1");
+        admission.flushClusterCounts();
+
+        assertThat(admission.admit(new MockHttpServletRequest(), EndpointClass.LOCATION_WRITE, "rider1").isAdmitted()).isTrue();
+    }
+
+    private AdmissionControl admission(String limits, int maxKeysPerClass, boolean clusterEnabled, String clusterLimits) {
+        return new AdmissionControl(redis, new SimpleMeterRegistry(), true, limits, maxKeysPerClass, clusterEnabled, clusterLimits);
+    }
+}
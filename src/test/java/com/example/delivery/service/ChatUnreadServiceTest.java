@@ -0,0 +1,83 @@
+package com.example.delivery.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChatUnreadServiceTest {
+
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    private final ChatUnreadService unreadService = new ChatUnreadService(redisTemplate, stringRedisTemplate);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        HashOperations<String, Object, Object> hash = mock(HashOperations.class);
+        when(redisTemplate.opsForHash()).thenReturn(hash);
+        when(hash.get(SQSService.REDIS_ORDER_USER_IDS_KEY, "order1")).thenReturn("user1");
+        when(hash.get(SQSService.REDIS_ORDER_RIDER_IDS_KEY, "order1")).thenReturn("rider1");
+    }
+
+    @Test
+    void recipientsExcludeSender() {
+        assertThat(unreadService.recipients("order1", "user1")).containsExactly("rider1");
+        assertThat(unreadService.recipients("order1", "rider1")).containsExactly("user1");
+        assertThat(unreadService.recipients("order1", "admin")).containsExactly("user1", "rider1");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void markReadRecountsInsideOneScript() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(2L);
+
+        long unread = unreadService.markRead("user1", "order1", 1_700_000_000_000L);
+
+        assertThat(unread).isEqualTo(2);
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(stringRedisTemplate).execute(any(RedisScript.class), keys.capture(),
+                eq("order1"), eq("user1"), eq("1700000000000"), eq(String.valueOf(ChatUnreadService.TTL_SECONDS)));
+        // 채팅 내역, 읽음 위치, 카운터를 같은 스크립트에서 다룸
+        assertThat(keys.getValue()).containsExactly("chat:order1", "chatReadCursor:user1", "chatUnread:user1");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void markReadWithoutTimestampLeavesCursorToNewestStoredMessage() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(0L);
+
+        unreadService.markRead("user1", "order1", null);
+
+        // 서버 현재 시각 대신 빈 값을 넘겨 스크립트가 chat:order1의 가장 최신 메시지 시각을 읽음 위치로 씀
+        verify(stringRedisTemplate).execute(any(RedisScript.class), anyList(),
+                eq("order1"), eq("user1"), eq(""), eq(String.valueOf(ChatUnreadService.TTL_SECONDS)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void storeIncrementsOtherParticipantsInSameScriptAsPush() throws Exception {
+        ChatMessageStore store = new ChatMessageStore(stringRedisTemplate, new ObjectMapper(), unreadService, mock(HotPathLogger.class));
+
+        store.store("order1", "user1", "customer", "hello", 1_700_000_000_000L);
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(stringRedisTemplate).execute(any(RedisScript.class), keys.capture(), any(Object[].class));
+        // 보낸 사람(user1)을 뺀 라이더의 카운터와 읽음 위치만 전달
+        assertThat(keys.getValue()).containsExactly("chat:order1", "chatUnread:rider1", "chatReadCursor:rider1");
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.delivery.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeadLetterServiceTest {
+
+    private static final String QUEUE_URL = "http://localhost:9324/000000000000/order.fifo";
+
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    private final StreamOperations<String, Object, Object> streams = mock(StreamOperations.class);
+    private final SqsGateway sqsGateway = mock(SqsGateway.class);
+    private final DeadLetterService deadLetterService =
+            new DeadLetterService(stringRedisTemplate, sqsGateway, new ObjectMapper());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(deadLetterService, "permanentMaxAttempts", 2);
+        ReflectionTestUtils.setField(deadLetterService, "transientMaxAttempts", 10);
+        ReflectionTestUtils.setField(deadLetterService, "maxStreamLength", 10_000L);
+        when(stringRedisTemplate.opsForStream()).thenReturn(streams);
+        when(streams.add(any(MapRecord.class))).thenReturn(RecordId.of("1-0"));
+        when(sqsGateway.send(any(SendMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(SendMessageResponse.builder().build()));
+    }
+
+    @Test
+    void poisonAndMalformedMessagesArePermanentOtherFailuresTransient() {
+        assertThat(deadLetterService.classify(new PoisonMessageException("missing orderId")))
+                .isEqualTo(DeadLetterService.FailureClass.PERMANENT);
+        assertThat(deadLetterService.classify(new JsonParseException(null, "bad json")))
+                .isEqualTo(DeadLetterService.FailureClass.PERMANENT);
+        assertThat(deadLetterService.classify(new RedisConnectionFailureException("redis down")))
+                .isEqualTo(DeadLetterService.FailureClass.TRANSIENT);
+        assertThat(deadLetterService.classify(new QueryTimeoutException("timeout")))
+                .isEqualTo(DeadLetterService.FailureClass.TRANSIENT);
+    }
+
+    @Test
+    void permanentFailureIsQuarantinedOnceReceiveCountReachesLimit() {
+        PoisonMessageException poison = new PoisonMessageException("missing orderId");
+
+        assertThat(deadLetterService.handleFailure("order", QUEUE_URL, message("1"), poison)).isFalse();
+        verify(sqsGateway, never()).delete(anyString(), anyString());
+
+        assertThat(deadLetterService.handleFailure("order", QUEUE_URL, message("2"), poison)).isTrue();
+        verify(streams).add(any(MapRecord.class));
+        // 원래 큐에서의 삭제는 리스너 컨테이너의 확인 응답에 맡김 (DeleteMessage 중복 방지)
+        verify(sqsGateway, never()).delete(anyString(), anyString());
+    }
+
+    @Test
+    void transientFailureWaitsForRedeliveryUntilItsOwnLimit() {
+        RedisConnectionFailureException redisDown = new RedisConnectionFailureException("redis down");
+
+        // 영구 실패 한도(2)를 넘어도 일시 실패는 재전달을 기다림
+        assertThat(deadLetterService.handleFailure("order", QUEUE_URL, message("2"), redisDown)).isFalse();
+        assertThat(deadLetterService.handleFailure("order", QUEUE_URL, message("9"), redisDown)).isFalse();
+        verify(streams, never()).add(any(MapRecord.class));
+        verify(sqsGateway, never()).delete(anyString(), anyString());
+
+        assertThat(deadLetterService.handleFailure("order", QUEUE_URL, message("10"), redisDown)).isTrue();
+        verify(streams).add(any(MapRecord.class));
+    }
+
+    @Test
+    void missingOrInvalidReceiveCountCountsAsFirstAttempt() {
+        PoisonMessageException poison = new PoisonMessageException("missing orderId");
+        Message noCount = Message.builder().messageId("m1").receiptHandle("receipt-1").body("{}").build();
+
+        assertThat(deadLetterService.handleFailure("order", QUEUE_URL, noCount, poison)).isFalse();
+        assertThat(deadLetterService.handleFailure("order", QUEUE_URL, message("abc"), poison)).isFalse();
+        verify(sqsGateway, never()).delete(anyString(), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void quarantinedFifoMessageKeepsItsGroupAndIsReplayedIntoIt() {
+        deadLetterService.handleFailure("order", QUEUE_URL, message("2"), new PoisonMessageException("bad status"));
+        ArgumentCaptor<MapRecord<String, String, String>> stored = ArgumentCaptor.forClass(MapRecord.class);
+        verify(streams).add(stored.capture());
+        Map<String, String> fields = stored.getValue().getValue();
+        assertThat(fields).containsEntry("messageGroupId", "order1").containsEntry("failureClass", "PERMANENT");
+
+        when(streams.range(anyString(), any(Range.class))).thenReturn(List.of(
+                StreamRecords.newRecord().in("sqs:deadLetters").withId(RecordId.of("5-0")).ofMap(new HashMap<Object, Object>(fields))));
+
+        assertThat(deadLetterService.replay("5-0")).isTrue();
+
+        ArgumentCaptor<SendMessageRequest> sent = ArgumentCaptor.forClass(SendMessageRequest.class);
+        verify(sqsGateway).send(sent.capture());
+        assertThat(sent.getValue().queueUrl()).isEqualTo(QUEUE_URL);
+        assertThat(sent.getValue().messageBody()).isEqualTo("{\"orderId\":\"order1\"}");
+        // 같은 주문 그룹으로 보내 순서를 지키고, 다시 재생해도 중복 제거되도록 격리 id 기반 중복 제거 id 사용
+        assertThat(sent.getValue().messageGroupId()).isEqualTo("order1");
+        assertThat(sent.getValue().messageDeduplicationId()).isEqualTo("replay-5-0");
+        verify(streams).delete("sqs:deadLetters", "5-0");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void standardQueueReplayHasNoGroupOrDeduplicationId() {
+        when(streams.range(anyString(), any(Range.class))).thenReturn(List.of(
+                StreamRecords.newRecord().in("sqs:deadLetters").withId(RecordId.of("6-0")).ofMap(Map.<Object, Object>of(
+                        "queueUrl", "http://localhost:9324/000000000000/location", "body", "{}"))));
+
+        assertThat(deadLetterService.replay("6-0")).isTrue();
+
+        ArgumentCaptor<SendMessageRequest> sent = ArgumentCaptor.forClass(SendMessageRequest.class);
+        verify(sqsGateway).send(sent.capture());
+        assertThat(sent.getValue().messageGroupId()).isNull();
+        assertThat(sent.getValue().messageDeduplicationId()).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replayOfUnknownIdSendsNothing() {
+        when(streams.range(anyString(), any(Range.class))).thenReturn(List.of());
+
+        assertThat(deadLetterService.replay("7-0")).isFalse();
+        verify(sqsGateway, never()).send(any(SendMessageRequest.class));
+        verify(streams, never()).delete(eq("sqs:deadLetters"), anyString());
+    }
+
+    private static Message message(String receiveCount) {
+        return Message.builder()
+                .messageId("m1")
+                .receiptHandle("receipt-1")
+                .body("{\"orderId\":\"order1\"}")
+                .attributes(Map.of(
+                        MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, receiveCount,
+                        MessageSystemAttributeName.MESSAGE_GROUP_ID, "order1"))
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.NearbyRiderDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DispatchServiceTest {
+
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    private DispatchService dispatchService;
+
+    @BeforeEach
+    void setUp() {
+        dispatchService = new DispatchService(redisTemplate, stringRedisTemplate,
+                mock(RedisMessageListenerContainer.class), 0.01, 16);
+        ReflectionTestUtils.setField(dispatchService, "resyncBatchSize", 500);
+        ReflectionTestUtils.setField(dispatchService, "staleAfterMs", 86_400_000L);
+    }
+
+    @Test
+    void appliesLocationsPublishedByOtherReplicas() {
+        dispatchService.onLocationMessage(message("other-instance\nrider1,37.5,127.0\nrider,2,37.51,127.01"), null);
+
+        assertThat(dispatchService.indexedRiderCount()).isEqualTo(2);
+        List<NearbyRiderDTO> nearest = dispatchService.findNearestAvailableRiders(37.5, 127.0, 1, 1_000);
+        assertThat(nearest).extracting(NearbyRiderDTO::getDeliveryPersonId).containsExactly("rider1");
+    }
+
+    @Test
+    void skipsOwnLocationMessages() {
+        dispatchService.onLocationMessage(message(DispatchService.INSTANCE_ID + "\nrider1,37.5,127.0"), null);
+
+        assertThat(dispatchService.indexedRiderCount()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void snapshotResyncIsNotRepeatedUnlessIntervalIsSet() {
+        HashOperations<String, Object, Object> hash = mock(HashOperations.class);
+        when(redisTemplate.opsForHash()).thenReturn(hash);
+        when(hash.entries(SQSService.REDIS_ORDER_STATUSES_KEY)).thenReturn(Map.of("order1", "배달중"));
+        when(hash.entries(SQSService.REDIS_ORDER_RIDER_IDS_KEY)).thenReturn(Map.of("order1", "rider1"));
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(stringRedisTemplate.opsForValue()).thenReturn(values);
+        when(values.multiGet(anyList())).thenReturn(List.of("37.5,127.0", "37.6,127.1"));
+        when(stringRedisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation ->
+                cursor(List.of("delivery:location:rider1", "delivery:location:rider2")));
+
+        dispatchService.fullResync();
+        dispatchService.maintain();
+
+        // 정리 주기에는 Redis 전체를 다시 읽지 않음
+        verify(stringRedisTemplate, times(1)).scan(any(ScanOptions.class));
+        verify(hash, times(1)).entries(SQSService.REDIS_ORDER_STATUSES_KEY);
+        assertThat(dispatchService.indexedRiderCount()).isEqualTo(2);
+        // 배달중 주문이 있는 rider1은 배차 불가
+        assertThat(dispatchService.findNearestAvailableRiders(37.5, 127.0, 2, 50_000))
+                .extracting(NearbyRiderDTO::getDeliveryPersonId).containsExactly("rider2");
+    }
+
+    @Test
+    void riderWithSeveralOrdersStaysBusyUntilLastOneEnds() {
+        dispatchService.onLocationUpdate("rider1", 37.5, 127.0);
+        dispatchService.onOrderTransition("rider1", "order1", "배달중");
+        dispatchService.onOrderTransition("rider1", "order2", "배달중");
+
+        dispatchService.onOrderTransition("rider1", "order1", "배달완료");
+        assertThat(dispatchService.findNearestAvailableRiders(37.5, 127.0, 1, 1_000)).isEmpty();
+
+        // 같은 완료 이벤트가 다시 와도 남은 주문은 그대로
+        dispatchService.onOrderTransition("rider1", "order1", "배달끝");
+        assertThat(dispatchService.findNearestAvailableRiders(37.5, 127.0, 1, 1_000)).isEmpty();
+
+        dispatchService.onOrderTransition("rider1", "order2", "배달끝");
+        assertThat(dispatchService.findNearestAvailableRiders(37.5, 127.0, 1, 1_000))
+                .extracting(NearbyRiderDTO::getDeliveryPersonId).containsExactly("rider1");
+    }
+
+    @Test
+    void fullResyncFailurePropagatesSoSnapshotIsRetried() {
+        when(redisTemplate.opsForHash()).thenThrow(new IllegalStateException("redis down"));
+
+        assertThatThrownBy(dispatchService::fullResync).isInstanceOf(IllegalStateException.class);
+        verify(stringRedisTemplate, never()).scan(any(ScanOptions.class));
+    }
+
+    private DefaultMessage message(String payload) {
+        return new DefaultMessage(DispatchService.LOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cursor<String> cursor(List<String> keys) {
+        Iterator<String> iterator = keys.iterator();
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        return cursor;
+    }
+}
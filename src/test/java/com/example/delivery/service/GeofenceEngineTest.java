@@ -0,0 +1,88 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.GeofenceDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GeofenceEngineTest {
+
+    private final GeofenceStore geofenceStore = mock(GeofenceStore.class);
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    private final HashOperations<String, Object, Object> hash = mock(HashOperations.class);
+    private final List<GeofenceDTO> fences = List.of(GeofenceDTO.builder()
+            .orderId("order1").type(GeofenceStore.PICKUP).latitude(37.5).longitude(127.0).radiusMeters(50).build());
+    private GeofenceEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new GeofenceEngine(geofenceStore, mock(SQSService.class), redisTemplate, stringRedisTemplate,
+                mock(RedisMessageListenerContainer.class), new ObjectMapper(), new SimpleMeterRegistry(), 1.3);
+        when(redisTemplate.opsForHash()).thenReturn(hash);
+        when(hash.get(SQSService.REDIS_ORDER_STATUSES_KEY, "order1")).thenReturn("배달중");
+        when(hash.get(SQSService.REDIS_ORDER_RIDER_IDS_KEY, "order1")).thenReturn("rider1");
+        when(hash.get(SQSService.REDIS_ORDER_USER_IDS_KEY, "order1")).thenReturn("user1");
+        when(geofenceStore.getFences("order1")).thenReturn(fences);
+    }
+
+    @Test
+    void refreshPublishesOrderToOtherReplicas() {
+        engine.refreshOrder("order1");
+
+        assertThat(engine.activeOrderCount()).isEqualTo(1);
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(eq(GeofenceEngine.GEOFENCE_CHANNEL), payload.capture());
+        assertThat(payload.getValue()).endsWith("\norder1");
+
+        // 자기가 보낸 알림은 다시 처리하지 않음
+        engine.onGeofenceMessage(message(payload.getValue()), null);
+        verify(geofenceStore, times(1)).getFences("order1");
+    }
+
+    @Test
+    void appliesRegistrationFromOtherReplica() {
+        engine.onGeofenceMessage(message("other-instance\norder1"), null);
+
+        assertThat(engine.activeOrderCount()).isEqualTo(1);
+    }
+
+    @Test
+    void snapshotResyncIsNotRepeatedUnlessIntervalIsSet() {
+        when(hash.entries(SQSService.REDIS_ORDER_STATUSES_KEY)).thenReturn(Map.of("order1", "배달중", "order2", "배달완료"));
+        when(hash.entries(SQSService.REDIS_ORDER_RIDER_IDS_KEY)).thenReturn(Map.of("order1", "rider1", "order2", "rider2"));
+        when(hash.entries(SQSService.REDIS_ORDER_USER_IDS_KEY)).thenReturn(Map.of("order1", "user1"));
+        when(geofenceStore.getFences(anyList())).thenReturn(Map.of("order1", fences));
+
+        engine.fullResync();
+        engine.maintain();
+
+        // 정리 주기에는 주문 해시 전체를 다시 읽지 않음
+        verify(hash, times(1)).entries(SQSService.REDIS_ORDER_STATUSES_KEY);
+        assertThat(engine.activeOrderCount()).isEqualTo(1);
+    }
+
+    private DefaultMessage message(String payload) {
+        return new DefaultMessage(GeofenceEngine.GEOFENCE_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                payload.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.ChatMessageSqsRequestDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InProcessChatTransportTest {
+
+    private final ChatMessageStore chatMessageStore = mock(ChatMessageStore.class);
+    private final InProcessChatTransport transport =
+            new InProcessChatTransport(chatMessageStore, new SimpleMeterRegistry(), 2, 10);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        transport.shutdown();
+    }
+
+    @Test
+    void completesAfterMessageIsStored() throws Exception {
+        transport.send(message()).get(5, TimeUnit.SECONDS);
+
+        verify(chatMessageStore).store("order1", "user1", "USER", "hello", 1_700_000_000_000L);
+    }
+
+    @Test
+    void storeFailureFailsTheSend() throws Exception {
+        when(chatMessageStore.store(anyString(), anyString(), anyString(), anyString(), anyLong()))
+                .thenThrow(new RedisConnectionFailureException("redis down"));
+
+        CompletableFuture<Void> sent = transport.send(message());
+
+        // 저장 실패가 보낸 쪽 응답까지 전달되어야 메시지가 조용히 사라지지 않음
+        assertThatThrownBy(() -> sent.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RedisConnectionFailureException.class);
+        assertThat(sent).isCompletedExceptionally();
+    }
+
+    private static ChatMessageSqsRequestDTO message() {
+        return ChatMessageSqsRequestDTO.builder()
+                .Role("USER")
+                .orderId("order1")
+                .userId("user1")
+                .message("hello")
+                .timestamp("1700000000000")
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.LocationFixDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocationBatchDecoderTest {
+
+    @Test
+    void decodesFixesInOrder() throws IOException {
+        byte[] body = batch(new Object[][]{
+                {"rider1", 1_700_000_000_000L, 37.5665, 126.9780},
+                {"라이더2", 1_700_000_001_000L, 37.4979, 127.0276}
+        });
+
+        List<LocationFixDTO> fixes = LocationBatchDecoder.decode(body, 100);
+
+        assertThat(fixes).hasSize(2);
+        assertThat(fixes.get(0).getDeliveryPersonId()).isEqualTo("rider1");
+        assertThat(fixes.get(0).getTimestamp()).isEqualTo(1_700_000_000_000L);
+        assertThat(fixes.get(0).getLatitude()).isEqualTo(37.5665);
+        assertThat(fixes.get(1).getDeliveryPersonId()).isEqualTo("라이더2");
+        assertThat(fixes.get(1).getLongitude()).isEqualTo(127.0276);
+    }
+
+    @Test
+    void rejectsMalformedBatches() throws IOException {
+        byte[] body = batch(new Object[][]{{"rider1", 1L, 37.5, 127.0}});
+
+        byte[] truncated = java.util.Arrays.copyOf(body, body.length - 2);
+        assertThatThrownBy(() -> LocationBatchDecoder.decode(truncated, 100)).isInstanceOf(IllegalArgumentException.class);
+
+        byte[] badMagic = body.clone();
+        badMagic[0] = 'X';
+        assertThatThrownBy(() -> LocationBatchDecoder.decode(badMagic, 100)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> LocationBatchDecoder.decode(body, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    static byte[] batch(Object[][] fixes) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte('L');
+        out.writeByte('B');
+        out.writeByte(1);
+        out.writeShort(fixes.length);
+        for (Object[] fix : fixes) {
+            byte[] id = ((String) fix[0]).getBytes(StandardCharsets.UTF_8);
+            out.writeByte(id.length);
+            out.write(id);
+            out.writeLong((Long) fix[1]);
+            out.writeInt((int) Math.round((Double) fix[2] * 1e7));
+            out.writeInt((int) Math.round((Double) fix[3] * 1e7));
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.BulkLookupResponseDTO;
+import com.example.delivery.dto.LocationBatchResultDTO;
+import com.example.delivery.dto.LocationFixDTO;
+import com.example.delivery.dto.LocationRequestDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LocationServiceTest {
+
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    private final DispatchService dispatchService = mock(DispatchService.class);
+    private final GeofenceEngine geofenceEngine = mock(GeofenceEngine.class);
+    private final LocationService locationService = new LocationService(redisTemplate, stringRedisTemplate,
+            dispatchService, mock(HotPathLogger.class), mock(SingleFlight.class), geofenceEngine);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchSendsNewestFixPerRiderToScriptAndAppliesOnlyAcceptedOnes() {
+        List<List<String>> scriptKeys = new ArrayList<>();
+        List<Object[]> scriptArgs = new ArrayList<>();
+        // rider1은 저장, rider2는 이미 더 최신 위치가 있다고 스크립트가 응답
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            List<String> keys = invocation.getArgument(1);
+            Object[] args = new Object[invocation.getArguments().length - 2];
+            System.arraycopy(invocation.getArguments(), 2, args, 0, args.length);
+            scriptKeys.add(keys);
+            scriptArgs.add(args);
+            List<Long> applied = new ArrayList<>();
+            for (int i = 1; i < keys.size(); i++) {
+                applied.add(keys.get(i).endsWith("rider1") ? 1L : 0L);
+            }
+            return applied;
+        });
+
+        LocationBatchResultDTO result = locationService.updateLocations(List.of(
+                new LocationFixDTO("rider1", 1_000L, 37.50, 127.00),
+                new LocationFixDTO("rider1", 2_000L, 37.51, 127.01),
+                new LocationFixDTO("rider2", 1_500L, 37.40, 127.10),
+                new LocationFixDTO("rider3", 1_500L, 37.30, 127.20)), Set.of("rider3"));
+
+        assertThat(result.getReceived()).isEqualTo(4);
+        assertThat(result.getApplied()).isEqualTo(1);
+        assertThat(result.getSuperseded()).isEqualTo(2);
+        assertThat(result.getRateLimited()).isEqualTo(1);
+
+        // 배달원마다 같은 배치의 가장 최신 위치 한 건만 스크립트로 전달
+        assertThat(scriptKeys).hasSize(1);
+        assertThat(scriptKeys.get(0)).containsExactlyInAnyOrder(LocationService.LOCATION_FIX_TIMES_KEY,
+                "delivery:location:rider1", "delivery:location:rider2");
+        List<Object> args = List.of(scriptArgs.get(0));
+        assertThat(args).contains("rider1", "2000", "37.51,127.01").doesNotContain("1000", "rider3");
+
+        verify(dispatchService).onLocationUpdate("rider1", 37.51, 127.01);
+        verify(dispatchService, never()).onLocationUpdate(eq("rider2"), anyDouble(), anyDouble());
+        verify(geofenceEngine, never()).onLocation(eq("rider2"), anyDouble(), anyDouble());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchFixAheadOfServerClockIsStoredAtServerTime() {
+        ReflectionTestUtils.setField(locationService, "maxClockSkewMs", 5_000L);
+        List<Object[]> scriptArgs = new ArrayList<>();
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] args = new Object[invocation.getArguments().length - 2];
+            System.arraycopy(invocation.getArguments(), 2, args, 0, args.length);
+            scriptArgs.add(args);
+            return List.of(1L);
+        });
+
+        long before = System.currentTimeMillis();
+        LocationBatchResultDTO result = locationService.updateLocations(List.of(
+                new LocationFixDTO("rider1", before + 3_000L, 37.51, 127.01),
+                new LocationFixDTO("rider1", before + 2_000L, 37.50, 127.00),
+                // 허용 범위를 넘게 앞선 시각은 잘못된 위치
+                new LocationFixDTO("rider1", before + 60_000L, 37.52, 127.02)), Set.of());
+        long after = System.currentTimeMillis();
+
+        assertThat(result.getApplied()).isEqualTo(1);
+        assertThat(result.getInvalid()).isEqualTo(1);
+        // 배치 안에서는 단말 시각이 가장 늦은 위치를 고르고, 비교 시각은 서버 시각으로 잘라 단건 API와 같은 시계를 씀
+        Object[] args = scriptArgs.get(0);
+        assertThat(args[3]).isEqualTo("rider1");
+        assertThat(Long.parseLong((String) args[4])).isBetween(before, after);
+        assertThat(args[5]).isEqualTo("37.51,127.01");
+    }
+
+    @Test
+    void batchWithTooManyDistinctRidersIsRejectedBeforeAdmission() throws Exception {
+        ReflectionTestUtils.setField(locationService, "maxBatchFixes", 5000);
+        ReflectionTestUtils.setField(locationService, "maxBatchRiders", 2);
+
+        // 같은 배달원의 위치 여러 건은 한 명으로 셈
+        assertThat(locationService.decodeLocations(LocationBatchDecoderTest.batch(new Object[][]{
+                {"rider1", 1_000L, 37.5, 127.0}, {"rider1", 2_000L, 37.5, 127.0}, {"rider2", 1_000L, 37.5, 127.0}})))
+                .hasSize(3);
+        assertThatThrownBy(() -> locationService.decodeLocations(LocationBatchDecoderTest.batch(new Object[][]{
+                {"rider1", 1_000L, 37.5, 127.0}, {"rider2", 1_000L, 37.5, 127.0}, {"rider3", 1_000L, 37.5, 127.0}})))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void singleFixGoesThroughSameTimestampGuard() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(List.of(0L));
+
+        LocationRequestDTO request = new LocationRequestDTO();
+        request.setDeliveryPersonId("rider1");
+        request.setLatitude(37.5);
+        request.setLongitude(127.0);
+
+        assertThat(locationService.updateLocation(request)).isEqualTo("Location superseded by a newer fix");
+        verify(dispatchService, never()).onLocationUpdate(eq("rider1"), anyDouble(), anyDouble());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkLocationsSplitFoundAndNotFound() {
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.multiGet(List.of("delivery:location:rider1", "delivery:location:rider2", "delivery:location:rider3")))
+                .thenReturn(Arrays.asList("37.5,127.0", null, "broken"));
+
+        BulkLookupResponseDTO<Map<String, Double>> result =
+                locationService.getDeliveryLocations(List.of("rider1", "rider2", "rider1", "rider3"));
+
+        assertThat(result.getFound()).containsOnlyKeys("rider1");
+        assertThat(result.getFound().get("rider1")).containsEntry("latitude", 37.5).containsEntry("longitude", 127.0);
+        // 형식이 깨진 값도 찾지 못한 것으로 응답
+        assertThat(result.getNotFound()).containsExactly("rider2", "rider3");
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.OrderAnalyticsDTO;
+import com.example.delivery.dto.OrderEventDTO;
+import com.example.delivery.dto.TimeInStatusDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderAnalyticsProjectionTest {
+
+    // 2023-11-14 22:13:20 UTC
+    private static final long NOW = 1_700_000_000L;
+
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    private final OrderAnalyticsProjection projection =
+            new OrderAnalyticsProjection(stringRedisTemplate, Duration.ofDays(2), Duration.ofDays(7));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void transitionIsCountedPerMinuteAndTimeInStatusPerHour() {
+        List<List<String>> scriptKeys = new ArrayList<>();
+        List<Object[]> scriptArgs = new ArrayList<>();
+        captureScript(scriptKeys, scriptArgs);
+
+        projection.apply(event("7-0", "배달전", NOW - 250, "배달중", NOW));
+
+        assertThat(scriptKeys.get(0)).containsExactly(
+                OrderAnalyticsProjection.APPLIED_PREFIX + (NOW / 3600),
+                OrderAnalyticsProjection.TRANSITIONS_PREFIX + (NOW / 60),
+                OrderAnalyticsProjection.TIME_IN_STATUS_PREFIX + (NOW / 3600));
+        // 이벤트 ID로 중복을 거르고, 250초 체류는 le_300 구간, 반영 기록은 집계 구간 중 긴 보존 기간만큼 유지
+        assertThat(scriptArgs.get(0)).containsExactly("7-0", String.valueOf(Duration.ofDays(7).getSeconds()),
+                "배달중", String.valueOf(Duration.ofDays(2).getSeconds()),
+                "배달전", "le_300", "250", String.valueOf(Duration.ofDays(7).getSeconds()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void newOrderOnlyCountsTransition() {
+        List<List<String>> scriptKeys = new ArrayList<>();
+        captureScript(scriptKeys, new ArrayList<>());
+
+        projection.apply(event("8-0", null, 0, "배달전", NOW));
+        // 같은 상태로 다시 들어온 경우도 체류 시간은 남기지 않음
+        projection.apply(event("9-0", "배달중", NOW - 30, "배달중", NOW));
+
+        assertThat(scriptKeys).allSatisfy(keys -> assertThat(keys).hasSize(2));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void windowReadsOneHashPerMinuteAndHourUpToNow() {
+        List<String> readKeys = new ArrayList<>();
+        StringRedisConnection connection = mock(StringRedisConnection.class);
+        when(connection.hGetAll(any(String.class))).thenAnswer(invocation -> {
+            readKeys.add(invocation.getArgument(0));
+            return null;
+        });
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(connection);
+            return List.of(
+                    Map.of("배달중", "2"),
+                    Map.of(),
+                    Map.of("배달중", "1", "배달완료", "3"),
+                    Map.of("배달전|le_60", "1", "배달전|count", "1", "배달전|sum", "40"),
+                    Map.of("배달전|le_300", "1", "배달전|count", "1", "배달전|sum", "200"));
+        });
+
+        OrderAnalyticsDTO analytics = projection.getAnalytics(3, 2, NOW);
+
+        long minute = NOW / 60;
+        long hour = NOW / 3600;
+        assertThat(readKeys).containsExactly(
+                OrderAnalyticsProjection.TRANSITIONS_PREFIX + (minute - 2),
+                OrderAnalyticsProjection.TRANSITIONS_PREFIX + (minute - 1),
+                OrderAnalyticsProjection.TRANSITIONS_PREFIX + minute,
+                OrderAnalyticsProjection.TIME_IN_STATUS_PREFIX + (hour - 1),
+                OrderAnalyticsProjection.TIME_IN_STATUS_PREFIX + hour);
+        assertThat(analytics.getFrom()).isEqualTo("2023-11-14 22:11");
+        assertThat(analytics.getTo()).isEqualTo("2023-11-14 22:13");
+        assertThat(analytics.getTransitionsPerMinute()).containsOnlyKeys("2023-11-14 22:11", "2023-11-14 22:12", "2023-11-14 22:13");
+        assertThat(analytics.getTransitionTotals()).containsEntry("배달중", 3L).containsEntry("배달완료", 3L);
+
+        // 두 시간 구간을 합쳐 분포 계산
+        TimeInStatusDTO waiting = analytics.getTimeInStatus().get("배달전");
+        assertThat(waiting.getCount()).isEqualTo(2);
+        assertThat(waiting.getMeanSeconds()).isEqualTo(120.0);
+        assertThat(waiting.getP50()).isEqualTo("le_60");
+        assertThat(waiting.getP90()).isEqualTo("le_300");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void resetRemovesCountersAndAppliedEventIdsForRebuild() {
+        Iterator<String> keys = List.of(
+                OrderAnalyticsProjection.TRANSITIONS_PREFIX + "1",
+                OrderAnalyticsProjection.APPLIED_PREFIX + "1").iterator();
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> keys.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> keys.next());
+        when(stringRedisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+
+        projection.reset();
+
+        // 반영 기록도 지워야 rebuild가 이벤트를 처음부터 다시 집계함
+        verify(stringRedisTemplate).unlink(List.of(
+                OrderAnalyticsProjection.TRANSITIONS_PREFIX + "1",
+                OrderAnalyticsProjection.APPLIED_PREFIX + "1"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void captureScript(List<List<String>> scriptKeys, List<Object[]> scriptArgs) {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] args = new Object[invocation.getArguments().length - 2];
+            System.arraycopy(invocation.getArguments(), 2, args, 0, args.length);
+            scriptKeys.add(invocation.getArgument(1));
+            scriptArgs.add(args);
+            return 1L;
+        });
+    }
+
+    private static OrderEventDTO event(String id, String fromStatus, long fromEventTime, String toStatus, long eventTime) {
+        return OrderEventDTO.builder()
+                .id(id)
+                .orderId("order1")
+                .fromStatus(fromStatus)
+                .fromEventTime(fromEventTime)
+                .toStatus(toStatus)
+                .eventTime(eventTime)
+                .build();
+    }
+}
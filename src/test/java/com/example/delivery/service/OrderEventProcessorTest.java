@@ -0,0 +1,242 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.OrderEventDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.Subscription;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class OrderEventProcessorTest {
+
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    private final StreamOperations<String, Object, Object> streams = mock(StreamOperations.class);
+    private final StreamMessageListenerContainer<String, MapRecord<String, String, String>> container =
+            mock(StreamMessageListenerContainer.class);
+    private final OrderEventProjection shared = projection("orderHistory", false);
+    private final OrderEventProjection perInstance = projection("riderAvailability", true);
+    private OrderEventProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        when(redis.opsForStream()).thenReturn(streams);
+        when(container.register(any(), any())).thenReturn(mock(Subscription.class));
+        processor = new OrderEventProcessor(redis, mock(RedisConnectionFactory.class), List.of(shared, perInstance), "pod-1");
+    }
+
+    @Test
+    void startDoesNotTouchRedis() {
+        processor.start();
+        processor.stop();
+
+        verifyNoInteractions(redis);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void subscriptionIsRetriedUntilRedisIsReachable() {
+        running();
+        when(redis.execute(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("redis down"))
+                .thenReturn("OK");
+        doThrow(new RedisConnectionFailureException("redis down")).doNothing().when(perInstance).loadSnapshot();
+
+        processor.subscribeMissing();
+        verify(container, never()).register(any(), any());
+
+        processor.subscribeMissing();
+        verify(container, times(2)).register(any(), any());
+
+        // 모두 구독한 뒤에는 다시 시도하지 않음
+        processor.subscribeMissing();
+        verify(container, times(2)).register(any(), any());
+    }
+
+    @Test
+    void perInstanceProjectionReadsFromTailCapturedBeforeSnapshot() {
+        when(streams.reverseRange(eq(OrderEventLog.ORDER_EVENTS_STREAM_KEY), any(Range.class), any(Limit.class)))
+                .thenReturn(List.of(StreamRecords.newRecord().in(OrderEventLog.ORDER_EVENTS_STREAM_KEY)
+                        .withId(RecordId.of("5-0")).ofMap(Map.<Object, Object>of("orderId", "order1"))));
+
+        ReadOffset offset = processor.snapshotOffset(perInstance);
+
+        assertThat(offset.getOffset()).isEqualTo("5-0");
+        InOrder order = inOrder(streams, perInstance);
+        order.verify(streams).reverseRange(eq(OrderEventLog.ORDER_EVENTS_STREAM_KEY), any(Range.class), any(Limit.class));
+        order.verify(perInstance).loadSnapshot();
+    }
+
+    @Test
+    void emptyStreamStartsFromBeginning() {
+        when(streams.reverseRange(eq(OrderEventLog.ORDER_EVENTS_STREAM_KEY), any(Range.class), any(Limit.class)))
+                .thenReturn(List.of());
+
+        assertThat(processor.snapshotOffset(perInstance).getOffset()).isEqualTo("0-0");
+    }
+
+    @Test
+    void sharedProjectionAcknowledgesOnlyAppliedEvents() {
+        MapRecord<String, String, String> record = record("7-0");
+        processor.handle(shared, record);
+        verify(streams).acknowledge(OrderEventLog.ORDER_EVENTS_STREAM_KEY, "orderHistory", record.getId());
+
+        MapRecord<String, String, String> failing = record("8-0");
+        doThrow(new IllegalStateException("boom")).when(shared).apply(any(OrderEventDTO.class));
+        processor.handle(shared, failing);
+        // 실패한 이벤트는 pending에 남겨 claimStalePending이 다시 처리
+        verify(streams, never()).acknowledge(OrderEventLog.ORDER_EVENTS_STREAM_KEY, "orderHistory", failing.getId());
+    }
+
+    @Test
+    void perInstanceProjectionNeverAcknowledges() {
+        processor.handle(perInstance, record("7-0"));
+
+        verify(perInstance).apply(any(OrderEventDTO.class));
+        verifyNoInteractions(streams);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sharedRebuildResetsOnlyAfterEveryLiveConsumerPaused() {
+        running();
+        SetOperations<String, String> sets = rebuildLock(true);
+        ReflectionTestUtils.setField(processor, "rebuildPauseTimeoutMs", 5_000L);
+        ReflectionTestUtils.setField(processor, "claimIdleMs", 60_000L);
+        // pod-2는 두 번째 확인에서야 멈췄다고 알림, 오래 조용한 pod-3은 죽은 레플리카로 보고 기다리지 않음
+        consumers(consumer("pod-1", 10), consumer("pod-2", 10), consumer("pod-3", 600_000));
+        when(sets.members(OrderEventProcessor.REBUILD_PAUSED_PREFIX + "orderHistory"))
+                .thenReturn(Set.of("pod-1"))
+                .thenReturn(Set.of("pod-1", "pod-2"));
+
+        assertThat(processor.rebuild("orderHistory")).isTrue();
+
+        InOrder order = inOrder(sets, streams, shared, redis);
+        order.verify(sets, times(2)).members(OrderEventProcessor.REBUILD_PAUSED_PREFIX + "orderHistory");
+        order.verify(streams).destroyGroup(OrderEventLog.ORDER_EVENTS_STREAM_KEY, "orderHistory");
+        order.verify(shared).reset();
+        order.verify(redis).delete(List.of(OrderEventProcessor.REBUILD_LOCK_PREFIX + "orderHistory",
+                OrderEventProcessor.REBUILD_PAUSED_PREFIX + "orderHistory"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sharedRebuildLeavesGroupAloneWhenAReplicaDoesNotPause() {
+        running();
+        SetOperations<String, String> sets = rebuildLock(true);
+        ReflectionTestUtils.setField(processor, "claimIdleMs", 60_000L);
+        consumers(consumer("pod-1", 10), consumer("pod-2", 10));
+        when(sets.members(OrderEventProcessor.REBUILD_PAUSED_PREFIX + "orderHistory")).thenReturn(Set.of("pod-1"));
+
+        assertThatThrownBy(() -> processor.rebuild("orderHistory")).isInstanceOf(IllegalStateException.class);
+
+        verify(streams, never()).destroyGroup(any(), any());
+        verify(shared, never()).reset();
+        verify(redis).delete(List.of(OrderEventProcessor.REBUILD_LOCK_PREFIX + "orderHistory",
+                OrderEventProcessor.REBUILD_PAUSED_PREFIX + "orderHistory"));
+    }
+
+    @Test
+    void concurrentRebuildOfSameProjectionIsRefused() {
+        running();
+        rebuildLock(false);
+
+        assertThatThrownBy(() -> processor.rebuild("orderHistory")).isInstanceOf(IllegalStateException.class);
+        verify(shared, never()).reset();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replicaPausesWhileAnotherRebuildsAndResumesAfterwards() {
+        running();
+        SetOperations<String, String> sets = mock(SetOperations.class);
+        when(redis.opsForSet()).thenReturn(sets);
+        when(redis.hasKey(OrderEventProcessor.REBUILD_LOCK_PREFIX + "orderHistory")).thenReturn(true, false);
+
+        processor.followRebuilds();
+        verify(sets).add(OrderEventProcessor.REBUILD_PAUSED_PREFIX + "orderHistory", "pod-1");
+        // 멈춘 동안 뒤늦게 전달된 이벤트는 적용·ACK하지 않음
+        processor.handle(shared, record("7-0"));
+        verify(shared, never()).apply(any(OrderEventDTO.class));
+        verify(streams, never()).acknowledge(any(String.class), any(String.class), any(RecordId.class));
+
+        processor.followRebuilds();
+        verify(container).register(any(), any());
+        processor.handle(shared, record("8-0"));
+        verify(shared).apply(any(OrderEventDTO.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private SetOperations<String, String> rebuildLock(boolean acquired) {
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        SetOperations<String, String> sets = mock(SetOperations.class);
+        when(redis.opsForValue()).thenReturn(values);
+        when(redis.opsForSet()).thenReturn(sets);
+        when(values.setIfAbsent(eq(OrderEventProcessor.REBUILD_LOCK_PREFIX + "orderHistory"), eq("pod-1"), any(Duration.class)))
+                .thenReturn(acquired);
+        return sets;
+    }
+
+    private void consumers(StreamInfo.XInfoConsumer... consumers) {
+        StreamInfo.XInfoConsumers infos = mock(StreamInfo.XInfoConsumers.class);
+        when(infos.stream()).thenAnswer(invocation -> Stream.of(consumers));
+        when(streams.consumers(OrderEventLog.ORDER_EVENTS_STREAM_KEY, "orderHistory")).thenReturn(infos);
+    }
+
+    private static StreamInfo.XInfoConsumer consumer(String name, long idleTimeMs) {
+        StreamInfo.XInfoConsumer consumer = mock(StreamInfo.XInfoConsumer.class);
+        when(consumer.consumerName()).thenReturn(name);
+        when(consumer.idleTimeMs()).thenReturn(idleTimeMs);
+        return consumer;
+    }
+
+    private void running() {
+        ReflectionTestUtils.setField(processor, "container", container);
+        ReflectionTestUtils.setField(processor, "running", true);
+    }
+
+    private static MapRecord<String, String, String> record(String id) {
+        return StreamRecords.newRecord().in(OrderEventLog.ORDER_EVENTS_STREAM_KEY).withId(RecordId.of(id))
+                .ofMap(Map.of("orderId", "order1", "toStatus", "배달중", "riderId", "rider1"));
+    }
+
+    private static OrderEventProjection projection(String name, boolean perInstance) {
+        OrderEventProjection projection = mock(OrderEventProjection.class);
+        when(projection.name()).thenReturn(name);
+        when(projection.perInstance()).thenReturn(perInstance);
+        return projection;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.delivery.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderExpirySweeperTest {
+
+    private final SQSService sqsService = mock(SQSService.class);
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+    private final ValueOperations<String, Object> values = mock(ValueOperations.class);
+    private final ZSetOperations<String, Object> zSet = mock(ZSetOperations.class);
+    private final HashOperations<String, Object, Object> hash = mock(HashOperations.class);
+    private final OrderExpirySweeper sweeper = new OrderExpirySweeper(sqsService, redisTemplate);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReflectionTestUtils.setField(sweeper, "ttl", Duration.ofDays(1));
+        ReflectionTestUtils.setField(sweeper, "batchSize", 200);
+        ReflectionTestUtils.setField(sweeper, "maxBatchesPerRun", 50);
+        ReflectionTestUtils.setField(sweeper, "batchPauseMs", 0L);
+        ReflectionTestUtils.setField(sweeper, "lockTtl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(sweeper, "orphanScanIntervalMs", 0L);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(redisTemplate.opsForZSet()).thenReturn(zSet);
+        when(redisTemplate.opsForHash()).thenReturn(hash);
+        when(values.setIfAbsent(anyString(), any(), any(Duration.class))).thenReturn(true);
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> cursor(List.of()));
+        when(hash.scan(anyString(), any(ScanOptions.class))).thenAnswer(invocation -> cursor(List.of()));
+    }
+
+    @Test
+    void skipsRunWhenAnotherInstanceHoldsLock() {
+        when(values.setIfAbsent(anyString(), any(), any(Duration.class))).thenReturn(false);
+
+        assertThat(sweeper.sweep()).isZero();
+        verify(sqsService, never()).reclaimExpiredOrder(anyString(), anyString(), anyString());
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any());
+    }
+
+    @Test
+    void reclaimsExpiredOrdersAndReleasesLockWithCompareAndDelete() {
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> cursor(List.of("orderTimestamps:배달중")));
+        when(zSet.rangeByScore(eq("orderTimestamps:배달중"), anyDouble(), anyDouble(), anyLong(), anyLong()))
+                .thenReturn(new LinkedHashSet<>(List.of("order1", "order2")));
+        when(sqsService.reclaimExpiredOrder("orderTimestamps:배달중", "배달중", "order1")).thenReturn(true);
+        when(sqsService.reclaimExpiredOrder("orderTimestamps:배달중", "배달중", "order2")).thenReturn(false);
+
+        assertThat(sweeper.sweep()).isEqualTo(1);
+        // GET 후 DEL이 아니라 스크립트 하나로 비교·삭제
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("orderSweeper:lock")), any());
+        verify(redisTemplate, never()).delete(anyString());
+        assertThat(sweeper.getTotalReclaimed()).isEqualTo(1);
+    }
+
+    @Test
+    void orphanIsReclaimedOnlyAfterTwoConsecutiveScans() {
+        when(hash.scan(eq(SQSService.REDIS_ORDER_BODIES_KEY), any(ScanOptions.class)))
+                .thenAnswer(invocation -> cursor(List.of(Map.entry("order9", "body"))));
+        when(sqsService.findOrphanedOrders(List.of("order9"))).thenReturn(List.of("order9"));
+        when(sqsService.reclaimOrphanedOrder("order9")).thenReturn(true);
+
+        assertThat(sweeper.sweep()).isZero();
+        verify(sqsService, never()).reclaimOrphanedOrder(anyString());
+
+        assertThat(sweeper.sweep()).isEqualTo(1);
+        verify(sqsService, times(1)).reclaimOrphanedOrder("order9");
+    }
+
+    @Test
+    void transientOrphanIsForgottenWhenNextScanFindsItHealthy() {
+        when(hash.scan(eq(SQSService.REDIS_ORDER_STATUSES_KEY), any(ScanOptions.class)))
+                .thenAnswer(invocation -> cursor(List.of(Map.entry("order9", "배달중"))));
+        when(sqsService.findOrphanedOrders(List.of("order9"))).thenReturn(List.of("order9"), List.of(), List.of("order9"));
+
+        sweeper.sweep();
+        sweeper.sweep();
+        sweeper.sweep();
+
+        verify(sqsService, never()).reclaimOrphanedOrder(anyString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Cursor<T> cursor(List<T> items) {
+        Iterator<T> iterator = items.iterator();
+        Cursor<T> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        doAnswer(invocation -> {
+            Consumer<T> action = invocation.getArgument(0);
+            iterator.forEachRemaining(action);
+            return null;
+        }).when(cursor).forEachRemaining(any());
+        return cursor;
+    }
+}
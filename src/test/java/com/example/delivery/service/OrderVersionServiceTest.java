@@ -0,0 +1,78 @@
+package com.example.delivery.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderVersionServiceTest {
+
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    private final StringRedisConnection connection = mock(StringRedisConnection.class);
+    private final OrderVersionService versions = new OrderVersionService(redis, new SingleFlight(100));
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReflectionTestUtils.setField(versions, "ttlSeconds", 60L);
+        // 파이프라인 콜백을 모의 연결에 바로 실행
+        when(redis.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            RedisCallback<Object> callback = invocation.getArgument(0);
+            callback.doInRedis(connection);
+            return List.of();
+        });
+    }
+
+    @Test
+    void bumpSeedsMissingCountersWithCurrentTimeAndRefreshesTtl() {
+        long before = System.currentTimeMillis();
+        versions.bump("order1", "user1", "rider1", null);
+
+        for (String key : List.of("orderVersion:order1", "userVersion:user1", "riderVersion:rider1")) {
+            ArgumentCaptor<String> seed = ArgumentCaptor.forClass(String.class);
+            verify(connection).set(eq(key), seed.capture(), any(Expiration.class),
+                    eq(RedisStringCommands.SetOption.SET_IF_ABSENT));
+            // 새 카운터는 1이 아니라 현재 시각에서 시작
+            assertThat(Long.parseLong(seed.getValue())).isGreaterThanOrEqualTo(before);
+            verify(connection).incr(key);
+            verify(connection).expire(key, 60L);
+        }
+        verify(connection, never()).incr("riderVersion:null");
+    }
+
+    @Test
+    void removeKeepsOrderVersionMonotonic() {
+        versions.remove("order1", "user1", "rider1");
+
+        verify(connection).incr("orderVersion:order1");
+        verify(connection, never()).del(anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void missingVersionIsZero() {
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redis.opsForValue()).thenReturn(values);
+        when(values.get("orderVersion:order1")).thenReturn("1700000000001");
+
+        assertThat(versions.orderEtag("order1")).isEqualTo("\"o-1700000000001\"");
+        assertThat(versions.userEtag("user1")).isEqualTo("\"u-0\"");
+    }
+}
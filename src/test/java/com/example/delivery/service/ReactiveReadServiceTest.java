@@ -0,0 +1,122 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.OrderResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReactiveReadServiceTest {
+
+    // 점수 오름차순 (ZRANGE 순서)
+    private static final Map<String, List<String>> ZSETS = Map.of(
+            "orderTimestamps:배달중", List.of("order4", "order1", "order3"),
+            "orderTimestamps:배달완료", List.of("order2", "order5"));
+    private static final Map<String, Map<String, String>> HASHES = Map.of(
+            SQSService.REDIS_ORDER_STATUSES_KEY, Map.of("order1", "배달중", "order2", "배달완료", "order3", "배달중",
+                    "order4", "배달중", "order5", "배달완료"),
+            // order3은 본문이 없어 두 API 모두 건너뜀
+            SQSService.REDIS_ORDER_BODIES_KEY, Map.of("order1", "b1", "order2", "b2", "order4", "b4", "order5", "b5"),
+            SQSService.REDIS_ORDER_USER_IDS_KEY, Map.of("order1", "user1", "order2", "user1", "order3", "user1",
+                    "order4", "user1", "order5", "user2"),
+            // order4는 아직 배차 전이라 라이더 없음
+            SQSService.REDIS_ORDER_RIDER_IDS_KEY, Map.of("order1", "rider1", "order2", "rider1", "order5", "rider2"));
+
+    private SQSService sqsService;
+    private ReactiveReadService reactiveReadService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        ZSetOperations<String, Object> zSet = mock(ZSetOperations.class);
+        HashOperations<String, Object, Object> hash = mock(HashOperations.class);
+        when(redisTemplate.opsForZSet()).thenReturn(zSet);
+        when(redisTemplate.opsForHash()).thenReturn(hash);
+        when(zSet.range(anyString(), anyLong(), anyLong()))
+                .thenAnswer(invocation -> new LinkedHashSet<Object>(members(invocation.getArgument(0))));
+        when(zSet.reverseRange(anyString(), anyLong(), anyLong()))
+                .thenAnswer(invocation -> new LinkedHashSet<Object>(reversed(members(invocation.getArgument(0)))));
+        when(hash.get(anyString(), any()))
+                .thenAnswer(invocation -> field(invocation.getArgument(0), invocation.getArgument(1)));
+        sqsService = new SQSService(mock(ChatProducer.class), redisTemplate, mock(SqsGateway.class),
+                mock(OrderVersionService.class), mock(OrderEventLog.class), mock(AdaptiveListenerConcurrency.class),
+                mock(DeadLetterService.class), mock(StartupTimings.class), mock(HotPathLogger.class),
+                mock(SingleFlight.class), mock(GeofenceStore.class), mock(RedisConnectionFactory.class));
+
+        ReactiveRedisTemplate<String, String> reactiveTemplate = mock(ReactiveRedisTemplate.class);
+        ReactiveZSetOperations<String, String> reactiveZSet = mock(ReactiveZSetOperations.class);
+        ReactiveHashOperations<String, Object, Object> reactiveHash = mock(ReactiveHashOperations.class);
+        when(reactiveTemplate.opsForZSet()).thenReturn(reactiveZSet);
+        when(reactiveTemplate.opsForHash()).thenReturn(reactiveHash);
+        when(reactiveZSet.range(anyString(), any(Range.class)))
+                .thenAnswer(invocation -> Flux.fromIterable(members(invocation.getArgument(0))));
+        when(reactiveZSet.reverseRange(anyString(), any(Range.class)))
+                .thenAnswer(invocation -> Flux.fromIterable(reversed(members(invocation.getArgument(0)))));
+        when(reactiveHash.get(anyString(), any()))
+                .thenAnswer(invocation -> Mono.justOrEmpty(field(invocation.getArgument(0), invocation.getArgument(1))));
+        reactiveReadService = new ReactiveReadService(reactiveTemplate, mock(ReactiveStringRedisTemplate.class),
+                new ObjectMapper(), 4);
+    }
+
+    @Test
+    void statusListMatchesBlockingRead() {
+        assertSameOrders(reactiveReadService.getOrdersByStatus("배달중"), sqsService.getDeliveriesByStatus("배달중"));
+        assertThat(sqsService.getDeliveriesByStatus("배달중")).extracting(OrderResponseDTO::getOrderId)
+                .containsExactly("order1", "order4");
+    }
+
+    @Test
+    void userAndRiderListsMatchBlockingRead() {
+        assertSameOrders(reactiveReadService.getUserIdList("user1"), sqsService.getUserIdList("user1"));
+        assertSameOrders(reactiveReadService.getRiderIdList("rider1"), sqsService.getRiderIdList("rider1"));
+        assertSameOrders(reactiveReadService.getOrdersByUserId("user1", "배달중"), sqsService.getOrdersByUserId("user1", "배달중"));
+        assertSameOrders(reactiveReadService.getDeliveriesByRiderId("rider2", "배달완료"),
+                sqsService.getDeliveriesByRiderId("rider2", "배달완료"));
+        assertThat(sqsService.getUserIdList("user1")).extracting(OrderResponseDTO::getOrderId)
+                .containsExactly("order1", "order2", "order4");
+    }
+
+    private static void assertSameOrders(Flux<OrderResponseDTO> reactive, List<OrderResponseDTO> blocking) {
+        assertThat(reactive.collectList().block())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(blocking);
+    }
+
+    private static List<String> members(String key) {
+        return ZSETS.getOrDefault(key, List.of());
+    }
+
+    private static List<String> reversed(List<String> members) {
+        List<String> copy = new ArrayList<>(members);
+        Collections.reverse(copy);
+        return copy;
+    }
+
+    private static String field(String key, Object field) {
+        return HASHES.getOrDefault(key, Map.of()).get(field);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.GeofenceDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RiderFenceSetTest {
+
+    private static final double SEOUL_LAT = 37.5665;
+    private static final double SEOUL_LNG = 126.9780;
+    // 위도 1도 ≈ 111,320m
+    private static final double METERS = 1 / 111_320.0;
+
+    private final GeofenceDTO pickup = GeofenceDTO.builder()
+            .orderId("order1").type(GeofenceStore.PICKUP)
+            .latitude(SEOUL_LAT).longitude(SEOUL_LNG).radiusMeters(50).build();
+
+    @Test
+    void emitsArrivalOnceAndDepartureOnlyBeyondExitRadius() {
+        RiderFenceSet fences = RiderFenceSet.EMPTY.withOrder("order1", "user1", List.of(pickup), 1.3);
+
+        // 처음 위치가 밖이면 알림 없음
+        assertThat(fences.evaluate(SEOUL_LAT + 500 * METERS, SEOUL_LNG)).isEmpty();
+
+        List<RiderFenceSet.Transition> arrived = fences.evaluate(SEOUL_LAT + 30 * METERS, SEOUL_LNG);
+        assertThat(arrived).hasSize(1);
+        assertThat(arrived.get(0).arrived).isTrue();
+        assertThat(arrived.get(0).distanceMeters).isBetween(29.0, 31.0);
+
+        // 안에 머무르거나 반경과 이탈 반경(65m) 사이를 오가면 알림 없음
+        assertThat(fences.evaluate(SEOUL_LAT + 10 * METERS, SEOUL_LNG)).isEmpty();
+        assertThat(fences.evaluate(SEOUL_LAT + 60 * METERS, SEOUL_LNG)).isEmpty();
+        assertThat(fences.evaluate(SEOUL_LAT + 40 * METERS, SEOUL_LNG)).isEmpty();
+
+        List<RiderFenceSet.Transition> departed = fences.evaluate(SEOUL_LAT + 80 * METERS, SEOUL_LNG);
+        assertThat(departed).hasSize(1);
+        assertThat(departed.get(0).arrived).isFalse();
+    }
+
+    @Test
+    void keepsStateWhenOrderIsReloadedAndDropsRemovedOrders() {
+        GeofenceDTO dropoff = GeofenceDTO.builder()
+                .orderId("order1").type(GeofenceStore.DROPOFF)
+                .latitude(SEOUL_LAT + 0.01).longitude(SEOUL_LNG).radiusMeters(50).build();
+        RiderFenceSet fences = RiderFenceSet.EMPTY.withOrder("order1", "user1", List.of(pickup), 1.3);
+        assertThat(fences.evaluate(SEOUL_LAT, SEOUL_LNG)).hasSize(1);
+
+        // 배달지가 추가로 등록되어도 이미 도착한 가게는 다시 알리지 않음
+        fences = fences.withOrder("order1", "user1", List.of(pickup, dropoff), 1.3);
+        assertThat(fences.size()).isEqualTo(2);
+        assertThat(fences.evaluate(SEOUL_LAT, SEOUL_LNG)).isEmpty();
+
+        List<RiderFenceSet.Transition> transitions = fences.evaluate(SEOUL_LAT + 0.01, SEOUL_LNG);
+        assertThat(transitions).extracting(transition -> transition.fence.type + ":" + transition.arrived)
+                .containsExactlyInAnyOrder("pickup:false", "dropoff:true");
+
+        assertThat(fences.withoutOrder("order1").isEmpty()).isTrue();
+    }
+}
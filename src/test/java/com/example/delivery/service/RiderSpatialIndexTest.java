@@ -0,0 +1,90 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.NearbyRiderDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RiderSpatialIndexTest {
+
+    private static final double SEOUL_LAT = 37.5665;
+    private static final double SEOUL_LNG = 126.9780;
+
+    @Test
+    void nearestAvailableMatchesBruteForce() {
+        RiderSpatialIndex index = new RiderSpatialIndex(0.01, 16);
+        Random random = new Random(42);
+        double[][] riders = new double[20_000][2];
+        for (int i = 0; i < riders.length; i++) {
+            riders[i][0] = SEOUL_LAT + (random.nextDouble() - 0.5) * 0.4;
+            riders[i][1] = SEOUL_LNG + (random.nextDouble() - 0.5) * 0.4;
+            index.upsert("rider" + i, riders[i][0], riders[i][1], 1L);
+        }
+        for (int i = 0; i < riders.length; i += 3) {
+            index.startOrder("rider" + i, "order" + i);
+        }
+
+        for (int q = 0; q < 50; q++) {
+            double lat = SEOUL_LAT + (random.nextDouble() - 0.5) * 0.3;
+            double lng = SEOUL_LNG + (random.nextDouble() - 0.5) * 0.3;
+
+            List<NearbyRiderDTO> actual = index.nearestAvailable(lat, lng, 5, 10_000);
+
+            double cosLat = Math.cos(Math.toRadians(lat));
+            List<double[]> expected = new ArrayList<>();
+            for (int i = 0; i < riders.length; i++) {
+                if (i % 3 == 0) {
+                    continue;
+                }
+                double distance = RiderSpatialIndex.distanceMeters(lat, lng, cosLat, riders[i][0], riders[i][1]);
+                if (distance <= 10_000) {
+                    expected.add(new double[]{i, distance});
+                }
+            }
+            expected.sort(Comparator.comparingDouble(e -> e[1]));
+
+            assertThat(actual).hasSize(5);
+            for (int i = 0; i < actual.size(); i++) {
+                assertThat(actual.get(i).getDeliveryPersonId()).isEqualTo("rider" + (int) expected.get(i)[0]);
+            }
+        }
+    }
+
+    @Test
+    void movedAndRemovedRidersAreReindexed() {
+        RiderSpatialIndex index = new RiderSpatialIndex(0.01, 16);
+        index.upsert("a", SEOUL_LAT, SEOUL_LNG, 1L);
+        index.upsert("b", SEOUL_LAT + 0.05, SEOUL_LNG, 1L);
+
+        index.upsert("b", SEOUL_LAT + 0.0001, SEOUL_LNG, 2L);
+        index.remove("a");
+
+        List<NearbyRiderDTO> nearest = index.nearestAvailable(SEOUL_LAT, SEOUL_LNG, 2, 1_000);
+        assertThat(nearest).extracting(NearbyRiderDTO::getDeliveryPersonId).containsExactly("b");
+
+        index.retainOnly(Set.of(), 3L);
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void radiusNeedingTooManyRingsFallsBackToOccupiedCells() {
+        RiderSpatialIndex index = new RiderSpatialIndex(0.01, 16);
+        index.upsert("near", SEOUL_LAT + 0.001, SEOUL_LNG, 1L);
+        index.upsert("far", SEOUL_LAT + 1.5, SEOUL_LNG, 1L);
+        index.upsert("pole", 89.9999, 0, 1L);
+
+        // 링 탐색이라면 수백만 개의 셀을 훑었을 반경도 라이더가 있는 셀만 확인해 같은 결과를 냄
+        List<NearbyRiderDTO> nearest = index.nearestAvailable(SEOUL_LAT, SEOUL_LNG, 2, 1_000_000);
+        assertThat(nearest).extracting(NearbyRiderDTO::getDeliveryPersonId).containsExactly("near", "far");
+
+        // 극지방에서는 셀의 동서 폭이 거의 0이라 기본 반경도 링 상한을 넘음
+        assertThat(index.nearestAvailable(89.9999, 0.0001, 1, 5_000))
+                .extracting(NearbyRiderDTO::getDeliveryPersonId).containsExactly("pole");
+    }
+}
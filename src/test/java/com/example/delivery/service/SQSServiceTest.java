@@ -0,0 +1,140 @@
+package com.example.delivery.service;
+
+import com.example.delivery.dto.BulkLookupResponseDTO;
+import com.example.delivery.dto.OrderEventDTO;
+import com.example.delivery.dto.OrderResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SQSServiceTest {
+
+    private final ChatProducer chatProducer = mock(ChatProducer.class);
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+    private final OrderVersionService orderVersionService = mock(OrderVersionService.class);
+    private final OrderEventLog orderEventLog = mock(OrderEventLog.class);
+    private final GeofenceStore geofenceStore = mock(GeofenceStore.class);
+    private final HashOperations<String, Object, Object> hash = mock(HashOperations.class);
+    private final ZSetOperations<String, Object> zSet = mock(ZSetOperations.class);
+    private SQSService sqsService;
+
+    @BeforeEach
+    void setUp() {
+        sqsService = new SQSService(chatProducer, redisTemplate, mock(SqsGateway.class), orderVersionService, orderEventLog,
+                mock(AdaptiveListenerConcurrency.class), mock(DeadLetterService.class), mock(StartupTimings.class),
+                mock(HotPathLogger.class), mock(SingleFlight.class), geofenceStore, mock(RedisConnectionFactory.class));
+        when(redisTemplate.opsForHash()).thenReturn(hash);
+        when(redisTemplate.opsForZSet()).thenReturn(zSet);
+    }
+
+    @Test
+    void expiredOrderIsClosedLikeDeliveryEnd() {
+        when(zSet.remove("orderTimestamps:배달중", "order1")).thenReturn(1L);
+        when(hash.get(SQSService.REDIS_ORDER_STATUSES_KEY, "order1")).thenReturn("배달중");
+        when(hash.get(SQSService.REDIS_ORDER_USER_IDS_KEY, "order1")).thenReturn("user1");
+        when(hash.get(SQSService.REDIS_ORDER_RIDER_IDS_KEY, "order1")).thenReturn("rider1");
+
+        assertThat(sqsService.reclaimExpiredOrder("orderTimestamps:배달중", "배달중", "order1")).isTrue();
+
+        verify(chatProducer).deleteChatMessagesFromRedis("order1");
+        verify(geofenceStore).delete("order1");
+        verify(orderVersionService).remove("order1", "user1", "rider1");
+        verify(hash).delete(SQSService.REDIS_ORDER_BODIES_KEY, "order1");
+        // 배차·지오펜스 projection이 라이더와 지오펜스를 정리하도록 배달끝 이벤트 기록
+        ArgumentCaptor<OrderEventDTO> event = ArgumentCaptor.forClass(OrderEventDTO.class);
+        verify(orderEventLog).append(event.capture());
+        assertThat(event.getValue().getToStatus()).isEqualTo("배달끝");
+        assertThat(event.getValue().getFromStatus()).isEqualTo("배달중");
+        assertThat(event.getValue().getRiderId()).isEqualTo("rider1");
+        assertThat(event.getValue().getFromEventTime()).isZero();
+    }
+
+    @Test
+    void expiredEntryOfOrderThatMovedOnIsOnlyRemovedFromZSet() {
+        when(zSet.remove("orderTimestamps:배달전", "order1")).thenReturn(1L);
+        when(hash.get(SQSService.REDIS_ORDER_STATUSES_KEY, "order1")).thenReturn("배달중");
+
+        assertThat(sqsService.reclaimExpiredOrder("orderTimestamps:배달전", "배달전", "order1")).isTrue();
+
+        verify(hash, never()).delete(any(), any());
+        verify(orderEventLog, never()).append(any());
+    }
+
+    @Test
+    void anotherInstanceAlreadyReclaimed() {
+        when(zSet.remove("orderTimestamps:배달중", "order1")).thenReturn(0L);
+
+        assertThat(sqsService.reclaimExpiredOrder("orderTimestamps:배달중", "배달중", "order1")).isFalse();
+        verify(chatProducer, never()).deleteChatMessagesFromRedis(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findsOrdersWithoutStatusOrZSetEntry() {
+        when(hash.multiGet(SQSService.REDIS_ORDER_STATUSES_KEY, List.of("order1", "order2", "order3")))
+                .thenReturn(Arrays.asList("배달중", null, "배달완료"));
+        // ZSCORE는 상태가 있는 order1, order3에 대해서만 파이프라인으로 보냄
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenReturn(Arrays.asList(1_700_000_000.0, null));
+
+        assertThat(sqsService.findOrphanedOrders(List.of("order1", "order2", "order3"))).containsExactly("order2", "order3");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkLookupSplitsFoundAndNotFound() {
+        // 상태·본문·사용자·라이더 HMGET 4개를 파이프라인 한 번으로 보냄 (중복 id는 한 번만 조회)
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenReturn(List.of(
+                Arrays.asList("배달중", null, "배달완료"),
+                Arrays.asList("body1", null, null),
+                Arrays.asList("user1", null, "user3"),
+                Arrays.asList("rider1", null, null)));
+
+        BulkLookupResponseDTO<OrderResponseDTO> result =
+                sqsService.getOrdersByIds(List.of("order1", "order2", "order1", "order3"));
+
+        assertThat(result.getFound()).containsOnlyKeys("order1");
+        assertThat(result.getFound().get("order1").getStatus()).isEqualTo("배달중");
+        assertThat(result.getFound().get("order1").getRiderId()).isEqualTo("rider1");
+        // 본문 없이 상태만 남은 order3도 찾지 못한 것으로 응답
+        assertThat(result.getNotFound()).containsExactly("order2", "order3");
+    }
+
+    @Test
+    void orphanWithStatusIsClosedAndOrphanWithoutStatusOnlyLosesFields() {
+        when(hash.get(SQSService.REDIS_ORDER_STATUSES_KEY, "order1")).thenReturn("배달완료");
+        when(zSet.score("orderTimestamps:배달완료", "order1")).thenReturn(null);
+
+        assertThat(sqsService.reclaimOrphanedOrder("order1")).isTrue();
+        verify(chatProducer).deleteChatMessagesFromRedis("order1");
+        verify(orderEventLog).append(any(OrderEventDTO.class));
+
+        assertThat(sqsService.reclaimOrphanedOrder("order2")).isTrue();
+        verify(hash).delete(SQSService.REDIS_ORDER_USER_IDS_KEY, "order2");
+        verify(chatProducer, never()).deleteChatMessagesFromRedis("order2");
+    }
+
+    @Test
+    void orderThatRegainedZSetEntryIsNotReclaimed() {
+        when(hash.get(SQSService.REDIS_ORDER_STATUSES_KEY, "order1")).thenReturn("배달중");
+        when(zSet.score("orderTimestamps:배달중", "order1")).thenReturn(1_700_000_000.0);
+
+        assertThat(sqsService.reclaimOrphanedOrder("order1")).isFalse();
+        verify(orderEventLog, never()).append(any());
+        verify(hash, never()).delete(any(), any());
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.delivery.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(100);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("location", "rider1", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "37.5,127.0";
+                })));
+            }
+            // 모든 호출이 leader를 기다리는 상태가 될 때까지 대기
+            while (callsRecorded(singleFlight) < callers) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("37.5,127.0");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(groupStats(singleFlight)).containsEntry("calls", (long) callers).containsEntry("shared", (long) callers - 1);
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        SingleFlight singleFlight = new SingleFlight(100);
+
+        assertThatThrownBy(() -> singleFlight.execute("location", "rider1", () -> {
+            throw new IllegalStateException("redis down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.<String>execute("location", "rider1", () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void waitersAreReleasedWhenLeaderThrowsError() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(100);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                results.add(executor.submit(() -> singleFlight.<String>execute("location", "rider1", () -> {
+                    await(release);
+                    throw new StackOverflowError("leader failed");
+                })));
+            }
+            while (callsRecorded(singleFlight) < 2) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            // leader와 기다리던 호출 모두 같은 Error를 받고 끝나야 함
+            for (Future<String> result : results) {
+                assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                        .hasCauseInstanceOf(StackOverflowError.class);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(singleFlight.getStats(10)).containsEntry("inFlight", 0);
+    }
+
+    private static long callsRecorded(SingleFlight singleFlight) {
+        Map<String, Long> stats = groupStats(singleFlight);
+        return stats == null ? 0 : stats.get("calls");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Long> groupStats(SingleFlight singleFlight) {
+        Map<String, Object> groups = (Map<String, Object>) singleFlight.getStats(10).get("groups");
+        return (Map<String, Long>) groups.get("location");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.delivery.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqsGatewayTest {
+
+    private static final String QUEUE_URL = "http://localhost:9324/000000000000/deliveryStatus";
+
+    @Test
+    void recordsLatencyByOperationAndOutcome() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CompletableFuture<DeleteMessageResponse> pendingDelete = new CompletableFuture<>();
+        SqsGateway gateway = new SqsGateway(new StubSqsAsyncClient(pendingDelete), registry);
+
+        gateway.send(SendMessageRequest.builder().queueUrl(QUEUE_URL).messageBody("ok").build()).join();
+        assertThatThrownBy(() -> gateway.send(SendMessageRequest.builder().queueUrl(QUEUE_URL).messageBody("fail").build()).join())
+                .isInstanceOf(CompletionException.class);
+
+        CompletableFuture<DeleteMessageResponse> delete = gateway.delete(QUEUE_URL, "receipt-1");
+        // 응답 전에는 진행 중으로 집계
+        assertThat(registry.get("sqs.client.in.flight").gauge().value()).isEqualTo(1.0);
+        pendingDelete.complete(DeleteMessageResponse.builder().build());
+        delete.join();
+
+        assertThat(count(registry, "send", "success")).isEqualTo(1);
+        assertThat(count(registry, "send", "error")).isEqualTo(1);
+        assertThat(count(registry, "delete", "success")).isEqualTo(1);
+        assertThat(registry.get("sqs.client.in.flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void usesQueueNameAsTag() {
+        assertThat(SqsGateway.queueName(QUEUE_URL)).isEqualTo("deliveryStatus");
+        assertThat(SqsGateway.queueName("https://sqs.ap-northeast-2.amazonaws.com/123/chat.fifo")).isEqualTo("chat.fifo");
+        assertThat(SqsGateway.queueName(null)).isEqualTo("unknown");
+    }
+
+    private long count(SimpleMeterRegistry registry, String operation, String outcome) {
+        return registry.get("sqs.client.requests")
+                .tag("operation", operation)
+                .tag("queue", "deliveryStatus")
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+
+    // 본문이 "fail"인 전송은 실패, 삭제는 테스트가 직접 완료시키는 스텁
+    private static class StubSqsAsyncClient implements SqsAsyncClient {
+
+        private final CompletableFuture<DeleteMessageResponse> pendingDelete;
+
+        StubSqsAsyncClient(CompletableFuture<DeleteMessageResponse> pendingDelete) {
+            this.pendingDelete = pendingDelete;
+        }
+
+        @Override
+        public CompletableFuture<SendMessageResponse> sendMessage(SendMessageRequest request) {
+            if ("fail".equals(request.messageBody())) {
+                return CompletableFuture.failedFuture(SqsException.builder().message("boom").build());
+            }
+            return CompletableFuture.completedFuture(SendMessageResponse.builder().messageId("m-1").build());
+        }
+
+        @Override
+        public CompletableFuture<DeleteMessageResponse> deleteMessage(DeleteMessageRequest request) {
+            return pendingDelete;
+        }
+
+        @Override
+        public String serviceName() {
+            return "sqs";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.delivery.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void allowsBurstThenRejectsUntilRefilled() {
+        long now = 0;
+        TokenBucket bucket = new TokenBucket(2, 3, now);
+
+        assertThat(bucket.tryAcquire(now)).isEqualTo(2);
+        assertThat(bucket.tryAcquire(now)).isEqualTo(1);
+        assertThat(bucket.tryAcquire(now)).isEqualTo(0);
+
+        // 초당 2개이므로 다음 토큰까지 0.5초
+        assertThat(bucket.tryAcquire(now)).isEqualTo(-SECOND / 2);
+        assertThat(bucket.tryAcquire(now + SECOND / 2)).isEqualTo(0);
+    }
+
+    @Test
+    void idleBucketRefillsOnlyUpToBurst() {
+        TokenBucket bucket = new TokenBucket(1, 2, 0);
+        bucket.tryAcquire(0);
+        assertThat(bucket.isIdle(0)).isFalse();
+
+        long later = 60 * SECOND;
+        assertThat(bucket.isIdle(later)).isTrue();
+        assertThat(bucket.tryAcquire(later)).isEqualTo(1);
+        assertThat(bucket.tryAcquire(later)).isEqualTo(0);
+        assertThat(bucket.tryAcquire(later)).isLessThan(0);
+    }
+
+    @Test
+    void worksAcrossNegativeNanoTime() {
+        long now = Long.MIN_VALUE / 2;
+        TokenBucket bucket = new TokenBucket(1, 1, now);
+
+        assertThat(bucket.tryAcquire(now)).isEqualTo(0);
+        assertThat(bucket.tryAcquire(now + SECOND - 1)).isLessThan(0);
+        assertThat(bucket.tryAcquire(now + SECOND)).isEqualTo(0);
+    }
+}